@@ -0,0 +1,209 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Polygon;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks of decoding annotation options in Convert, without the builders of the annotation
+ * plugin.
+ *
+ * Options are decoded into sinks that only count the properties they receive, so the numbers are
+ * the cost of walking the option map alone. Full payloads carry every property Dart sends on
+ * create, updates only the one or two that changed. Like the maps the method channel decodes,
+ * the maps are keyed by fresh strings rather than the interned literals Convert compares with.
+ */
+final class AnnotationOptionsBenchmark {
+
+  static void run(BenchmarkRunner runner) {
+    final CountingSymbolSink symbolSink = new CountingSymbolSink();
+    final Map<String, Object> fullSymbol = options(
+      "iconSize", 1.5,
+      "iconImage", "airport-15",
+      "iconRotate", 45.0,
+      "iconOffset", Arrays.asList(0.0, -8.0),
+      "iconAnchor", "bottom",
+      "textField", "Charles de Gaulle",
+      "textSize", 12.0,
+      "textMaxWidth", 10.0,
+      "textLetterSpacing", 0.1,
+      "textJustify", "center",
+      "textAnchor", "top",
+      "textRotate", 0.0,
+      "textTransform", "uppercase",
+      "textOffset", Arrays.asList(0.0, 1.2),
+      "iconOpacity", 1.0,
+      "iconColor", "#3bb2d0",
+      "iconHaloColor", "#ffffff",
+      "iconHaloWidth", 1.0,
+      "iconHaloBlur", 0.5,
+      "textOpacity", 1.0,
+      "textColor", "#202020",
+      "textHaloColor", "#ffffff",
+      "textHaloWidth", 1.0,
+      "textHaloBlur", 0.5,
+      "zIndex", 3,
+      "draggable", false);
+    runner.run("decode symbol options full", () -> {
+      Convert.interpretSymbolOptions(fullSymbol, symbolSink);
+      return symbolSink;
+    });
+    final Map<String, Object> symbolUpdate = options("iconRotate", 90.0);
+    runner.run("decode symbol options update", () -> {
+      Convert.interpretSymbolOptions(symbolUpdate, symbolSink);
+      return symbolSink;
+    });
+
+    final CountingCircleSink circleSink = new CountingCircleSink();
+    final Map<String, Object> fullCircle = options(
+      "circleRadius", 8.0,
+      "circleColor", "#3bb2d0",
+      "circleBlur", 0.5,
+      "circleOpacity", 0.8,
+      "circleStrokeWidth", 2.0,
+      "circleStrokeColor", "#ffffff",
+      "circleStrokeOpacity", 1.0,
+      "draggable", false);
+    runner.run("decode circle options full", () -> {
+      Convert.interpretCircleOptions(fullCircle, circleSink);
+      return circleSink;
+    });
+
+    final CountingLineSink lineSink = new CountingLineSink();
+    final Map<String, Object> fullLine = options(
+      "lineJoin", "round",
+      "lineOpacity", 0.9,
+      "lineColor", "#ed6498",
+      "lineWidth", 4.0,
+      "lineGapWidth", 0.0,
+      "lineOffset", 0.0,
+      "lineBlur", 0.5,
+      "linePattern", "dash",
+      "draggable", false);
+    runner.run("decode line options full", () -> {
+      Convert.interpretLineOptions(fullLine, lineSink);
+      return lineSink;
+    });
+    final Map<String, Object> lineUpdate = options("lineWidth", 6.0, "lineOpacity", 0.5);
+    runner.run("decode line options update", () -> {
+      Convert.interpretLineOptions(lineUpdate, lineSink);
+      return lineSink;
+    });
+
+    final CountingFillSink fillSink = new CountingFillSink();
+    final Map<String, Object> fullFill = options(
+      "fill-opacity", 0.5,
+      "fill-color", "#3bb2d0",
+      "fill-outline-color", "#202020",
+      "fill-pattern", "stripes",
+      "draggable", false);
+    runner.run("decode fill options full", () -> {
+      Convert.interpretFillOptions(fullFill, fillSink);
+      return fillSink;
+    });
+  }
+
+  /**
+   * Returns a map of the key value pairs with fresh key strings.
+   */
+  private static Map<String, Object> options(Object... keysAndValues) {
+    final Map<String, Object> options = new HashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      options.put(new String((String) keysAndValues[i]), keysAndValues[i + 1]);
+    }
+    return options;
+  }
+
+  private static final class CountingSymbolSink implements SymbolOptionsSink {
+    int count;
+
+    @Override public void setIconSize(float iconSize) { count++; }
+    @Override public void setIconImage(String iconImage) { count++; }
+    @Override public void setIconRotate(float iconRotate) { count++; }
+    @Override public void setIconOffset(float[] iconOffset) { count++; }
+    @Override public void setIconAnchor(String iconAnchor) { count++; }
+    @Override public void setTextField(String textField) { count++; }
+    @Override public void setTextSize(float textSize) { count++; }
+    @Override public void setTextMaxWidth(float textMaxWidth) { count++; }
+    @Override public void setTextLetterSpacing(float textLetterSpacing) { count++; }
+    @Override public void setTextJustify(String textJustify) { count++; }
+    @Override public void setTextAnchor(String textAnchor) { count++; }
+    @Override public void setTextRotate(float textRotate) { count++; }
+    @Override public void setTextTransform(String textTransform) { count++; }
+    @Override public void setTextOffset(float[] textOffset) { count++; }
+    @Override public void setIconOpacity(float iconOpacity) { count++; }
+    @Override public void setIconColor(int iconColor) { count++; }
+    @Override public void setIconColor(String iconColor) { count++; }
+    @Override public void setIconHaloColor(int iconHaloColor) { count++; }
+    @Override public void setIconHaloColor(String iconHaloColor) { count++; }
+    @Override public void setIconHaloWidth(float iconHaloWidth) { count++; }
+    @Override public void setIconHaloBlur(float iconHaloBlur) { count++; }
+    @Override public void setTextOpacity(float textOpacity) { count++; }
+    @Override public void setTextColor(int textColor) { count++; }
+    @Override public void setTextColor(String textColor) { count++; }
+    @Override public void setTextHaloColor(int textHaloColor) { count++; }
+    @Override public void setTextHaloColor(String textHaloColor) { count++; }
+    @Override public void setTextHaloWidth(float textHaloWidth) { count++; }
+    @Override public void setTextHaloBlur(float textHaloBlur) { count++; }
+    @Override public void setGeometry(LatLng geometry) { count++; }
+    @Override public void setZIndex(int index) { count++; }
+    @Override public void setDraggable(boolean draggable) { count++; }
+  }
+
+  private static final class CountingCircleSink implements CircleOptionsSink {
+    int count;
+
+    @Override public void setCircleRadius(float circleRadius) { count++; }
+    @Override public void setCircleColor(int circleColor) { count++; }
+    @Override public void setCircleColor(String circleColor) { count++; }
+    @Override public void setCircleBlur(float circleBlur) { count++; }
+    @Override public void setCircleOpacity(float circleOpacity) { count++; }
+    @Override public void setCircleStrokeWidth(float circleStrokeWidth) { count++; }
+    @Override public void setCircleStrokeColor(int circleStrokeColor) { count++; }
+    @Override public void setCircleStrokeColor(String circleStrokeColor) { count++; }
+    @Override public void setCircleStrokeOpacity(float circleStrokeOpacity) { count++; }
+    @Override public void setGeometry(LatLng geometry) { count++; }
+    @Override public void setDraggable(boolean draggable) { count++; }
+  }
+
+  private static final class CountingLineSink implements LineOptionsSink {
+    int count;
+
+    @Override public void setLineJoin(String lineJoin) { count++; }
+    @Override public void setLineOpacity(float lineOpacity) { count++; }
+    @Override public void setLineColor(int lineColor) { count++; }
+    @Override public void setLineColor(String lineColor) { count++; }
+    @Override public void setLineWidth(float lineWidth) { count++; }
+    @Override public void setLineGapWidth(float lineGapWidth) { count++; }
+    @Override public void setLineOffset(float lineOffset) { count++; }
+    @Override public void setLineBlur(float lineBlur) { count++; }
+    @Override public void setLinePattern(String linePattern) { count++; }
+    @Override public void setGeometry(List<LatLng> geometry) { count++; }
+    @Override public void setGeometry(LineString geometry) { count++; }
+    @Override public void setDraggable(boolean draggable) { count++; }
+    @Override public void setSimplify(boolean simplify) { count++; }
+  }
+
+  private static final class CountingFillSink implements FillOptionsSink {
+    int count;
+
+    @Override public void setFillOpacity(float fillOpacity) { count++; }
+    @Override public void setFillColor(int fillColor) { count++; }
+    @Override public void setFillColor(String fillColor) { count++; }
+    @Override public void setFillOutlineColor(int fillOutlineColor) { count++; }
+    @Override public void setFillOutlineColor(String fillOutlineColor) { count++; }
+    @Override public void setFillPattern(String fillPattern) { count++; }
+    @Override public void setGeometry(List<List<LatLng>> geometry) { count++; }
+    @Override public void setGeometry(Polygon geometry) { count++; }
+    @Override public void setDraggable(boolean draggable) { count++; }
+  }
+}
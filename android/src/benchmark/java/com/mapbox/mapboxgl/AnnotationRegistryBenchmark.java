@@ -0,0 +1,62 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmarks of the annotation registry holding 100k symbols, next to the per-type
+ * HashMap keyed by String ids the controllers were kept in before, as the baseline.
+ *
+ * Lookups by manager id are what taps, drags and finished animations do, lookups by String id
+ * what every call from Dart naming an annotation does. Those ids are fresh strings decoded from
+ * the channel, so their hash code is not cached yet.
+ */
+final class AnnotationRegistryBenchmark {
+  private static final int ANNOTATION_COUNT = 100_000;
+
+  static void run(BenchmarkRunner runner) {
+    final AnnotationRegistry registry = new AnnotationRegistry();
+    final Map<String, Object> baseline = new HashMap<>();
+    final String[] idStrings = new String[ANNOTATION_COUNT];
+    for (int id = 0; id < ANNOTATION_COUNT; id++) {
+      final Object controller = new Object();
+      registry.put(AnnotationRegistry.SYMBOL, id, controller);
+      idStrings[id] = String.valueOf(id);
+      baseline.put(idStrings[id], controller);
+    }
+    // random order so lookups do not walk memory sequentially
+    final int[] order = new int[1 << 16];
+    final Random random = new Random(ANNOTATION_COUNT);
+    for (int i = 0; i < order.length; i++) {
+      order[i] = random.nextInt(ANNOTATION_COUNT);
+    }
+    final int[] next = {0};
+
+    runner.run("registry get by annotation id of 100k", () ->
+      registry.get(AnnotationRegistry.SYMBOL, order[next[0]++ & 0xffff]));
+    runner.run("baseline HashMap get by annotation id of 100k", () ->
+      baseline.get(String.valueOf(order[next[0]++ & 0xffff])));
+    runner.run("registry get by String id of 100k", () ->
+      registry.get(AnnotationRegistry.SYMBOL, Long.parseLong(new String(idStrings[order[next[0]++ & 0xffff]]))));
+    runner.run("baseline HashMap get by String id of 100k", () ->
+      baseline.get(new String(idStrings[order[next[0]++ & 0xffff]])));
+
+    final long[] churnId = {ANNOTATION_COUNT};
+    runner.run("registry put and remove of 100k", () -> {
+      final long id = churnId[0]++;
+      registry.put(AnnotationRegistry.SYMBOL, id, idStrings[0]);
+      return registry.remove(AnnotationRegistry.SYMBOL, id);
+    });
+    runner.run("baseline HashMap put and remove of 100k", () -> {
+      final String id = String.valueOf(churnId[0]++);
+      baseline.put(id, idStrings[0]);
+      return baseline.remove(id);
+    });
+    runner.run("registry ids of 100k", () -> registry.ids(AnnotationRegistry.SYMBOL));
+  }
+}
@@ -0,0 +1,65 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.mapbox.geojson.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmarks of the annotation R-tree holding 100k symbols: the batch updates symbols#updateAll
+ * and finished animations go through, single updates and the queries.
+ */
+final class AnnotationSpatialIndexBenchmark {
+  private static final int ANNOTATION_COUNT = 100_000;
+  private static final int[] BATCH_SIZES = {100, 1_000};
+
+  static void run(BenchmarkRunner runner) {
+    final Random random = new Random(ANNOTATION_COUNT);
+    final AnnotationSpatialIndex index = new AnnotationSpatialIndex();
+    index.putAll(AnnotationRegistry.SYMBOL, ids(0, ANNOTATION_COUNT), randomPoints(random, ANNOTATION_COUNT));
+
+    for (int batchSize : BATCH_SIZES) {
+      final List<List<Point>> batches = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        batches.add(randomPoints(random, batchSize));
+      }
+      final long[] batchIds = ids(ANNOTATION_COUNT / 2, batchSize);
+      final int[] next = {0};
+      runner.run("spatialIndex putAll " + batchSize + " of 100k", () -> {
+        index.putAll(AnnotationRegistry.SYMBOL, batchIds, batches.get(next[0]++ & 15));
+        return index;
+      });
+    }
+    final List<Point> moves = randomPoints(random, 1024);
+    final long[] moveIds = {0};
+    runner.run("spatialIndex put 1 of 100k", () -> {
+      final long id = moveIds[0]++ % ANNOTATION_COUNT;
+      index.put(AnnotationRegistry.SYMBOL, id, moves.get((int) (id & 1023)));
+      return index;
+    });
+    runner.run("spatialIndex queryBounds city of 100k", () -> index.queryBounds(2.2, 48.8, 2.5, 48.9));
+    runner.run("spatialIndex queryBounds 10deg of 100k", () -> index.queryBounds(0, 40, 10, 50));
+    runner.run("spatialIndex nearest of 100k", () -> index.nearest(48.85, 2.35, 1e-3));
+  }
+
+  private static long[] ids(long first, int count) {
+    final long[] ids = new long[count];
+    for (int i = 0; i < count; i++) {
+      ids[i] = first + i;
+    }
+    return ids;
+  }
+
+  private static List<Point> randomPoints(Random random, int count) {
+    final List<Point> points = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      points.add(Point.fromLngLat(random.nextDouble() * 360 - 180, random.nextDouble() * 160 - 80));
+    }
+    return points;
+  }
+}
@@ -0,0 +1,145 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+/**
+ * Minimal benchmark harness for the host JVM, in the spirit of JMH without its annotation
+ * processor.
+ *
+ * Every benchmark is warmed up and then measured in several fixed-length iterations, each
+ * reporting its throughput and the bytes allocated per operation. The results of operations
+ * are folded into a field so the JIT cannot drop them. Allocations are read from the HotSpot
+ * thread MXBean through reflection, the Android boot class path this is compiled against has
+ * no java.lang.management; without it the allocation columns stay empty.
+ */
+final class BenchmarkRunner {
+
+  interface Operation {
+    Object run();
+  }
+
+  private static final long BATCH_NANOS = 10_000_000L;
+
+  private final long warmupNanos;
+  private final long iterationNanos;
+  private final int iterations;
+  private final String filter;
+  private final Object threadMXBean;
+  private final Method allocatedBytes;
+  private int sink;
+
+  BenchmarkRunner(long warmupMillis, long iterationMillis, int iterations, String filter) {
+    this.warmupNanos = warmupMillis * 1_000_000L;
+    this.iterationNanos = iterationMillis * 1_000_000L;
+    this.iterations = iterations;
+    this.filter = filter;
+    Object bean = null;
+    Method method = null;
+    try {
+      bean = Class.forName("java.lang.management.ManagementFactory")
+        .getMethod("getThreadMXBean").invoke(null);
+      method = Class.forName("com.sun.management.ThreadMXBean")
+        .getMethod("getThreadAllocatedBytes", long.class);
+      method.invoke(bean, Thread.currentThread().getId());
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      bean = null;
+      method = null;
+    }
+    this.threadMXBean = bean;
+    this.allocatedBytes = method;
+  }
+
+  void printHeader() {
+    System.out.println(String.format(Locale.US, "%-48s %14s %10s %14s %12s",
+      "Benchmark", "ops/s", "error %", "B/op", "MB/s alloc"));
+  }
+
+  /**
+   * Runs the benchmark unless it is filtered out and prints its result line.
+   */
+  void run(String name, Operation operation) {
+    if (filter != null && !name.contains(filter)) {
+      return;
+    }
+    measure(operation, warmupNanos);
+    final double[] throughputs = new double[iterations];
+    double bytesPerOp = 0;
+    for (int i = 0; i < iterations; i++) {
+      final long bytesBefore = allocatedBytes();
+      final long[] result = measure(operation, iterationNanos);
+      final long bytesAfter = allocatedBytes();
+      throughputs[i] = result[0] * 1e9 / result[1];
+      if (bytesBefore >= 0) {
+        bytesPerOp += (double) (bytesAfter - bytesBefore) / result[0] / iterations;
+      }
+    }
+    final double mean = mean(throughputs);
+    final double error = iterations > 1 ? 100 * standardDeviation(throughputs, mean) / mean : 0;
+    final boolean allocations = allocatedBytes != null;
+    System.out.println(String.format(Locale.US, "%-48s %14.1f %9.1f%% %14s %12s",
+      name, mean, error,
+      allocations ? String.format(Locale.US, "%.1f", bytesPerOp) : "-",
+      allocations ? String.format(Locale.US, "%.1f", bytesPerOp * mean / (1024 * 1024)) : "-"));
+  }
+
+  /**
+   * Runs the operation in batches until the duration passed, returns the number of operations
+   * and the elapsed nanoseconds.
+   */
+  private long[] measure(Operation operation, long nanos) {
+    long operations = 0;
+    long batch = 1;
+    final long start = System.nanoTime();
+    long elapsed;
+    do {
+      final long batchStart = System.nanoTime();
+      for (long i = 0; i < batch; i++) {
+        final Object result = operation.run();
+        sink += result == null ? 0 : System.identityHashCode(result);
+      }
+      operations += batch;
+      final long now = System.nanoTime();
+      elapsed = now - start;
+      if (now - batchStart < BATCH_NANOS) {
+        batch *= 2;
+      }
+    } while (elapsed < nanos);
+    return new long[] {operations, elapsed};
+  }
+
+  private long allocatedBytes() {
+    if (allocatedBytes == null) {
+      return -1;
+    }
+    try {
+      return (Long) allocatedBytes.invoke(threadMXBean, Thread.currentThread().getId());
+    } catch (ReflectiveOperationException e) {
+      return -1;
+    }
+  }
+
+  int sink() {
+    return sink;
+  }
+
+  private static double mean(double[] values) {
+    double sum = 0;
+    for (double value : values) {
+      sum += value;
+    }
+    return sum / values.length;
+  }
+
+  private static double standardDeviation(double[] values, double mean) {
+    double sum = 0;
+    for (double value : values) {
+      sum += (value - mean) * (value - mean);
+    }
+    return Math.sqrt(sum / (values.length - 1));
+  }
+}
@@ -0,0 +1,23 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+/**
+ * Runs all benchmarks on the host JVM, started with ./gradlew benchmark. The first argument
+ * selects the benchmarks whose name contains it.
+ */
+final class Benchmarks {
+
+  public static void main(String[] args) {
+    final BenchmarkRunner runner = new BenchmarkRunner(1000, 1000, 5, args.length > 0 ? args[0] : null);
+    runner.printHeader();
+    ConvertBenchmark.run(runner);
+    AnnotationOptionsBenchmark.run(runner);
+    AnnotationRegistryBenchmark.run(runner);
+    AnnotationSpatialIndexBenchmark.run(runner);
+    // printed so the results of the operations count as used
+    System.out.println("sink " + runner.sink());
+  }
+}
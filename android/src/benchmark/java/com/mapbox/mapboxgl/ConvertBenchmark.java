@@ -0,0 +1,184 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.mapbox.mapboxsdk.camera.CameraPosition;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmarks of the conversions every method call from Dart goes through.
+ *
+ * Payloads are shaped like the decoded arguments of the method channel: lists of [lat, lng]
+ * lists or packed double arrays for geometries, maps of boxed values for options. Geometries
+ * are random walks of 1, 1k and 100k vertices. The builders are created without annotation
+ * managers, converting options never touches them.
+ */
+final class ConvertBenchmark {
+  private static final int[] VERTEX_COUNTS = {1, 1_000, 100_000};
+
+  static void run(BenchmarkRunner runner) {
+    final List<Object> cameraPosition = Arrays.asList(
+      "newCameraPosition", cameraPositionJson(48.8566, 2.3522, 12.5, 30.0, 45.0));
+    runner.run("toCameraUpdate newCameraPosition", () -> Convert.toCameraUpdate(cameraPosition, null, 2.625f));
+    final List<Object> latLngZoom = Arrays.asList("newLatLngZoom", Arrays.asList(48.8566, 2.3522), 14.0);
+    runner.run("toCameraUpdate newLatLngZoom", () -> Convert.toCameraUpdate(latLngZoom, null, 2.625f));
+    final List<Object> bounds = Arrays.asList("newLatLngBounds",
+      Arrays.asList(Arrays.asList(48.80, 2.25), Arrays.asList(48.90, 2.42)), 32.0);
+    runner.run("toCameraUpdate newLatLngBounds", () -> Convert.toCameraUpdate(bounds, null, 2.625f));
+
+    final CameraPosition position = new CameraPosition.Builder()
+      .target(new LatLng(48.8566, 2.3522)).zoom(12.5).bearing(30).tilt(45).build();
+    runner.run("toJson CameraPosition", () -> Convert.toJson(position));
+
+    final Map<String, Object> symbolOptions = symbolOptions();
+    runner.run("interpretSymbolOptions", () -> {
+      final SymbolBuilder builder = new SymbolBuilder(null);
+      Convert.interpretSymbolOptions(symbolOptions, builder);
+      return builder;
+    });
+    final Map<String, Object> circleOptions = circleOptions();
+    runner.run("interpretCircleOptions", () -> {
+      final CircleBuilder builder = new CircleBuilder(null);
+      Convert.interpretCircleOptions(circleOptions, builder);
+      return builder;
+    });
+
+    for (int vertexCount : VERTEX_COUNTS) {
+      final double[] walk = randomWalk(vertexCount);
+      final Map<String, Object> lineOptions = lineOptions();
+      lineOptions.put("geometry", toLatLngLists(walk));
+      runner.run("interpretLineOptions toLatLngList " + vertexCount, () -> {
+        final LineBuilder builder = new LineBuilder(null);
+        Convert.interpretLineOptions(lineOptions, builder);
+        return builder;
+      });
+      final Map<String, Object> packedLineOptions = lineOptions();
+      packedLineOptions.put("geometry", walk);
+      runner.run("interpretLineOptions packed " + vertexCount, () -> {
+        final LineBuilder builder = new LineBuilder(null);
+        Convert.interpretLineOptions(packedLineOptions, builder);
+        return builder;
+      });
+      final Map<String, Object> fillOptions = fillOptions();
+      fillOptions.put("geometry", toLatLngLists(walk));
+      runner.run("interpretFillOptions " + vertexCount, () -> {
+        final FillBuilder builder = new FillBuilder(null);
+        Convert.interpretFillOptions(fillOptions, builder);
+        return builder;
+      });
+      final Map<String, Object> packedFillOptions = fillOptions();
+      packedFillOptions.put("geometry", walk);
+      runner.run("interpretFillOptions packed " + vertexCount, () -> {
+        final FillBuilder builder = new FillBuilder(null);
+        Convert.interpretFillOptions(packedFillOptions, builder);
+        return builder;
+      });
+      final List<List<LatLng>> polygon = Collections.singletonList(toLatLngs(walk));
+      runner.run("interpretListLatLng " + vertexCount, () -> Convert.interpretListLatLng(polygon));
+    }
+  }
+
+  private static Map<String, Object> cameraPositionJson(
+      double lat, double lng, double zoom, double bearing, double tilt) {
+    final Map<String, Object> json = new HashMap<>();
+    json.put("target", Arrays.asList(lat, lng));
+    json.put("zoom", zoom);
+    json.put("bearing", bearing);
+    json.put("tilt", tilt);
+    return json;
+  }
+
+  private static Map<String, Object> symbolOptions() {
+    final Map<String, Object> options = new HashMap<>();
+    options.put("geometry", Arrays.asList(48.8566, 2.3522));
+    options.put("iconImage", "airport-15");
+    options.put("iconSize", 1.5);
+    options.put("iconRotate", 45.0);
+    options.put("iconOffset", Arrays.asList(0.0, -8.0));
+    options.put("iconAnchor", "bottom");
+    options.put("iconColor", 0xff3bb2d0);
+    options.put("textField", "Charles de Gaulle");
+    options.put("textSize", 12.0);
+    options.put("textOffset", Arrays.asList(0.0, 1.2));
+    options.put("textColor", 0xff202020);
+    options.put("textHaloColor", 0xffffffff);
+    options.put("textHaloWidth", 1.0);
+    options.put("zIndex", 3);
+    options.put("draggable", false);
+    return options;
+  }
+
+  private static Map<String, Object> circleOptions() {
+    final Map<String, Object> options = new HashMap<>();
+    options.put("geometry", Arrays.asList(48.8566, 2.3522));
+    options.put("circleRadius", 8.0);
+    options.put("circleColor", 0xff3bb2d0);
+    options.put("circleOpacity", 0.8);
+    options.put("circleStrokeWidth", 2.0);
+    options.put("circleStrokeColor", 0xffffffff);
+    options.put("draggable", false);
+    return options;
+  }
+
+  private static Map<String, Object> lineOptions() {
+    final Map<String, Object> options = new HashMap<>();
+    options.put("lineColor", 0xffed6498);
+    options.put("lineWidth", 4.0);
+    options.put("lineOpacity", 0.9);
+    options.put("lineJoin", "round");
+    options.put("draggable", false);
+    return options;
+  }
+
+  private static Map<String, Object> fillOptions() {
+    final Map<String, Object> options = new HashMap<>();
+    options.put("fill-color", 0xff3bb2d0);
+    options.put("fill-opacity", 0.5);
+    options.put("fill-outline-color", 0xff202020);
+    options.put("draggable", false);
+    return options;
+  }
+
+  /**
+   * Returns a walk of packed lat, lng pairs starting in Paris.
+   */
+  private static double[] randomWalk(int vertexCount) {
+    final Random random = new Random(vertexCount);
+    final double[] latLngs = new double[vertexCount * 2];
+    double lat = 48.8566;
+    double lng = 2.3522;
+    for (int i = 0; i < vertexCount; i++) {
+      latLngs[i * 2] = lat;
+      latLngs[i * 2 + 1] = lng;
+      lat += (random.nextDouble() - 0.5) * 1e-3;
+      lng += (random.nextDouble() - 0.5) * 1e-3;
+    }
+    return latLngs;
+  }
+
+  private static List<Object> toLatLngLists(double[] latLngs) {
+    final List<Object> lists = new ArrayList<>(latLngs.length / 2);
+    for (int i = 0; i < latLngs.length; i += 2) {
+      lists.add(Arrays.asList(latLngs[i], latLngs[i + 1]));
+    }
+    return lists;
+  }
+
+  private static List<LatLng> toLatLngs(double[] latLngs) {
+    final List<LatLng> list = new ArrayList<>(latLngs.length / 2);
+    for (int i = 0; i < latLngs.length; i += 2) {
+      list.add(new LatLng(latLngs[i], latLngs[i + 1]));
+    }
+    return list;
+  }
+}
@@ -0,0 +1,61 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.flutter.plugin.common.BinaryMessenger;
+
+/**
+ * Binary messenger without a Flutter engine, delivers messages to the registered handlers on
+ * the calling thread and drops the messages sent to Dart.
+ */
+final class FakeBinaryMessenger implements BinaryMessenger {
+  private final Map<String, BinaryMessageHandler> handlers = new HashMap<>();
+  private ByteBuffer lastReply;
+  private int sentCount = 0;
+
+  @Override
+  public void send(String channel, ByteBuffer message) {
+    sentCount++;
+  }
+
+  @Override
+  public void send(String channel, ByteBuffer message, BinaryReply callback) {
+    sentCount++;
+    if (callback != null) {
+      callback.reply(null);
+    }
+  }
+
+  @Override
+  public void setMessageHandler(String channel, BinaryMessageHandler handler) {
+    if (handler == null) {
+      handlers.remove(channel);
+    } else {
+      handlers.put(channel, handler);
+    }
+  }
+
+  /**
+   * Delivers a message as if it came from Dart, returns the reply or null if there was none
+   * yet.
+   */
+  ByteBuffer deliver(String channel, ByteBuffer message) {
+    final BinaryMessageHandler handler = handlers.get(channel);
+    if (handler == null) {
+      throw new IllegalStateException("No handler for " + channel);
+    }
+    lastReply = null;
+    handler.onMessage(message, reply -> lastReply = reply);
+    return lastReply;
+  }
+
+  int getSentCount() {
+    return sentCount;
+  }
+}
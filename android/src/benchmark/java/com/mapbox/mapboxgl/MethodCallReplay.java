@@ -0,0 +1,92 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.flutter.plugin.common.MethodChannel;
+import io.flutter.plugin.common.StandardMethodCodec;
+
+/**
+ * Replays a log written by MethodCallRecorder on the host JVM and reports the latency of every
+ * method, run with ./gradlew replay -PreplayLog=path/to/log [-PreplayPaced].
+ *
+ * Every call goes through a method channel on a fake binary messenger, so it is decoded exactly
+ * like on a device, and is handled by ReplayMethodCallHandler. Calls are replayed back to back
+ * unless paced, then the recorded gaps between calls are kept.
+ */
+final class MethodCallReplay {
+  private static final String CHANNEL = "plugins.flutter.io/mapbox_maps_0";
+  // density of the device the calls are converted for, only scales pixel arguments
+  private static final float DENSITY = 2.625f;
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (args.length < 1) {
+      System.err.println("Usage: MethodCallReplay <log> [--paced]");
+      System.exit(2);
+    }
+    final boolean paced = args.length > 1 && "--paced".equals(args[1]);
+    final List<MethodCallRecorder.Entry> entries;
+    try (InputStream in = new FileInputStream(args[0])) {
+      entries = MethodCallRecorder.read(in);
+    }
+
+    final FakeBinaryMessenger messenger = new FakeBinaryMessenger();
+    final ReplayMethodCallHandler handler = new ReplayMethodCallHandler(DENSITY);
+    new MethodChannel(messenger, CHANNEL).setMethodCallHandler(handler);
+    final MethodCallMetrics metrics = new MethodCallMetrics();
+    int errorCount = 0;
+    final long replayStart = System.nanoTime();
+    for (MethodCallRecorder.Entry entry : entries) {
+      if (paced && entry.delayMicros > 0) {
+        Thread.sleep(entry.delayMicros / 1000, (int) (entry.delayMicros % 1000) * 1000);
+      }
+      final ByteBuffer message = entry.toMessage();
+      final long start = System.nanoTime();
+      final ByteBuffer reply = messenger.deliver(CHANNEL, message);
+      metrics.record(handler.getLastMethod(), System.nanoTime() - start, entry.encodedCall.length);
+      if (reply == null || !succeeded(reply)) {
+        errorCount++;
+      }
+    }
+    final long replayMillis = (System.nanoTime() - replayStart) / 1_000_000;
+
+    System.out.println(String.format(Locale.US, "Replayed %d calls in %d ms, %d failed",
+      entries.size(), replayMillis, errorCount));
+    System.out.println(String.format(Locale.US, "%-32s %8s %10s %10s %10s %10s %12s",
+      "Method", "calls", "mean us", "p50 us", "p99 us", "max us", "bytes"));
+    final Map<String, Object> snapshot = metrics.snapshot();
+    final List<String> methods = new ArrayList<>(snapshot.keySet());
+    methods.sort((a, b) -> Long.compare(totalMicros(snapshot, b), totalMicros(snapshot, a)));
+    for (String method : methods) {
+      final Map<?, ?> stats = (Map<?, ?>) snapshot.get(method);
+      final long count = (Long) stats.get("count");
+      System.out.println(String.format(Locale.US, "%-32s %8d %10.1f %10d %10d %10d %12d",
+        method, count, (double) totalMicros(snapshot, method) / count,
+        stats.get("p50Micros"), stats.get("p99Micros"), stats.get("maxMicros"), stats.get("argumentBytes")));
+    }
+  }
+
+  private static boolean succeeded(ByteBuffer reply) {
+    reply.rewind();
+    try {
+      StandardMethodCodec.INSTANCE.decodeEnvelope(reply);
+      return true;
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  private static long totalMicros(Map<String, Object> snapshot, String method) {
+    return (Long) ((Map<?, ?>) snapshot.get(method)).get("totalMicros");
+  }
+}
@@ -0,0 +1,90 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.util.List;
+
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+
+/**
+ * Stand-in for MapboxMapController on the host JVM.
+ *
+ * A controller needs a map view and a GL context, so this handler does the part of every call
+ * that does not: it converts camera updates and annotation options the way the controller does,
+ * into builders without annotation managers. All other calls are answered right away.
+ */
+final class ReplayMethodCallHandler implements MethodChannel.MethodCallHandler {
+  private final float density;
+  private String lastMethod;
+
+  ReplayMethodCallHandler(float density) {
+    this.density = density;
+  }
+
+  @Override
+  public void onMethodCall(MethodCall call, MethodChannel.Result result) {
+    lastMethod = call.method;
+    final int separator = call.method.indexOf('#');
+    final String target = separator < 0 ? call.method : call.method.substring(0, separator);
+    switch (target) {
+      case "camera": {
+        final Object cameraUpdate = call.argument("cameraUpdate");
+        if (cameraUpdate != null && !Convert.isScrollByCameraUpdate(cameraUpdate)) {
+          Convert.toCameraUpdate(cameraUpdate, null, density);
+        }
+        break;
+      }
+      case "symbol":
+      case "symbols":
+      case "line":
+      case "lines":
+      case "circle":
+      case "circles":
+      case "fill":
+      case "fills":
+        if (call.hasArgument("options")) {
+          interpretOptions(target.endsWith("s") ? target.substring(0, target.length() - 1) : target,
+            call.argument("options"));
+        }
+        break;
+      default:
+        break;
+    }
+    result.success(null);
+  }
+
+  /**
+   * Returns the method of the call handled last.
+   */
+  String getLastMethod() {
+    return lastMethod;
+  }
+
+  private void interpretOptions(String type, Object options) {
+    if (options instanceof List) {
+      for (Object element : (List<?>) options) {
+        interpretOptions(type, element);
+      }
+      return;
+    }
+    switch (type) {
+      case "symbol":
+        Convert.interpretSymbolOptions(options, new SymbolBuilder(null));
+        break;
+      case "line":
+        Convert.interpretLineOptions(options, new LineBuilder(null));
+        break;
+      case "circle":
+        Convert.interpretCircleOptions(options, new CircleBuilder(null));
+        break;
+      case "fill":
+        Convert.interpretFillOptions(options, new FillBuilder(null));
+        break;
+      default:
+        break;
+    }
+  }
+}
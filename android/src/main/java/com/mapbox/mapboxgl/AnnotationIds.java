@@ -0,0 +1,96 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Translates between the ids Dart knows annotations by and the ids of the annotation managers.
+ *
+ * The two are the same until the annotations are recreated by new managers, which hand out
+ * ids from 0 again. The recreated annotations are mapped to their old ids explicitly. Ids of
+ * annotations created afterwards are offset past the largest id still in use, so they never
+ * collide with the recreated ones. While no annotation of a type is mapped, which is always the
+ * case before the first style switch, ids are translated without touching the maps.
+ */
+final class AnnotationIds {
+  private final Map<Long, Long>[] idsByAnnotation;
+  private final Map<Long, Long>[] annotationsById;
+  private final long[] offsets = new long[AnnotationRegistry.TYPE_COUNT];
+  // the largest mapped id per type, unmapped ids up to it belong to no annotation
+  private final long[] mappedIds = new long[AnnotationRegistry.TYPE_COUNT];
+  // manager ids from which on ids are offset
+  private final long[] firstOffsetAnnotations = new long[AnnotationRegistry.TYPE_COUNT];
+
+  @SuppressWarnings("unchecked")
+  AnnotationIds() {
+    idsByAnnotation = new Map[AnnotationRegistry.TYPE_COUNT];
+    annotationsById = new Map[AnnotationRegistry.TYPE_COUNT];
+    for (int type = 0; type < AnnotationRegistry.TYPE_COUNT; type++) {
+      idsByAnnotation[type] = new HashMap<>();
+      annotationsById[type] = new HashMap<>();
+      mappedIds[type] = -1;
+    }
+  }
+
+  /**
+   * Returns the id Dart knows the annotation of the manager by.
+   */
+  long toId(int type, long annotationId) {
+    if (idsByAnnotation[type].isEmpty()) {
+      return annotationId < firstOffsetAnnotations[type] ? -1 : annotationId + offsets[type];
+    }
+    final Long id = idsByAnnotation[type].get(annotationId);
+    if (id != null) {
+      return id;
+    }
+    return annotationId < firstOffsetAnnotations[type] ? -1 : annotationId + offsets[type];
+  }
+
+  /**
+   * Returns the id of the annotation in its manager, or -1 if there is no such annotation.
+   */
+  long toAnnotationId(int type, long id) {
+    if (annotationsById[type].isEmpty()) {
+      return id <= mappedIds[type] ? -1 : id - offsets[type];
+    }
+    final Long annotationId = annotationsById[type].get(id);
+    if (annotationId != null) {
+      return annotationId;
+    }
+    return id <= mappedIds[type] ? -1 : id - offsets[type];
+  }
+
+  /**
+   * Maps the recreated annotations of a type to their old ids, ids[i] is now the annotation
+   * annotationIds[i] of the new manager. The new manager must not have handed out other ids.
+   */
+  void remap(int type, long[] ids, long[] annotationIds) {
+    idsByAnnotation[type].clear();
+    annotationsById[type].clear();
+    long maxId = -1;
+    long maxAnnotationId = -1;
+    for (int i = 0; i < ids.length; i++) {
+      idsByAnnotation[type].put(annotationIds[i], ids[i]);
+      annotationsById[type].put(ids[i], annotationIds[i]);
+      maxId = Math.max(maxId, ids[i]);
+      maxAnnotationId = Math.max(maxAnnotationId, annotationIds[i]);
+    }
+    mappedIds[type] = maxId;
+    firstOffsetAnnotations[type] = maxAnnotationId + 1;
+    offsets[type] = maxId - maxAnnotationId;
+  }
+
+  /**
+   * Forgets the mapping of a removed annotation.
+   */
+  void remove(int type, long annotationId) {
+    final Long id = idsByAnnotation[type].remove(annotationId);
+    if (id != null) {
+      annotationsById[type].remove(id);
+    }
+  }
+}
@@ -0,0 +1,39 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The options sent from Dart for a single annotation, merged across all of its updates.
+ *
+ * Replaying the model through Convert recreates the annotation, e.g. after the style changed
+ * and the annotation managers had to be rebuilt. The geometry is left out, it can change
+ * natively through dragging or animations and is taken from the annotation itself.
+ */
+final class AnnotationOptionsModel {
+  private final Map<String, Object> options = new HashMap<>();
+
+  /**
+   * Merges an options map as passed to Convert.interpret*Options.
+   */
+  void merge(Object o) {
+    for (Map.Entry<?, ?> entry : Convert.toMap(o).entrySet()) {
+      final String key = (String) entry.getKey();
+      if (!"geometry".equals(key) && !"geometryRings".equals(key)) {
+        options.put(key, entry.getValue());
+      }
+    }
+  }
+
+  void put(String key, Object value) {
+    options.put(key, value);
+  }
+
+  Map<String, Object> toMap() {
+    return options;
+  }
+}
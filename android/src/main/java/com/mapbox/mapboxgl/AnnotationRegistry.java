@@ -0,0 +1,204 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.util.Arrays;
+
+/**
+ * Registry of the annotation controllers of a single map, keyed by annotation type and id.
+ *
+ * Each annotation manager hands out its own ids, so the type is folded into the primitive
+ * long key. Lookups are done with open addressing and linear probing, without boxing the id
+ * or building a String for it.
+ */
+final class AnnotationRegistry {
+  static final int SYMBOL = 0;
+  static final int LINE = 1;
+  static final int CIRCLE = 2;
+  static final int FILL = 3;
+  static final int TYPE_COUNT = 4;
+  private static final int TYPE_BITS = 2;
+  private static final long EMPTY = -1L;
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] keys;
+  private Object[] values;
+  private int mask;
+  private int size;
+  private int resizeThreshold;
+  private final int[] typeCounts = new int[TYPE_COUNT];
+
+  AnnotationRegistry() {
+    allocate(MIN_CAPACITY);
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+    values = new Object[capacity];
+    mask = capacity - 1;
+    resizeThreshold = capacity / 2;
+  }
+
+  /**
+   * Returns the name of the annotation type used on the Flutter side.
+   */
+  static String typeName(int type) {
+    switch (type) {
+      case SYMBOL:
+        return "symbol";
+      case LINE:
+        return "line";
+      case CIRCLE:
+        return "circle";
+      case FILL:
+        return "fill";
+      default:
+        throw new IllegalArgumentException("Unknown annotation type: " + type);
+    }
+  }
+
+  private static long key(int type, long id) {
+    if (id < 0) {
+      throw new IllegalArgumentException("Invalid annotation id: " + id);
+    }
+    return (id << TYPE_BITS) | type;
+  }
+
+  private static int hash(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    return (int) key;
+  }
+
+  private int indexOf(long key) {
+    int index = hash(key) & mask;
+    while (true) {
+      final long current = keys[index];
+      if (current == key) {
+        return index;
+      }
+      if (current == EMPTY) {
+        return -1;
+      }
+      index = (index + 1) & mask;
+    }
+  }
+
+  Object get(int type, long id) {
+    if (id < 0) {
+      return null;
+    }
+    final int index = indexOf(key(type, id));
+    return index < 0 ? null : values[index];
+  }
+
+  boolean contains(int type, long id) {
+    return id >= 0 && indexOf(key(type, id)) >= 0;
+  }
+
+  Object put(int type, long id, Object controller) {
+    final long key = key(type, id);
+    int index = hash(key) & mask;
+    while (true) {
+      final long current = keys[index];
+      if (current == key) {
+        final Object previous = values[index];
+        values[index] = controller;
+        return previous;
+      }
+      if (current == EMPTY) {
+        keys[index] = key;
+        values[index] = controller;
+        typeCounts[type]++;
+        if (++size > resizeThreshold) {
+          rehash(keys.length * 2);
+        }
+        return null;
+      }
+      index = (index + 1) & mask;
+    }
+  }
+
+  Object remove(int type, long id) {
+    if (id < 0) {
+      return null;
+    }
+    final int index = indexOf(key(type, id));
+    if (index < 0) {
+      return null;
+    }
+    final Object previous = values[index];
+    typeCounts[type]--;
+    size--;
+    shiftBack(index);
+    return previous;
+  }
+
+  /**
+   * Closes the gap left by a removed entry so that probe sequences stay unbroken.
+   */
+  private void shiftBack(int gap) {
+    int index = (gap + 1) & mask;
+    while (keys[index] != EMPTY) {
+      final int home = hash(keys[index]) & mask;
+      // move the entry into the gap unless its home slot lies cyclically in (gap, index]
+      if (gap <= index ? (home <= gap || home > index) : (home <= gap && home > index)) {
+        keys[gap] = keys[index];
+        values[gap] = values[index];
+        gap = index;
+      }
+      index = (index + 1) & mask;
+    }
+    keys[gap] = EMPTY;
+    values[gap] = null;
+  }
+
+  private void rehash(int capacity) {
+    final long[] oldKeys = keys;
+    final Object[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      final long key = oldKeys[i];
+      if (key != EMPTY) {
+        int index = hash(key) & mask;
+        while (keys[index] != EMPTY) {
+          index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Returns the ids of all annotations of the type, in no particular order.
+   */
+  long[] ids(int type) {
+    final long[] ids = new long[typeCounts[type]];
+    int count = 0;
+    for (long key : keys) {
+      if (key != EMPTY && (int) (key & ((1 << TYPE_BITS) - 1)) == type) {
+        ids[count++] = key >>> TYPE_BITS;
+      }
+    }
+    return ids;
+  }
+
+  int size() {
+    return size;
+  }
+
+  int size(int type) {
+    return typeCounts[type];
+  }
+
+  void clear() {
+    allocate(MIN_CAPACITY);
+    size = 0;
+    Arrays.fill(typeCounts, 0);
+  }
+}
@@ -0,0 +1,579 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.mapbox.geojson.Geometry;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.Polygon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * R-tree over the geometries of the annotations of a single map, answering which annotations
+ * are inside a region or closest to a point without querying rendered features.
+ *
+ * Geometries are kept in Web Mercator coordinates normalized to [0, 1], so distances can be
+ * compared to a tolerance in pixels at any zoom. The tree follows rbush: large batches are bulk
+ * loaded sort-tile-recursive style into a subtree of their own that is then inserted into the
+ * tree, so the cost of a batch does not grow with the annotations already indexed. Single
+ * annotations are inserted and removed incrementally, with R*-tree style node splits. Has no
+ * Android dependencies.
+ */
+final class AnnotationSpatialIndex {
+  private static final int MAX_ENTRIES = 9;
+  private static final int MIN_ENTRIES = 4;
+  // below this many annotations per batch, inserting one by one is cheaper than a subtree
+  private static final int BULK_LOAD_THRESHOLD = 64;
+
+  private static final Comparator<Box> COMPARE_MIN_X = (a, b) -> Double.compare(a.minX, b.minX);
+  private static final Comparator<Box> COMPARE_MIN_Y = (a, b) -> Double.compare(a.minY, b.minY);
+
+  private final AnnotationRegistry entries = new AnnotationRegistry();
+  private Node root = new Node(new ArrayList<>());
+
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * Indexes the geometry of an annotation, replacing its previous geometry.
+   */
+  void put(int type, long id, Geometry geometry) {
+    remove(type, id);
+    final Entry entry = new Entry(type, id, geometry);
+    entries.put(type, id, entry);
+    insert(entry, root.height - 1);
+  }
+
+  /**
+   * Indexes the geometries of several annotations of the same type.
+   */
+  void putAll(int type, long[] ids, List<? extends Geometry> geometries) {
+    if (ids.length < BULK_LOAD_THRESHOLD) {
+      for (int i = 0; i < ids.length; i++) {
+        put(type, ids[i], geometries.get(i));
+      }
+      return;
+    }
+    final List<Box> batch = new ArrayList<>(ids.length);
+    for (int i = 0; i < ids.length; i++) {
+      remove(type, ids[i]);
+      final Entry entry = new Entry(type, ids[i], geometries.get(i));
+      entries.put(type, ids[i], entry);
+      batch.add(entry);
+    }
+    load(build(batch, 0, batch.size() - 1, 0));
+  }
+
+  /**
+   * Inserts a bulk loaded subtree, the smaller of it and the tree goes into the larger one at
+   * the level where its leaves line up.
+   */
+  private void load(Node node) {
+    if (root.children.isEmpty()) {
+      root = node;
+    } else if (root.height == node.height) {
+      final List<Box> children = new ArrayList<>(2);
+      children.add(root);
+      children.add(node);
+      final Node newRoot = new Node(children);
+      newRoot.height = node.height + 1;
+      newRoot.leaf = false;
+      newRoot.calcBox();
+      root = newRoot;
+    } else {
+      if (root.height < node.height) {
+        final Node tree = root;
+        root = node;
+        node = tree;
+      }
+      insert(node, root.height - node.height - 1);
+    }
+  }
+
+  boolean remove(int type, long id) {
+    final Entry entry = (Entry) entries.remove(type, id);
+    if (entry == null) {
+      return false;
+    }
+    removeFromTree(entry);
+    return true;
+  }
+
+  void clear() {
+    entries.clear();
+    root = new Node(new ArrayList<>());
+  }
+
+  /**
+   * Returns the annotations whose bounding box intersects the bounds. The bounds may cross the
+   * antimeridian, in which case west is larger than east.
+   */
+  List<Entry> queryBounds(double west, double south, double east, double north) {
+    final List<Entry> result = new ArrayList<>();
+    if (west > east) {
+      search(lngX(west), latY(north), 1, latY(south), result);
+      search(0, latY(north), lngX(east), latY(south), result);
+    } else {
+      search(lngX(west), latY(north), lngX(east), latY(south), result);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the annotation closest to the point, or null if none is within the tolerance.
+   * Distances are measured to the nearest segment of lines and are 0 inside fills.
+   *
+   * @param tolerance maximum distance in normalized Web Mercator units, a tolerance of p
+   *                  pixels at zoom z is p / (512 * 2^z)
+   */
+  Entry nearest(double latitude, double longitude, double tolerance) {
+    final double x = lngX(longitude);
+    final double y = latY(latitude);
+    final List<Entry> candidates = new ArrayList<>();
+    search(x - tolerance, y - tolerance, x + tolerance, y + tolerance, candidates);
+    Entry nearest = null;
+    double nearestDistance = tolerance;
+    for (Entry candidate : candidates) {
+      final double distance = candidate.distanceTo(x, y);
+      if (distance <= nearestDistance) {
+        nearest = candidate;
+        nearestDistance = distance;
+      }
+    }
+    return nearest;
+  }
+
+  private void search(double minX, double minY, double maxX, double maxY, List<Entry> result) {
+    Node node = root;
+    if (!node.intersects(minX, minY, maxX, maxY)) {
+      return;
+    }
+    final List<Node> nodesToSearch = new ArrayList<>();
+    while (node != null) {
+      for (Box child : node.children) {
+        if (!child.intersects(minX, minY, maxX, maxY)) {
+          continue;
+        }
+        if (node.leaf) {
+          result.add((Entry) child);
+        } else if (child.isWithin(minX, minY, maxX, maxY)) {
+          collect((Node) child, result);
+        } else {
+          nodesToSearch.add((Node) child);
+        }
+      }
+      node = nodesToSearch.isEmpty() ? null : nodesToSearch.remove(nodesToSearch.size() - 1);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Box> void collect(Node node, List<T> result) {
+    final List<Node> nodesToCollect = new ArrayList<>();
+    while (node != null) {
+      if (node.leaf) {
+        for (Box child : node.children) {
+          result.add((T) child);
+        }
+      } else {
+        for (Box child : node.children) {
+          nodesToCollect.add((Node) child);
+        }
+      }
+      node = nodesToCollect.isEmpty() ? null : nodesToCollect.remove(nodesToCollect.size() - 1);
+    }
+  }
+
+  private Node build(List<Box> items, int left, int right, int height) {
+    final int n = right - left + 1;
+    int m = MAX_ENTRIES;
+    if (n <= m) {
+      final Node node = new Node(new ArrayList<>(items.subList(left, right + 1)));
+      node.calcBox();
+      return node;
+    }
+    if (height == 0) {
+      // target height of the tree and the number of entries per root node to maximize fill
+      height = (int) Math.ceil(Math.log(n) / Math.log(m));
+      m = (int) Math.ceil(n / Math.pow(m, height - 1));
+    }
+    final Node node = new Node(new ArrayList<>());
+    node.leaf = false;
+    node.height = height;
+
+    final int n2 = (int) Math.ceil((double) n / m);
+    final int n1 = n2 * (int) Math.ceil(Math.sqrt(m));
+    Collections.sort(items.subList(left, right + 1), COMPARE_MIN_X);
+    for (int i = left; i <= right; i += n1) {
+      final int right2 = Math.min(i + n1 - 1, right);
+      Collections.sort(items.subList(i, right2 + 1), COMPARE_MIN_Y);
+      for (int j = i; j <= right2; j += n2) {
+        final int right3 = Math.min(j + n2 - 1, right2);
+        node.children.add(build(items, j, right3, height - 1));
+      }
+    }
+    node.calcBox();
+    return node;
+  }
+
+  private void insert(Box item, int level) {
+    final List<Node> insertPath = new ArrayList<>();
+    final Node node = chooseSubtree(item, root, level, insertPath);
+    node.children.add(item);
+    node.extend(item);
+    while (level >= 0) {
+      if (insertPath.get(level).children.size() > MAX_ENTRIES) {
+        split(insertPath, level);
+        level--;
+      } else {
+        break;
+      }
+    }
+    for (int i = level; i >= 0; i--) {
+      insertPath.get(i).extend(item);
+    }
+  }
+
+  private static Node chooseSubtree(Box box, Node node, int level, List<Node> path) {
+    while (true) {
+      path.add(node);
+      if (node.leaf || path.size() - 1 == level) {
+        return node;
+      }
+      double minArea = Double.POSITIVE_INFINITY;
+      double minEnlargement = Double.POSITIVE_INFINITY;
+      Node target = null;
+      for (Box child : node.children) {
+        final double area = child.area();
+        final double enlargement = enlargedArea(box, child) - area;
+        if (enlargement < minEnlargement) {
+          minEnlargement = enlargement;
+          minArea = Math.min(area, minArea);
+          target = (Node) child;
+        } else if (enlargement == minEnlargement && area < minArea) {
+          minArea = area;
+          target = (Node) child;
+        }
+      }
+      node = target != null ? target : (Node) node.children.get(0);
+    }
+  }
+
+  private void split(List<Node> insertPath, int level) {
+    final Node node = insertPath.get(level);
+    final int m = MIN_ENTRIES;
+    final int total = node.children.size();
+    chooseSplitAxis(node, m, total);
+    final int splitIndex = chooseSplitIndex(node, m, total);
+
+    final List<Box> moved = node.children.subList(splitIndex, total);
+    final Node newNode = new Node(new ArrayList<>(moved));
+    moved.clear();
+    newNode.height = node.height;
+    newNode.leaf = node.leaf;
+    node.calcBox();
+    newNode.calcBox();
+
+    if (level > 0) {
+      insertPath.get(level - 1).children.add(newNode);
+    } else {
+      final List<Box> children = new ArrayList<>(2);
+      children.add(node);
+      children.add(newNode);
+      root = new Node(children);
+      root.height = node.height + 1;
+      root.leaf = false;
+      root.calcBox();
+    }
+  }
+
+  private static int chooseSplitIndex(Node node, int m, int total) {
+    int index = -1;
+    double minOverlap = Double.POSITIVE_INFINITY;
+    double minArea = Double.POSITIVE_INFINITY;
+    for (int i = m; i <= total - m; i++) {
+      final Box box1 = distBox(node, 0, i);
+      final Box box2 = distBox(node, i, total);
+      final double overlap = intersectionArea(box1, box2);
+      final double area = box1.area() + box2.area();
+      if (overlap < minOverlap) {
+        minOverlap = overlap;
+        index = i;
+        minArea = Math.min(area, minArea);
+      } else if (overlap == minOverlap && area < minArea) {
+        minArea = area;
+        index = i;
+      }
+    }
+    return index > 0 ? index : total - m;
+  }
+
+  /**
+   * Sorts the children of the node along the axis with the smallest total margin of the
+   * possible splits.
+   */
+  private static void chooseSplitAxis(Node node, int m, int total) {
+    final double xMargin = allDistMargin(node, m, total, COMPARE_MIN_X);
+    final double yMargin = allDistMargin(node, m, total, COMPARE_MIN_Y);
+    if (xMargin < yMargin) {
+      Collections.sort(node.children, COMPARE_MIN_X);
+    }
+  }
+
+  private static double allDistMargin(Node node, int m, int total, Comparator<Box> compare) {
+    Collections.sort(node.children, compare);
+    final Box leftBox = distBox(node, 0, m);
+    final Box rightBox = distBox(node, total - m, total);
+    double margin = leftBox.margin() + rightBox.margin();
+    for (int i = m; i < total - m; i++) {
+      leftBox.extend(node.children.get(i));
+      margin += leftBox.margin();
+    }
+    for (int i = total - m - 1; i >= m; i--) {
+      rightBox.extend(node.children.get(i));
+      margin += rightBox.margin();
+    }
+    return margin;
+  }
+
+  private void removeFromTree(Entry entry) {
+    Node node = root;
+    Node parent = null;
+    final List<Node> path = new ArrayList<>();
+    final List<Integer> indexes = new ArrayList<>();
+    int i = 0;
+    boolean goingUp = false;
+
+    // depth first search for the node containing the entry
+    while (node != null || !path.isEmpty()) {
+      if (node == null) {
+        node = path.remove(path.size() - 1);
+        parent = path.isEmpty() ? null : path.get(path.size() - 1);
+        i = indexes.remove(indexes.size() - 1);
+        goingUp = true;
+      }
+      if (node.leaf) {
+        final int index = node.children.indexOf(entry);
+        if (index != -1) {
+          node.children.remove(index);
+          path.add(node);
+          condense(path);
+          return;
+        }
+      }
+      if (!goingUp && !node.leaf && entry.isWithin(node.minX, node.minY, node.maxX, node.maxY)) {
+        path.add(node);
+        indexes.add(i);
+        i = 0;
+        parent = node;
+        node = (Node) node.children.get(0);
+      } else if (parent != null) {
+        i++;
+        node = i < parent.children.size() ? (Node) parent.children.get(i) : null;
+        goingUp = false;
+      } else {
+        node = null;
+      }
+    }
+  }
+
+  private void condense(List<Node> path) {
+    for (int i = path.size() - 1; i >= 0; i--) {
+      final Node node = path.get(i);
+      if (node.children.isEmpty()) {
+        if (i > 0) {
+          path.get(i - 1).children.remove(node);
+        } else {
+          root = new Node(new ArrayList<>());
+        }
+      } else {
+        node.calcBox();
+      }
+    }
+  }
+
+  private static Box distBox(Node node, int from, int to) {
+    final Box box = new Box();
+    for (int i = from; i < to; i++) {
+      box.extend(node.children.get(i));
+    }
+    return box;
+  }
+
+  private static double enlargedArea(Box a, Box b) {
+    return (Math.max(b.maxX, a.maxX) - Math.min(b.minX, a.minX))
+      * (Math.max(b.maxY, a.maxY) - Math.min(b.minY, a.minY));
+  }
+
+  private static double intersectionArea(Box a, Box b) {
+    final double minX = Math.max(a.minX, b.minX);
+    final double minY = Math.max(a.minY, b.minY);
+    final double maxX = Math.min(a.maxX, b.maxX);
+    final double maxY = Math.min(a.maxY, b.maxY);
+    return Math.max(0, maxX - minX) * Math.max(0, maxY - minY);
+  }
+
+  private static double lngX(double lng) {
+    return lng / 360 + 0.5;
+  }
+
+  private static double latY(double lat) {
+    final double sin = Math.sin(lat * Math.PI / 180);
+    final double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+    return y < 0 ? 0 : y > 1 ? 1 : y;
+  }
+
+  private static class Box {
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+
+    void extend(Box other) {
+      minX = Math.min(minX, other.minX);
+      minY = Math.min(minY, other.minY);
+      maxX = Math.max(maxX, other.maxX);
+      maxY = Math.max(maxY, other.maxY);
+    }
+
+    double area() {
+      return (maxX - minX) * (maxY - minY);
+    }
+
+    double margin() {
+      return (maxX - minX) + (maxY - minY);
+    }
+
+    boolean intersects(double minX, double minY, double maxX, double maxY) {
+      return this.minX <= maxX && this.minY <= maxY && this.maxX >= minX && this.maxY >= minY;
+    }
+
+    boolean isWithin(double minX, double minY, double maxX, double maxY) {
+      return minX <= this.minX && minY <= this.minY && this.maxX <= maxX && this.maxY <= maxY;
+    }
+  }
+
+  private static final class Node extends Box {
+    final List<Box> children;
+    int height = 1;
+    boolean leaf = true;
+
+    Node(List<Box> children) {
+      this.children = children;
+    }
+
+    void calcBox() {
+      minX = Double.POSITIVE_INFINITY;
+      minY = Double.POSITIVE_INFINITY;
+      maxX = Double.NEGATIVE_INFINITY;
+      maxY = Double.NEGATIVE_INFINITY;
+      for (Box child : children) {
+        extend(child);
+      }
+    }
+  }
+
+  /**
+   * The indexed geometry of an annotation.
+   */
+  static final class Entry extends Box {
+    final int type;
+    final long id;
+    // interleaved x/y pairs of the points, line vertices or polygon rings
+    private final double[] coordinates;
+    // start of each polygon ring in coordinates, null for points and lines
+    private final int[] rings;
+
+    Entry(int type, long id, Geometry geometry) {
+      this.type = type;
+      this.id = id;
+      final List<Point> points;
+      if (geometry instanceof Point) {
+        points = Collections.singletonList((Point) geometry);
+        rings = null;
+      } else if (geometry instanceof LineString) {
+        points = ((LineString) geometry).coordinates();
+        rings = null;
+      } else if (geometry instanceof Polygon) {
+        final List<List<Point>> polygon = ((Polygon) geometry).coordinates();
+        points = new ArrayList<>();
+        rings = new int[polygon.size()];
+        for (int i = 0; i < polygon.size(); i++) {
+          rings[i] = points.size() * 2;
+          points.addAll(polygon.get(i));
+        }
+      } else {
+        throw new IllegalArgumentException("Cannot index geometry " + geometry);
+      }
+      coordinates = new double[points.size() * 2];
+      for (int i = 0; i < points.size(); i++) {
+        final double x = lngX(points.get(i).longitude());
+        final double y = latY(points.get(i).latitude());
+        coordinates[2 * i] = x;
+        coordinates[2 * i + 1] = y;
+        minX = Math.min(minX, x);
+        minY = Math.min(minY, y);
+        maxX = Math.max(maxX, x);
+        maxY = Math.max(maxY, y);
+      }
+    }
+
+    double distanceTo(double x, double y) {
+      if (coordinates.length == 2) {
+        return Math.hypot(coordinates[0] - x, coordinates[1] - y);
+      }
+      if (rings == null) {
+        return distanceToSegments(x, y, 0, coordinates.length);
+      }
+      boolean inside = false;
+      double distance = Double.POSITIVE_INFINITY;
+      for (int i = 0; i < rings.length; i++) {
+        final int end = i + 1 < rings.length ? rings[i + 1] : coordinates.length;
+        inside ^= ringContains(x, y, rings[i], end);
+        distance = Math.min(distance, distanceToSegments(x, y, rings[i], end));
+      }
+      return inside ? 0 : distance;
+    }
+
+    private double distanceToSegments(double x, double y, int start, int end) {
+      double distance = Double.POSITIVE_INFINITY;
+      for (int i = start; i + 3 < end; i += 2) {
+        distance = Math.min(distance, distanceToSegment(x, y,
+          coordinates[i], coordinates[i + 1], coordinates[i + 2], coordinates[i + 3]));
+      }
+      return distance;
+    }
+
+    /**
+     * Even-odd test of the point against the ring.
+     */
+    private boolean ringContains(double x, double y, int start, int end) {
+      boolean inside = false;
+      for (int i = start, j = end - 2; i < end; j = i, i += 2) {
+        final double xi = coordinates[i];
+        final double yi = coordinates[i + 1];
+        final double xj = coordinates[j];
+        final double yj = coordinates[j + 1];
+        if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+          inside = !inside;
+        }
+      }
+      return inside;
+    }
+
+    private static double distanceToSegment(double x, double y, double ax, double ay, double bx, double by) {
+      final double dx = bx - ax;
+      final double dy = by - ay;
+      final double lengthSquared = dx * dx + dy * dy;
+      double t = lengthSquared == 0 ? 0 : ((x - ax) * dx + (y - ay) * dy) / lengthSquared;
+      t = Math.max(0, Math.min(1, t));
+      return Math.hypot(ax + t * dx - x, ay + t * dy - y);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Collects dirty annotations per manager and commits them once per frame.
+ *
+ * Every commit of an annotation manager rewrites its whole GeoJSON source, so
+ * updating many annotations one call at a time is far more expensive than a
+ * single update(List) per frame.
+ */
+class AnnotationUpdateBatcher implements Choreographer.FrameCallback {
+
+  /**
+   * Commits a list of dirty annotations to their manager.
+   */
+  interface Committer<T> {
+    void commit(List<T> annotations);
+  }
+
+  /**
+   * The pending updates of a single annotation manager.
+   */
+  final class Batch<T> {
+    private final Committer<T> committer;
+    private final LinkedHashSet<T> dirty = new LinkedHashSet<>();
+
+    private Batch(Committer<T> committer) {
+      this.committer = committer;
+    }
+
+    /**
+     * Marks the annotation as dirty, it will be committed on the next frame.
+     */
+    void add(T annotation) {
+      if (dirty.add(annotation)) {
+        pendingCount++;
+      } else {
+        coalescedUpdateCount++;
+      }
+      scheduleFlush();
+    }
+
+    /**
+     * Drops a pending update, e.g. because the annotation is being deleted.
+     */
+    void discard(T annotation) {
+      if (dirty.remove(annotation)) {
+        pendingCount--;
+      }
+    }
+
+    private void flush() {
+      if (dirty.isEmpty()) {
+        return;
+      }
+      final List<T> annotations = new ArrayList<>(dirty);
+      dirty.clear();
+      committer.commit(annotations);
+      committedUpdateCount += annotations.size();
+    }
+  }
+
+  private final List<Batch<?>> batches = new ArrayList<>(4);
+  private final Choreographer choreographer;
+  private boolean frameScheduled = false;
+  private int pendingCount = 0;
+  private long flushCount = 0;
+  private long committedUpdateCount = 0;
+  private long coalescedUpdateCount = 0;
+
+  AnnotationUpdateBatcher() {
+    this.choreographer = Choreographer.getInstance();
+  }
+
+  <T> Batch<T> register(Committer<T> committer) {
+    final Batch<T> batch = new Batch<>(committer);
+    batches.add(batch);
+    return batch;
+  }
+
+  private void scheduleFlush() {
+    if (!frameScheduled) {
+      frameScheduled = true;
+      choreographer.postFrameCallback(this);
+    }
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    frameScheduled = false;
+    flush();
+  }
+
+  /**
+   * Commits every pending update right away.
+   */
+  void flush() {
+    if (pendingCount == 0) {
+      return;
+    }
+    pendingCount = 0;
+    flushCount++;
+    for (Batch<?> batch : batches) {
+      batch.flush();
+    }
+  }
+
+  /**
+   * Drops every pending update and stops listening for frames.
+   */
+  void cancel() {
+    if (frameScheduled) {
+      choreographer.removeFrameCallback(this);
+      frameScheduled = false;
+    }
+    for (Batch<?> batch : batches) {
+      batch.dirty.clear();
+    }
+    pendingCount = 0;
+  }
+
+  long getFlushCount() {
+    return flushCount;
+  }
+
+  long getCommittedUpdateCount() {
+    return committedUpdateCount;
+  }
+
+  long getCoalescedUpdateCount() {
+    return coalescedUpdateCount;
+  }
+}
@@ -0,0 +1,88 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.mapbox.mapboxsdk.camera.CameraPosition;
+
+/**
+ * Decides which camera positions of a camera move are relayed to Flutter.
+ *
+ * Positions arriving sooner than the throttle interval after the last relayed one are merged,
+ * only the most recent one is kept. Zoom or bearing only changes below their minimum delta are
+ * held back the same way. The last merged position is handed out before the camera becomes idle, so Flutter
+ * always ends up with the final position.
+ */
+class CameraMoveEventPolicy {
+  private long throttleMs = 0;
+  private double minZoomDelta = 0;
+  private double minBearingDelta = 0;
+  private CameraPosition lastSent;
+  private long lastSentTime;
+  private CameraPosition pending;
+
+  void setThrottleMs(long throttleMs) {
+    this.throttleMs = Math.max(0, throttleMs);
+  }
+
+  void setMinZoomDelta(double minZoomDelta) {
+    this.minZoomDelta = Math.max(0, minZoomDelta);
+  }
+
+  void setMinBearingDelta(double minBearingDelta) {
+    this.minBearingDelta = Math.max(0, minBearingDelta);
+  }
+
+  /**
+   * Offers the current camera position, returns true if it should be relayed right away.
+   */
+  boolean offer(CameraPosition position, long nowMs) {
+    if (lastSent != null && (nowMs - lastSentTime < throttleMs || !isSignificant(position))) {
+      pending = position;
+      return false;
+    }
+    markSent(position, nowMs);
+    return true;
+  }
+
+  /**
+   * Returns the merged position that has not been relayed yet, or null. Called when the camera
+   * becomes idle.
+   */
+  CameraPosition takePending(long nowMs) {
+    final CameraPosition position = pending;
+    if (position == null || position.equals(lastSent)) {
+      pending = null;
+      return null;
+    }
+    markSent(position, nowMs);
+    return position;
+  }
+
+  void reset() {
+    lastSent = null;
+    pending = null;
+  }
+
+  private void markSent(CameraPosition position, long nowMs) {
+    lastSent = position;
+    lastSentTime = nowMs;
+    pending = null;
+  }
+
+  private boolean isSignificant(CameraPosition position) {
+    if (!position.target.equals(lastSent.target) || position.tilt != lastSent.tilt) {
+      return true;
+    }
+    final double zoomDelta = Math.abs(position.zoom - lastSent.zoom);
+    final double bearingDelta = bearingDelta(position.bearing, lastSent.bearing);
+    return (zoomDelta > 0 && zoomDelta >= minZoomDelta)
+      || (bearingDelta > 0 && bearingDelta >= minBearingDelta);
+  }
+
+  private static double bearingDelta(double a, double b) {
+    final double delta = Math.abs(a - b) % 360;
+    return delta > 180 ? 360 - delta : delta;
+  }
+}
@@ -21,6 +21,10 @@ class CircleBuilder implements CircleOptionsSink {
     this.circleOptions = new CircleOptions();
   }
 
+  CircleOptions getCircleOptions() {
+    return this.circleOptions;
+  }
+
   Circle build() {
     return circleManager.create(circleOptions);
   }
@@ -30,6 +34,11 @@ class CircleBuilder implements CircleOptionsSink {
     circleOptions.withCircleRadius(circleRadius);
   }
 
+  @Override
+  public void setCircleColor(int circleColor) {
+    circleOptions.withCircleColor(ColorCache.toRgbaString(circleColor));
+  }
+
   @Override
   public void setCircleColor(String circleColor) {
     circleOptions.withCircleColor(circleColor);
@@ -50,6 +59,11 @@ class CircleBuilder implements CircleOptionsSink {
     circleOptions.withCircleStrokeWidth(circleStrokeWidth);
   }
 
+  @Override
+  public void setCircleStrokeColor(int circleStrokeColor) {
+    circleOptions.withCircleStrokeColor(ColorCache.toRgbaString(circleStrokeColor));
+  }
+
   @Override
   public void setCircleStrokeColor(String circleStrokeColor) {
     circleOptions.withCircleStrokeColor(circleStrokeColor);
@@ -6,7 +6,6 @@
 
 package com.mapbox.mapboxgl;
 
-import android.graphics.Color;
 import com.mapbox.geojson.Point;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.plugins.annotation.Circle;
@@ -14,8 +13,9 @@ import com.mapbox.mapboxsdk.plugins.annotation.CircleManager;
 
 /** Controller of a single Circle on the map. */
 class CircleController implements CircleOptionsSink {
-  private final Circle circle;
+  private Circle circle;
   private final OnCircleTappedListener onTappedListener;
+  private final AnnotationOptionsModel options = new AnnotationOptionsModel();
   private boolean consumeTapEvents;
 
   CircleController(Circle circle, boolean consumeTapEvents, OnCircleTappedListener onTappedListener) {
@@ -24,6 +24,24 @@ class CircleController implements CircleOptionsSink {
     this.onTappedListener = onTappedListener;
   }
 
+  Circle getCircle() {
+    return this.circle;
+  }
+
+  /**
+   * Rebinds the controller to the circle recreated from its options by a new manager.
+   */
+  void setCircle(Circle circle) {
+    this.circle = circle;
+  }
+
+  /**
+   * The options applied to the circle from Dart, used to recreate it.
+   */
+  AnnotationOptionsModel getOptions() {
+    return options;
+  }
+
   boolean onTap() {
     if (onTappedListener != null) {
       onTappedListener.onCircleTapped(circle);
@@ -40,9 +58,14 @@ class CircleController implements CircleOptionsSink {
     circle.setCircleRadius(circleRadius);
   }
 
+  @Override
+  public void setCircleColor(int circleColor) {
+    circle.setCircleColor(circleColor);
+  }
+
   @Override
   public void setCircleColor(String circleColor) {
-    circle.setCircleColor(Color.parseColor(circleColor));
+    circle.setCircleColor(circleColor);
   }
 
   @Override
@@ -60,9 +83,14 @@ class CircleController implements CircleOptionsSink {
     circle.setCircleStrokeWidth(circleStrokeWidth);
   }
 
+  @Override
+  public void setCircleStrokeColor(int circleStrokeColor) {
+    circle.setCircleStrokeColor(circleStrokeColor);
+  }
+
   @Override
   public void setCircleStrokeColor(String circleStrokeColor) {
-    circle.setCircleStrokeColor(Color.parseColor(circleStrokeColor));
+    circle.setCircleStrokeColor(circleStrokeColor);
   }
 
   @Override
@@ -13,6 +13,8 @@ interface CircleOptionsSink {
       
   void setCircleRadius(float circleRadius);
           
+  void setCircleColor(int circleColor);
+
   void setCircleColor(String circleColor);
           
   void setCircleBlur(float circleBlur);
@@ -21,6 +23,8 @@ interface CircleOptionsSink {
                           
   void setCircleStrokeWidth(float circleStrokeWidth);
           
+  void setCircleStrokeColor(int circleStrokeColor);
+
   void setCircleStrokeColor(String circleStrokeColor);
           
   void setCircleStrokeOpacity(float circleStrokeOpacity);
@@ -0,0 +1,121 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.mapbox.mapboxsdk.plugins.annotation.Annotation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the clusters of a {@link PointClusterIndex} as annotations.
+ *
+ * Only the clusters and points visible at the current integer zoom are rendered. On each
+ * refresh the annotations of clusters that are no longer visible are removed and annotations
+ * for new ones are added, clusters that stay visible keep their annotation.
+ */
+class ClusteredAnnotations<T extends Annotation> {
+
+  /**
+   * Creates and removes the annotations of a collection, one annotation per cluster or point.
+   */
+  interface Renderer<T> {
+    List<T> add(List<PointClusterIndex.Cluster> clusters);
+
+    void remove(List<T> annotations);
+  }
+
+  private final int type;
+  private final PointClusterIndex index;
+  private final Renderer<T> renderer;
+  private final Map<Integer, T> annotationsByCluster = new HashMap<>();
+  private final Map<Long, PointClusterIndex.Cluster> clustersByAnnotation = new HashMap<>();
+
+  ClusteredAnnotations(int type, PointClusterIndex index, Renderer<T> renderer) {
+    this.type = type;
+    this.index = index;
+    this.renderer = renderer;
+  }
+
+  /**
+   * The annotation type from {@link AnnotationRegistry} of the rendered annotations.
+   */
+  int getType() {
+    return type;
+  }
+
+  PointClusterIndex getIndex() {
+    return index;
+  }
+
+  /**
+   * Renders the clusters of the integer zoom inside the bounds.
+   */
+  void refresh(double west, double south, double east, double north, double zoom) {
+    final List<PointClusterIndex.Cluster> visible = index.getClusters(west, south, east, north, Math.floor(zoom));
+    final Set<Integer> visibleIds = new HashSet<>(visible.size());
+    final List<PointClusterIndex.Cluster> added = new ArrayList<>();
+    for (PointClusterIndex.Cluster cluster : visible) {
+      visibleIds.add(cluster.id);
+      if (!annotationsByCluster.containsKey(cluster.id)) {
+        added.add(cluster);
+      }
+    }
+
+    final List<T> removed = new ArrayList<>();
+    final Iterator<Map.Entry<Integer, T>> iterator = annotationsByCluster.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<Integer, T> entry = iterator.next();
+      if (!visibleIds.contains(entry.getKey())) {
+        removed.add(entry.getValue());
+        clustersByAnnotation.remove(entry.getValue().getId());
+        iterator.remove();
+      }
+    }
+    if (!removed.isEmpty()) {
+      renderer.remove(removed);
+    }
+
+    if (!added.isEmpty()) {
+      final List<T> annotations = renderer.add(added);
+      for (int i = 0; i < annotations.size(); i++) {
+        annotationsByCluster.put(added.get(i).id, annotations.get(i));
+        clustersByAnnotation.put(annotations.get(i).getId(), added.get(i));
+      }
+    }
+  }
+
+  /**
+   * Returns the cluster or point rendered by the annotation, or null if the annotation does not
+   * belong to this collection.
+   */
+  PointClusterIndex.Cluster getCluster(long annotationId) {
+    return clustersByAnnotation.get(annotationId);
+  }
+
+  /**
+   * Forgets the rendered annotations without removing them, for when their manager is gone.
+   */
+  void forget() {
+    annotationsByCluster.clear();
+    clustersByAnnotation.clear();
+  }
+
+  /**
+   * Removes all rendered annotations.
+   */
+  void clear() {
+    if (!annotationsByCluster.isEmpty()) {
+      renderer.remove(new ArrayList<>(annotationsByCluster.values()));
+    }
+    annotationsByCluster.clear();
+    clustersByAnnotation.clear();
+  }
+}
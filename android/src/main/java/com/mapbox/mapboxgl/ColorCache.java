@@ -0,0 +1,61 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import android.graphics.Color;
+
+import com.mapbox.mapboxsdk.exceptions.ConversionException;
+import com.mapbox.mapboxsdk.utils.ColorUtils;
+
+import java.util.Map;
+
+/**
+ * Bounded cache between color strings and packed ARGB ints, shared by all annotation
+ * controllers and builders.
+ *
+ * Annotations are typically restyled with a handful of distinct colors, so parsing every color
+ * string again on each update is wasted work. Only used from the platform thread.
+ */
+final class ColorCache {
+  private static final int MAX_SIZE = 256;
+
+  // null for the colors that cannot be parsed here
+  private static final Map<String, Integer> colors = new LruMap<>(MAX_SIZE);
+  private static final Map<Integer, String> rgbaStrings = new LruMap<>(MAX_SIZE);
+
+  private ColorCache() {
+  }
+
+  /**
+   * Returns the packed color of a hex (#RRGGBB or #AARRGGBB), rgba(...) or named color string,
+   * or null for other formats such as #RGB, rgb(...) or hsl(...). Those are left to the map to
+   * parse, which understands every CSS color.
+   */
+  static Integer parse(String color) {
+    if (colors.containsKey(color)) {
+      return colors.get(color);
+    }
+    Integer packed;
+    try {
+      packed = color.startsWith("rgba") ? ColorUtils.rgbaToColor(color) : Color.parseColor(color);
+    } catch (IllegalArgumentException | ConversionException e) {
+      packed = null;
+    }
+    colors.put(color, packed);
+    return packed;
+  }
+
+  /**
+   * Returns the rgba(...) string the annotation plugin expects for a packed color.
+   */
+  static String toRgbaString(int color) {
+    String rgba = rgbaStrings.get(color);
+    if (rgba == null) {
+      rgba = ColorUtils.colorToRgbaString(color);
+      rgbaStrings.put(color, rgba);
+    }
+    return rgba;
+  }
+}
@@ -5,8 +5,11 @@
 package com.mapbox.mapboxgl;
 
 import android.graphics.Point;
-import android.util.Log;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.FeatureCollection;
 import com.mapbox.geojson.Polygon;
 import com.mapbox.mapboxsdk.camera.CameraPosition;
 import com.mapbox.mapboxsdk.camera.CameraUpdate;
@@ -19,6 +22,7 @@ import com.mapbox.mapboxsdk.log.Logger;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +34,13 @@ class Convert {
 
   private final static String TAG = "Convert";
 
+  /**
+   * Logs every decoded annotation option, only meant for debugging.
+   */
+  private static final boolean LOG_OPTIONS = false;
+
+  private static final Gson gson = new Gson();
+
 //  private static BitmapDescriptor toBitmapDescriptor(Object o) {
 //    final List<?> data = toList(o);
 //    switch (toString(data.get(0))) {
@@ -125,6 +136,44 @@ class Convert {
     return ((Number) o).intValue();
   }
 
+  /**
+   * Setter of an int option of a sink, method references to the setters do not allocate.
+   */
+  private interface IntSetter<S> {
+    void set(S sink, int value);
+  }
+
+  /**
+   * Setter of a String option of a sink.
+   */
+  private interface StringSetter<S> {
+    void set(S sink, String value);
+  }
+
+  /**
+   * Sets a color option as a packed color, or as the original string if it is in a format only
+   * the map can parse.
+   */
+  private static <S> void setColor(S sink, Object value, IntSetter<S> packed, StringSetter<S> unparsed) {
+    final Integer color = toColor(value);
+    if (color != null) {
+      packed.set(sink, color);
+    } else {
+      unparsed.set(sink, toString(value));
+    }
+  }
+
+  /**
+   * Colors are sent either as packed ARGB ints or as color strings, which are parsed once and
+   * cached. Returns null for color strings that have to be passed on as they are.
+   */
+  private static Integer toColor(Object o) {
+    if (o instanceof Number) {
+      return ((Number) o).intValue();
+    }
+    return ColorCache.parse(toString(o));
+  }
+
   static Object toJson(CameraPosition position) {
     if (position == null) {
       return null;
@@ -238,6 +287,26 @@ class Convert {
     if (trackCameraPosition != null) {
       sink.setTrackCameraPosition(toBoolean(trackCameraPosition));
     }
+    final Object deferAnnotationUpdates = data.get("deferAnnotationUpdates");
+    if (deferAnnotationUpdates != null) {
+      sink.setDeferAnnotationUpdates(toBoolean(deferAnnotationUpdates));
+    }
+    final Object cacheStyle = data.get("cacheStyle");
+    if (cacheStyle != null) {
+      sink.setCacheStyle(toBoolean(cacheStyle));
+    }
+    final Object cameraMoveThrottleMs = data.get("cameraMoveThrottleMs");
+    if (cameraMoveThrottleMs != null) {
+      sink.setCameraMoveThrottleMs(toInt(cameraMoveThrottleMs));
+    }
+    final Object minZoomDelta = data.get("minZoomDelta");
+    if (minZoomDelta != null) {
+      sink.setMinZoomDelta(toFloat(minZoomDelta));
+    }
+    final Object minBearingDelta = data.get("minBearingDelta");
+    if (minBearingDelta != null) {
+      sink.setMinBearingDelta(toFloat(minBearingDelta));
+    }
     final Object zoomGesturesEnabled = data.get("zoomGesturesEnabled");
     if (zoomGesturesEnabled != null) {
       sink.setZoomGesturesEnabled(toBoolean(zoomGesturesEnabled));
@@ -254,151 +323,141 @@ class Convert {
 
   static void interpretSymbolOptions(Object o, SymbolOptionsSink sink) {
     final Map<?, ?> data = toMap(o);
-    final Object iconSize = data.get("iconSize");
-    if (iconSize != null) {
-      sink.setIconSize(toFloat(iconSize));
-    }
-    final Object iconImage = data.get("iconImage");
-    if (iconImage != null) {
-      sink.setIconImage(toString(iconImage));
-    }
-    final Object iconRotate = data.get("iconRotate");
-    if (iconRotate != null) {
-      sink.setIconRotate(toFloat(iconRotate));
-    }
-    final Object iconOffset = data.get("iconOffset");
-    if (iconOffset != null) {
-      sink.setIconOffset(new float[] {toFloat(toList(iconOffset).get(0)), toFloat(toList(iconOffset).get(1))});
-    }
-    final Object iconAnchor = data.get("iconAnchor");
-    if (iconAnchor != null) {
-      sink.setIconAnchor(toString(iconAnchor));
-    }
-    final Object textField = data.get("textField");
-    if (textField != null) {
-      sink.setTextField(toString(textField));
-    }
-    final Object textSize = data.get("textSize");
-    if (textSize != null) {
-      sink.setTextSize(toFloat(textSize));
-    }
-    final Object textMaxWidth = data.get("textMaxWidth");
-    if (textMaxWidth != null) {
-      sink.setTextMaxWidth(toFloat(textMaxWidth));
-    }
-    final Object textLetterSpacing = data.get("textLetterSpacing");
-    if (textLetterSpacing != null) {
-      sink.setTextLetterSpacing(toFloat(textLetterSpacing));
-    }
-    final Object textJustify = data.get("textJustify");
-    if (textJustify != null) {
-      sink.setTextJustify(toString(textJustify));
-    }
-    final Object textAnchor = data.get("textAnchor");
-    if (textAnchor != null) {
-      sink.setTextAnchor(toString(textAnchor));
-    }
-    final Object textRotate = data.get("textRotate");
-    if (textRotate != null) {
-      sink.setTextRotate(toFloat(textRotate));
-    }
-    final Object textTransform = data.get("textTransform");
-    if (textTransform != null) {
-      sink.setTextTransform(toString(textTransform));
-    }
-    final Object textOffset = data.get("textOffset");
-    if (textOffset != null) {
-      sink.setTextOffset(new float[] {toFloat(toList(textOffset).get(0)), toFloat(toList(textOffset).get(1))});
-    }
-    final Object iconOpacity = data.get("iconOpacity");
-    if (iconOpacity != null) {
-      sink.setIconOpacity(toFloat(iconOpacity));
-    }
-    final Object iconColor = data.get("iconColor");
-    if (iconColor != null) {
-      sink.setIconColor(toString(iconColor));
-    }
-    final Object iconHaloColor = data.get("iconHaloColor");
-    if (iconHaloColor != null) {
-      sink.setIconHaloColor(toString(iconHaloColor));
-    }
-    final Object iconHaloWidth = data.get("iconHaloWidth");
-    if (iconHaloWidth != null) {
-      sink.setIconHaloWidth(toFloat(iconHaloWidth));
-    }
-    final Object iconHaloBlur = data.get("iconHaloBlur");
-    if (iconHaloBlur != null) {
-      sink.setIconHaloBlur(toFloat(iconHaloBlur));
-    }
-    final Object textOpacity = data.get("textOpacity");
-    if (textOpacity != null) {
-      sink.setTextOpacity(toFloat(textOpacity));
-    }
-    final Object textColor = data.get("textColor");
-    if (textColor != null) {
-      sink.setTextColor(toString(textColor));
-    }
-    final Object textHaloColor = data.get("textHaloColor");
-    if (textHaloColor != null) {
-      sink.setTextHaloColor(toString(textHaloColor));
-    }
-    final Object textHaloWidth = data.get("textHaloWidth");
-    if (textHaloWidth != null) {
-      sink.setTextHaloWidth(toFloat(textHaloWidth));
-    }
-    final Object textHaloBlur = data.get("textHaloBlur");
-    if (textHaloBlur != null) {
-      sink.setTextHaloBlur(toFloat(textHaloBlur));
-    }
-    final Object geometry = data.get("geometry");
-    if (geometry != null) {
-      sink.setGeometry(toLatLng(geometry));
-    }
-    final Object zIndex = data.get("zIndex");
-    if (zIndex != null) {
-      sink.setZIndex(toInt(zIndex));
-    }
-    final Object draggable = data.get("draggable");
-    if (draggable != null) {
-      sink.setDraggable(toBoolean(draggable));
+    for (Map.Entry<?, ?> entry : data.entrySet()) {
+      final Object value = entry.getValue();
+      if (value == null) {
+        continue;
+      }
+      if (LOG_OPTIONS) {
+        Logger.d(TAG, "interpretSymbolOptions " + entry.getKey() + "=" + value);
+      }
+      switch ((String) entry.getKey()) {
+        case "iconSize":
+          sink.setIconSize(toFloat(value));
+          break;
+        case "iconImage":
+          sink.setIconImage(toString(value));
+          break;
+        case "iconRotate":
+          sink.setIconRotate(toFloat(value));
+          break;
+        case "iconOffset":
+          sink.setIconOffset(new float[] {toFloat(toList(value).get(0)), toFloat(toList(value).get(1))});
+          break;
+        case "iconAnchor":
+          sink.setIconAnchor(toString(value));
+          break;
+        case "textField":
+          sink.setTextField(toString(value));
+          break;
+        case "textSize":
+          sink.setTextSize(toFloat(value));
+          break;
+        case "textMaxWidth":
+          sink.setTextMaxWidth(toFloat(value));
+          break;
+        case "textLetterSpacing":
+          sink.setTextLetterSpacing(toFloat(value));
+          break;
+        case "textJustify":
+          sink.setTextJustify(toString(value));
+          break;
+        case "textAnchor":
+          sink.setTextAnchor(toString(value));
+          break;
+        case "textRotate":
+          sink.setTextRotate(toFloat(value));
+          break;
+        case "textTransform":
+          sink.setTextTransform(toString(value));
+          break;
+        case "textOffset":
+          sink.setTextOffset(new float[] {toFloat(toList(value).get(0)), toFloat(toList(value).get(1))});
+          break;
+        case "iconOpacity":
+          sink.setIconOpacity(toFloat(value));
+          break;
+        case "iconColor":
+          setColor(sink, value, SymbolOptionsSink::setIconColor, SymbolOptionsSink::setIconColor);
+          break;
+        case "iconHaloColor":
+          setColor(sink, value, SymbolOptionsSink::setIconHaloColor, SymbolOptionsSink::setIconHaloColor);
+          break;
+        case "iconHaloWidth":
+          sink.setIconHaloWidth(toFloat(value));
+          break;
+        case "iconHaloBlur":
+          sink.setIconHaloBlur(toFloat(value));
+          break;
+        case "textOpacity":
+          sink.setTextOpacity(toFloat(value));
+          break;
+        case "textColor":
+          setColor(sink, value, SymbolOptionsSink::setTextColor, SymbolOptionsSink::setTextColor);
+          break;
+        case "textHaloColor":
+          setColor(sink, value, SymbolOptionsSink::setTextHaloColor, SymbolOptionsSink::setTextHaloColor);
+          break;
+        case "textHaloWidth":
+          sink.setTextHaloWidth(toFloat(value));
+          break;
+        case "textHaloBlur":
+          sink.setTextHaloBlur(toFloat(value));
+          break;
+        case "geometry":
+          sink.setGeometry(toLatLng(value));
+          break;
+        case "zIndex":
+          sink.setZIndex(toInt(value));
+          break;
+        case "draggable":
+          sink.setDraggable(toBoolean(value));
+          break;
+        default:
+          break;
+      }
     }
   }
 
+  /**
+   * Decodes circle options key by key. The schema is small and create calls send all of it, so
+   * a few Map.get calls are cheaper than a pass over the entries.
+   */
   static void interpretCircleOptions(Object o, CircleOptionsSink sink) {
     final Map<?, ?> data = toMap(o);
-    final Object circleRadius = data.get("circleRadius");
+    final Object circleRadius = option(data, "circleRadius");
     if (circleRadius != null) {
       sink.setCircleRadius(toFloat(circleRadius));
     }
-    final Object circleColor = data.get("circleColor");
+    final Object circleColor = option(data, "circleColor");
     if (circleColor != null) {
-      sink.setCircleColor(toString(circleColor));
+      setColor(sink, circleColor, CircleOptionsSink::setCircleColor, CircleOptionsSink::setCircleColor);
     }
-    final Object circleBlur = data.get("circleBlur");
+    final Object circleBlur = option(data, "circleBlur");
     if (circleBlur != null) {
       sink.setCircleBlur(toFloat(circleBlur));
     }
-    final Object circleOpacity = data.get("circleOpacity");
+    final Object circleOpacity = option(data, "circleOpacity");
     if (circleOpacity != null) {
       sink.setCircleOpacity(toFloat(circleOpacity));
     }
-    final Object circleStrokeWidth = data.get("circleStrokeWidth");
+    final Object circleStrokeWidth = option(data, "circleStrokeWidth");
     if (circleStrokeWidth != null) {
       sink.setCircleStrokeWidth(toFloat(circleStrokeWidth));
     }
-    final Object circleStrokeColor = data.get("circleStrokeColor");
+    final Object circleStrokeColor = option(data, "circleStrokeColor");
     if (circleStrokeColor != null) {
-      sink.setCircleStrokeColor(toString(circleStrokeColor));
+      setColor(sink, circleStrokeColor, CircleOptionsSink::setCircleStrokeColor, CircleOptionsSink::setCircleStrokeColor);
     }
-    final Object circleStrokeOpacity = data.get("circleStrokeOpacity");
+    final Object circleStrokeOpacity = option(data, "circleStrokeOpacity");
     if (circleStrokeOpacity != null) {
       sink.setCircleStrokeOpacity(toFloat(circleStrokeOpacity));
     }
-    final Object geometry = data.get("geometry");
+    final Object geometry = option(data, "geometry");
     if (geometry != null) {
       sink.setGeometry(toLatLng(geometry));
     }
-    final Object draggable = data.get("draggable");
+    final Object draggable = option(data, "draggable");
     if (draggable != null) {
       sink.setDraggable(toBoolean(draggable));
     }
@@ -406,88 +465,159 @@ class Convert {
 
   static void interpretLineOptions(Object o, LineOptionsSink sink) {
     final Map<?, ?> data = toMap(o);
-    final Object lineJoin = data.get("lineJoin");
-    if (lineJoin != null) {
-      Logger.e(TAG, "setLineJoin" +  lineJoin);
-      sink.setLineJoin(toString(lineJoin));
-    }
-    final Object lineOpacity = data.get("lineOpacity");
-    if (lineOpacity != null) {
-      Logger.e(TAG, "setLineOpacity" + lineOpacity);
-      sink.setLineOpacity(toFloat(lineOpacity));
-    }
-    final Object lineColor = data.get("lineColor");
-    if (lineColor != null) {
-      Logger.e(TAG, "setLineColor" +  lineColor);
-      sink.setLineColor(toString(lineColor));
-    }
-    final Object lineWidth = data.get("lineWidth");
-    if (lineWidth != null) {
-      Logger.e(TAG, "setLineWidth" + lineWidth);
-      sink.setLineWidth(toFloat(lineWidth));
-    }
-    final Object lineGapWidth = data.get("lineGapWidth");
-    if (lineGapWidth != null) {
-      Logger.e(TAG, "setLineGapWidth" + lineGapWidth);
-      sink.setLineGapWidth(toFloat(lineGapWidth));
-    }
-    final Object lineOffset = data.get("lineOffset");
-    if (lineOffset != null) {
-      Logger.e(TAG, "setLineOffset" + lineOffset);
-      sink.setLineOffset(toFloat(lineOffset));
-    }
-    final Object lineBlur = data.get("lineBlur");
-    if (lineBlur != null) {
-      Logger.e(TAG, "setLineBlur" + lineBlur);
-      sink.setLineBlur(toFloat(lineBlur));
-    }
-    final Object linePattern = data.get("linePattern");
-    if (linePattern != null) {
-      Logger.e(TAG, "setLinePattern" +  linePattern);
-      sink.setLinePattern(toString(linePattern));
-    }
-    final Object geometry = data.get("geometry");
-    if (geometry != null) {
-      Logger.e(TAG, "SetGeometry");
-      sink.setGeometry(toLatLngList(geometry));
-    }
-    final Object draggable = data.get("draggable");
-    if (draggable != null) {
-      Logger.e(TAG, "SetDraggable");
-      sink.setDraggable(toBoolean(draggable));
+    for (Map.Entry<?, ?> entry : data.entrySet()) {
+      final Object value = entry.getValue();
+      if (value == null) {
+        continue;
+      }
+      if (LOG_OPTIONS) {
+        Logger.d(TAG, "interpretLineOptions " + entry.getKey() + "=" + value);
+      }
+      switch ((String) entry.getKey()) {
+        case "lineJoin":
+          sink.setLineJoin(toString(value));
+          break;
+        case "lineOpacity":
+          sink.setLineOpacity(toFloat(value));
+          break;
+        case "lineColor":
+          setColor(sink, value, LineOptionsSink::setLineColor, LineOptionsSink::setLineColor);
+          break;
+        case "lineWidth":
+          sink.setLineWidth(toFloat(value));
+          break;
+        case "lineGapWidth":
+          sink.setLineGapWidth(toFloat(value));
+          break;
+        case "lineOffset":
+          sink.setLineOffset(toFloat(value));
+          break;
+        case "lineBlur":
+          sink.setLineBlur(toFloat(value));
+          break;
+        case "linePattern":
+          sink.setLinePattern(toString(value));
+          break;
+        case "geometry":
+          if (value instanceof double[]) {
+            sink.setGeometry(toLineString((double[]) value));
+          } else {
+            sink.setGeometry(toLatLngList(value));
+          }
+          break;
+        case "draggable":
+          sink.setDraggable(toBoolean(value));
+          break;
+        case "simplify":
+          sink.setSimplify(toBoolean(value));
+          break;
+        default:
+          break;
+      }
     }
   }
 
+  /**
+   * Decodes fill options key by key, like interpretCircleOptions.
+   */
   static void interpretFillOptions(Object o, FillOptionsSink sink) {
     final Map<?, ?> data = toMap(o);
-    final Object fillOpacity = data.get("fill-opacity");
+    final Object fillOpacity = option(data, "fill-opacity");
     if (fillOpacity != null) {
-      Log.d("TEST", toFloat(fillOpacity) + " HUHHHH");
       sink.setFillOpacity(toFloat(fillOpacity));
     }
-    final Object fillColor = data.get("fill-color");
+    final Object fillColor = option(data, "fill-color");
     if (fillColor != null) {
-      Log.d("TEST", toString(fillColor) + " HUHHHH");
-      sink.setFillColor(toString(fillColor));
+      setColor(sink, fillColor, FillOptionsSink::setFillColor, FillOptionsSink::setFillColor);
     }
-    final Object fillOutlineColor = data.get("fill-outline-color");
+    final Object fillOutlineColor = option(data, "fill-outline-color");
     if (fillOutlineColor != null) {
-      sink.setFillOutlineColor(toString(fillOutlineColor));
+      setColor(sink, fillOutlineColor, FillOptionsSink::setFillOutlineColor, FillOptionsSink::setFillOutlineColor);
     }
-    final Object fillPattern = data.get("fill-pattern");
+    final Object fillPattern = option(data, "fill-pattern");
     if (fillPattern != null) {
       sink.setFillPattern(toString(fillPattern));
     }
-    final Object geometry = data.get("geometry");
-    if (geometry != null) {
+    final Object geometry = option(data, "geometry");
+    if (geometry instanceof double[]) {
+      sink.setGeometry(toPolygon((double[]) geometry, (int[]) data.get("geometryRings")));
+    } else if (geometry != null) {
       sink.setGeometry(toLatLngListList(geometry));
     }
-    final Object draggable = data.get("draggable");
+    final Object draggable = option(data, "draggable");
     if (draggable != null) {
       sink.setDraggable(toBoolean(draggable));
     }
   }
 
+  /**
+   * Returns the value of an option of the schemas that are decoded key by key.
+   */
+  private static Object option(Map<?, ?> data, String key) {
+    final Object value = data.get(key);
+    if (LOG_OPTIONS && value != null) {
+      Logger.d(TAG, "option " + key + "=" + value);
+    }
+    return value;
+  }
+
+  /**
+   * Builds a line from interleaved latitude/longitude pairs.
+   */
+  static LineString toLineString(double[] coordinates) {
+    return LineString.fromLngLats(toPoints(coordinates, 0, coordinates.length));
+  }
+
+  /**
+   * Builds a polygon from interleaved latitude/longitude pairs.
+   *
+   * Each entry of ringOffsets is the index in coordinates at which a ring starts, the first
+   * ring always starts at 0. Without offsets all coordinates form the outer ring.
+   */
+  static Polygon toPolygon(double[] coordinates, int[] ringOffsets) {
+    if (ringOffsets == null || ringOffsets.length == 0) {
+      return Polygon.fromLngLats(Collections.singletonList(toPoints(coordinates, 0, coordinates.length)));
+    }
+    final List<List<com.mapbox.geojson.Point>> rings = new ArrayList<>(ringOffsets.length);
+    for (int i = 0; i < ringOffsets.length; i++) {
+      final int end = i + 1 < ringOffsets.length ? ringOffsets[i + 1] : coordinates.length;
+      rings.add(toPoints(coordinates, ringOffsets[i], end));
+    }
+    return Polygon.fromLngLats(rings);
+  }
+
+  private static List<com.mapbox.geojson.Point> toPoints(double[] coordinates, int start, int end) {
+    if (start < 0 || end > coordinates.length || start > end || (end - start) % 2 != 0) {
+      throw new IllegalArgumentException("Cannot interpret coordinates [" + start + ", " + end + ") as lat/lng pairs");
+    }
+    final List<com.mapbox.geojson.Point> points = new ArrayList<>((end - start) / 2);
+    for (int i = start; i < end; i += 2) {
+      points.add(com.mapbox.geojson.Point.fromLngLat(coordinates[i + 1], coordinates[i]));
+    }
+    return points;
+  }
+
+  /**
+   * Builds a collection of point features from interleaved latitude/longitude pairs.
+   *
+   * The optional properties hold one map per point, null entries leave a feature without
+   * properties.
+   */
+  static FeatureCollection toFeatureCollection(double[] coordinates, List<?> properties) {
+    final List<com.mapbox.geojson.Point> points = toPoints(coordinates, 0, coordinates.length);
+    if (properties != null && properties.size() != points.size()) {
+      throw new IllegalArgumentException("Expected " + points.size() + " property maps, got " + properties.size());
+    }
+    final List<Feature> features = new ArrayList<>(points.size());
+    for (int i = 0; i < points.size(); i++) {
+      final Object featureProperties = properties == null ? null : properties.get(i);
+      features.add(featureProperties == null
+        ? Feature.fromGeometry(points.get(i))
+        : Feature.fromGeometry(points.get(i), gson.toJsonTree(featureProperties).getAsJsonObject()));
+    }
+    return FeatureCollection.fromFeatures(features);
+  }
+
   private static List<List<LatLng>> toLatLngListList(Object o) {
     if (o == null) {
       return null;
@@ -502,6 +632,19 @@ class Convert {
     return lats2;
   }
 
+  /**
+   * Copies the feature, keeping only the given properties.
+   */
+  static Feature withProperties(Feature feature, List<String> properties) {
+    final JsonObject projected = new JsonObject();
+    for (String property : properties) {
+      if (feature.hasProperty(property)) {
+        projected.add(property, feature.getProperty(property));
+      }
+    }
+    return Feature.fromGeometry(feature.geometry(), projected, feature.id());
+  }
+
   static Polygon interpretListLatLng(List<List<LatLng>> geometry) {
     List<List<com.mapbox.geojson.Point>> points = new ArrayList<>(geometry.size());
     for (List<LatLng> innerGeometry : geometry) {
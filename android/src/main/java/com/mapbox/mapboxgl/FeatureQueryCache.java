@@ -0,0 +1,50 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.mapboxsdk.style.expressions.Expression;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches parsed filter expressions and rendered feature query results.
+ *
+ * Query results only stay valid while the camera, the style and its sources do not change, the
+ * owner has to call {@link #invalidateResults()} when the camera becomes idle, a style is loaded
+ * or a source is added, changed or removed.
+ */
+class FeatureQueryCache {
+  private static final int MAX_FILTERS = 32;
+  private static final int MAX_RESULTS = 8;
+
+  private final Map<String, Expression> filters = new LruMap<>(MAX_FILTERS);
+  private final Map<String, List<Feature>> results = new LruMap<>(MAX_RESULTS);
+
+  Expression filter(String filter) {
+    if (filter == null) {
+      return null;
+    }
+    Expression expression = filters.get(filter);
+    if (expression == null) {
+      expression = new Expression(filter);
+      filters.put(filter, expression);
+    }
+    return expression;
+  }
+
+  List<Feature> results(String key) {
+    return results.get(key);
+  }
+
+  void putResults(String key, List<Feature> features) {
+    results.put(key, features);
+  }
+
+  void invalidateResults() {
+    results.clear();
+  }
+}
@@ -6,6 +6,7 @@
 
 package com.mapbox.mapboxgl;
 
+import com.mapbox.geojson.Polygon;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.plugins.annotation.Fill;
 import com.mapbox.mapboxsdk.plugins.annotation.FillManager;
@@ -22,6 +23,10 @@ class FillBuilder implements FillOptionsSink {
     this.fillOptions = new FillOptions();
   }
 
+  FillOptions getFillOptions() {
+    return this.fillOptions;
+  }
+
   Fill build() {
     return fillManager.create(fillOptions);
   }
@@ -31,11 +36,21 @@ class FillBuilder implements FillOptionsSink {
     fillOptions.withFillOpacity(fillOpacity);
   }
 
+  @Override
+  public void setFillColor(int fillColor) {
+    fillOptions.withFillColor(ColorCache.toRgbaString(fillColor));
+  }
+
   @Override
   public void setFillColor(String fillColor) {
     fillOptions.withFillColor(fillColor);
   }
 
+  @Override
+  public void setFillOutlineColor(int fillOutlineColor) {
+    fillOptions.withFillOutlineColor(ColorCache.toRgbaString(fillOutlineColor));
+  }
+
   @Override
   public void setFillOutlineColor(String fillOutlineColor) {
     fillOptions.withFillOutlineColor(fillOutlineColor);
@@ -51,6 +66,11 @@ class FillBuilder implements FillOptionsSink {
     fillOptions.withGeometry(Convert.interpretListLatLng(geometry));
   }
 
+  @Override
+  public void setGeometry(Polygon geometry) {
+    fillOptions.withGeometry(geometry);
+  }
+
   @Override
   public void setDraggable(boolean draggable) {
     fillOptions.setDraggable(draggable);
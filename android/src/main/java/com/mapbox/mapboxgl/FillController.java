@@ -6,9 +6,9 @@
 
 package com.mapbox.mapboxgl;
 
-import android.graphics.Color;
 import android.util.Log;
 
+import com.mapbox.geojson.Polygon;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.plugins.annotation.Fill;
 import com.mapbox.mapboxsdk.plugins.annotation.FillManager;
@@ -19,8 +19,9 @@ import java.util.List;
  * Controller of a single Fill on the map.
  */
 class FillController implements FillOptionsSink {
-  private final Fill fill;
+  private Fill fill;
   private final OnFillTappedListener onTappedListener;
+  private final AnnotationOptionsModel options = new AnnotationOptionsModel();
   private boolean consumeTapEvents;
 
   FillController(Fill fill, boolean consumeTapEvents, OnFillTappedListener onTappedListener) {
@@ -29,6 +30,24 @@ class FillController implements FillOptionsSink {
     this.onTappedListener = onTappedListener;
   }
 
+  Fill getFill() {
+    return this.fill;
+  }
+
+  /**
+   * Rebinds the controller to the fill recreated from its options by a new manager.
+   */
+  void setFill(Fill fill) {
+    this.fill = fill;
+  }
+
+  /**
+   * The options applied to the fill from Dart, used to recreate it.
+   */
+  AnnotationOptionsModel getOptions() {
+    return options;
+  }
+
   boolean onTap() {
     if (onTappedListener != null) {
       onTappedListener.onFillTapped(fill);
@@ -45,14 +64,24 @@ class FillController implements FillOptionsSink {
     fill.setFillOpacity(fillOpacity);
   }
 
+  @Override
+  public void setFillColor(int fillColor) {
+    fill.setFillColor(fillColor);
+  }
+
   @Override
   public void setFillColor(String fillColor) {
-    fill.setFillColor(Color.parseColor(fillColor));
+    fill.setFillColor(fillColor);
+  }
+
+  @Override
+  public void setFillOutlineColor(int fillOutlineColor) {
+    fill.setFillOutlineColor(fillOutlineColor);
   }
 
   @Override
   public void setFillOutlineColor(String fillOutlineColor) {
-    fill.setFillOutlineColor(Color.parseColor(fillOutlineColor));
+    fill.setFillOutlineColor(fillOutlineColor);
   }
 
   @Override
@@ -65,6 +94,11 @@ class FillController implements FillOptionsSink {
     fill.setGeometry(Convert.interpretListLatLng(geometry));
   }
 
+  @Override
+  public void setGeometry(Polygon geometry) {
+    fill.setGeometry(geometry);
+  }
+
   @Override
   public void setDraggable(boolean draggable) {
     fill.setDraggable(draggable);
@@ -6,6 +6,7 @@
 
 package com.mapbox.mapboxgl;
 
+import com.mapbox.geojson.Polygon;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 
 import java.util.List;
@@ -15,13 +16,19 @@ interface FillOptionsSink {
           
   void setFillOpacity(float fillOpacity);
           
+  void setFillColor(int fillColor);
+
   void setFillColor(String fillColor);
           
+  void setFillOutlineColor(int fillOutlineColor);
+
   void setFillOutlineColor(String fillOutlineColor);
                   
   void setFillPattern(String fillPattern);
       
   void setGeometry(List<List<LatLng>> geometry);
 
+  void setGeometry(Polygon geometry);
+
   void setDraggable(boolean draggable);
 }
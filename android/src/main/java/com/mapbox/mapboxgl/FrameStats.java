@@ -0,0 +1,121 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Intervals between the frames rendered by a map view, with dropped frame and style load counts.
+ *
+ * The most recent intervals are kept in a ring buffer that percentiles are taken from. An interval
+ * longer than one and a half frame budgets counts as janky and every whole budget missed as a
+ * dropped frame. The map stops rendering once it becomes idle, so the gap until the next frame
+ * is not an interval. Only used from the platform thread.
+ */
+final class FrameStats {
+  private final long[] intervals;
+  private final long frameBudgetNanos;
+  private int intervalCount = 0;
+  private int next = 0;
+  private long lastFrameNanos = -1;
+  private long frameCount = 0;
+  private long partialFrameCount = 0;
+  private long jankyFrameCount = 0;
+  private long droppedFrameCount = 0;
+  private long styleLoadCount = 0;
+  private long styleLoadStartNanos = -1;
+  private long lastStyleLoadNanos = -1;
+
+  FrameStats(int capacity, long frameBudgetNanos) {
+    this.intervals = new long[capacity];
+    this.frameBudgetNanos = frameBudgetNanos;
+  }
+
+  /**
+   * Records a frame, fully is false if tiles or resources of it were still loading.
+   */
+  void onFrame(long nanos, boolean fully) {
+    frameCount++;
+    if (!fully) {
+      partialFrameCount++;
+    }
+    if (lastFrameNanos >= 0) {
+      final long interval = nanos - lastFrameNanos;
+      intervals[next] = interval;
+      next = (next + 1) % intervals.length;
+      intervalCount = Math.min(intervalCount + 1, intervals.length);
+      if (interval * 2 > frameBudgetNanos * 3) {
+        jankyFrameCount++;
+        droppedFrameCount += interval / frameBudgetNanos - 1;
+      }
+    }
+    lastFrameNanos = nanos;
+  }
+
+  /**
+   * Called once the map has nothing left to render, the next frame starts a new interval.
+   */
+  void onIdle() {
+    lastFrameNanos = -1;
+  }
+
+  void onStyleLoadStarted(long nanos) {
+    styleLoadStartNanos = nanos;
+  }
+
+  void onStyleLoaded(long nanos) {
+    styleLoadCount++;
+    if (styleLoadStartNanos >= 0) {
+      lastStyleLoadNanos = nanos - styleLoadStartNanos;
+      styleLoadStartNanos = -1;
+    }
+    // loading a style stalls rendering, that is not a janky frame
+    lastFrameNanos = -1;
+  }
+
+  Map<String, Object> snapshot() {
+    final long[] sorted = Arrays.copyOf(intervals, intervalCount);
+    Arrays.sort(sorted);
+    final Map<String, Object> snapshot = new HashMap<>(12);
+    snapshot.put("frameCount", frameCount);
+    snapshot.put("partialFrameCount", partialFrameCount);
+    snapshot.put("jankyFrameCount", jankyFrameCount);
+    snapshot.put("droppedFrameCount", droppedFrameCount);
+    snapshot.put("frameBudgetMicros", frameBudgetNanos / 1000);
+    snapshot.put("intervalCount", intervalCount);
+    snapshot.put("p50Micros", percentile(sorted, 50) / 1000);
+    snapshot.put("p90Micros", percentile(sorted, 90) / 1000);
+    snapshot.put("p99Micros", percentile(sorted, 99) / 1000);
+    snapshot.put("maxMicros", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000);
+    snapshot.put("styleLoadCount", styleLoadCount);
+    snapshot.put("lastStyleLoadMicros", lastStyleLoadNanos < 0 ? null : lastStyleLoadNanos / 1000);
+    return snapshot;
+  }
+
+  /**
+   * Clears the counters and intervals, a style load in progress is still timed.
+   */
+  void reset() {
+    intervalCount = 0;
+    next = 0;
+    lastFrameNanos = -1;
+    frameCount = 0;
+    partialFrameCount = 0;
+    jankyFrameCount = 0;
+    droppedFrameCount = 0;
+    styleLoadCount = 0;
+    lastStyleLoadNanos = -1;
+  }
+
+  private static long percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    final int rank = (int) Math.ceil(sorted.length * percentile / 100);
+    return sorted[Math.max(0, rank - 1)];
+  }
+}
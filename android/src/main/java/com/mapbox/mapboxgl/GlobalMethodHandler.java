@@ -1,15 +1,30 @@
 package com.mapbox.mapboxgl;
 
 import android.content.Context;
+import android.content.pm.PackageManager;
+import android.content.res.AssetFileDescriptor;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
@@ -18,20 +33,66 @@ import io.flutter.plugin.common.PluginRegistry;
 class GlobalMethodHandler implements MethodChannel.MethodCallHandler {
     private static final String TAG = GlobalMethodHandler.class.getSimpleName();
     private static final String DATABASE_NAME = "mbgl-offline.db";
-    private static final int BUFFER_SIZE = 1024 * 2;
+    private static final String TEMP_SUFFIX = ".download";
+    private static final String FINGERPRINT_SUFFIX = ".fingerprint";
+    private static final String HASH_SUFFIX = ".hash";
+    private static final String HASH_PREFIX = "sha1:";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int BUFFER_SIZE = 1024 * 256;
+    private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024 * 8;
+    private static final long PROGRESS_INTERVAL = 1024 * 1024 * 4;
     private final PluginRegistry.Registrar registrar;
+    private final MethodChannel methodChannel;
+    private final MapViewPool mapViewPool;
+    private final MethodCallMetrics metrics;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService installExecutor = Executors.newSingleThreadExecutor();
 
-    GlobalMethodHandler(PluginRegistry.Registrar registrar) {
+    GlobalMethodHandler(PluginRegistry.Registrar registrar, MethodChannel methodChannel,
+                        MapViewPool mapViewPool, MethodCallMetrics metrics) {
         this.registrar = registrar;
+        this.methodChannel = methodChannel;
+        this.mapViewPool = mapViewPool;
+        this.metrics = metrics;
     }
 
     @Override
     public void onMethodCall(MethodCall methodCall, MethodChannel.Result result) {
+        if (!metrics.isEnabled()) {
+            handleMethodCall(methodCall, result);
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            handleMethodCall(methodCall, result);
+        } finally {
+            metrics.record(methodCall.method, System.nanoTime() - start,
+                    MethodCallMetrics.estimateSize(methodCall.arguments));
+        }
+    }
+
+    private void handleMethodCall(MethodCall methodCall, MethodChannel.Result result) {
         switch (methodCall.method) {
             case "installOfflineMapTiles":
                 String tilesDb = methodCall.argument("tilesdb");
                 String assetKey = registrar.lookupKeyForAsset(tilesDb);
-                installOfflineMapTiles(assetKey);
+                String version = methodCall.argument("version");
+                installOfflineMapTiles(tilesDb, assetKey, version, result);
+                break;
+            case "mapViewPool#setSize":
+                Integer size = methodCall.argument("size");
+                mapViewPool.setSize(size == null ? 0 : size);
+                result.success(null);
+                break;
+            case "metrics#setEnabled":
+                metrics.setEnabled(Boolean.TRUE.equals(methodCall.argument("enabled")));
+                result.success(null);
+                break;
+            case "metrics#snapshot":
+                result.success(metrics.snapshot());
+                break;
+            case "metrics#reset":
+                metrics.reset();
                 result.success(null);
                 break;
             default:
@@ -40,27 +101,214 @@ class GlobalMethodHandler implements MethodChannel.MethodCallHandler {
         }
     }
 
-    private void installOfflineMapTiles(String assetKey) {
-        final Context context = registrar.activeContext();
+    /**
+     * Installs the asset unless the same content is already installed. Replies true if the
+     * database was copied and false if the installed one was current.
+     */
+    private void installOfflineMapTiles(String tilesDb, String assetKey, String version,
+                                        MethodChannel.Result result) {
+        final Context context = registrar.activeContext().getApplicationContext();
+        installExecutor.execute(() -> {
+            try {
+                File dest = new File(context.getFilesDir(), DATABASE_NAME);
+                File temp = new File(context.getFilesDir(), DATABASE_NAME + TEMP_SUFFIX);
+                File destFingerprint = new File(context.getFilesDir(), DATABASE_NAME + FINGERPRINT_SUFFIX);
+                File tempFingerprint = new File(context.getFilesDir(), DATABASE_NAME + TEMP_SUFFIX + FINGERPRINT_SUFFIX);
+                File hashFile = new File(context.getFilesDir(), DATABASE_NAME + HASH_SUFFIX);
+                String assetVersion = version != null ? "version:" + version : assetVersion(context, assetKey);
+                String fingerprint = version != null ? assetVersion : cachedHash(hashFile, assetVersion);
+                if (fingerprint == null && dest.exists()
+                        && String.valueOf(readFingerprint(destFingerprint)).startsWith(HASH_PREFIX)) {
+                    // only confirming the installed content, reading the asset is cheaper than copying it
+                    try (InputStream in = context.getAssets().open(assetKey)) {
+                        fingerprint = HASH_PREFIX + Hashes.sha1Hex(in);
+                    }
+                    writeFingerprint(hashFile, assetVersion + "\n" + fingerprint);
+                }
+                if (fingerprint != null && dest.exists() && fingerprint.equals(readFingerprint(destFingerprint))) {
+                    mainHandler.post(() -> result.success(false));
+                    return;
+                }
+                // the hash may only be known after the copy, partial copies are identified by the asset version
+                if (!assetVersion.equals(readFingerprint(tempFingerprint))) {
+                    // a partial copy of other content can't be resumed
+                    temp.delete();
+                    writeFingerprint(tempFingerprint, assetVersion);
+                }
+                ProgressReporter progress = new ProgressReporter(tilesDb);
+                MessageDigest digest = fingerprint == null ? Hashes.sha1() : null;
+                copyAsset(context, assetKey, temp, progress, digest);
+                if (digest != null) {
+                    fingerprint = HASH_PREFIX + Hashes.toHex(digest.digest());
+                    writeFingerprint(hashFile, assetVersion + "\n" + fingerprint);
+                }
+                destFingerprint.delete();
+                if (!temp.renameTo(dest)) {
+                    throw new IOException("Failed to move " + temp + " to " + dest);
+                }
+                writeFingerprint(destFingerprint, fingerprint);
+                tempFingerprint.delete();
+                mainHandler.post(() -> result.success(true));
+            } catch (IOException e) {
+                Log.e(TAG, e.getMessage(), e);
+                mainHandler.post(() -> result.error("IO_ERROR", e.getMessage(), null));
+            } catch (RuntimeException e) {
+                // the Dart future would never complete otherwise
+                Log.e(TAG, e.getMessage(), e);
+                mainHandler.post(() -> result.error("INSTALL_ERROR", e.toString(), null));
+            }
+        });
+    }
+
+    /**
+     * Identifies the asset in this build of the app without reading it. Bundled assets can only
+     * change when the app is updated, so the asset size and the time the app was last updated
+     * are used.
+     */
+    private static String assetVersion(Context context, String assetKey) {
+        long length = -1;
+        try {
+            AssetFileDescriptor descriptor = context.getAssets().openFd(assetKey);
+            length = descriptor.getLength();
+            descriptor.close();
+        } catch (IOException e) {
+            // compressed asset, its size is not known upfront
+        }
+        long lastUpdateTime = 0;
         try {
-            File dest = new File(context.getFilesDir(), DATABASE_NAME);
-            copy(context.getAssets().open(assetKey),
-                    new FileOutputStream(dest));
+            lastUpdateTime = context.getPackageManager()
+                    .getPackageInfo(context.getPackageName(), 0).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            Log.e(TAG, e.getMessage(), e);
+        }
+        return "asset:" + assetKey + ":" + length + ":" + lastUpdateTime;
+    }
+
+    /**
+     * Returns the fingerprint of the asset content if it was hashed before in this build of the
+     * app. Without a version from the app, the content is fingerprinted by its hash so an app
+     * update that does not change the asset does not copy it again. The hash is computed while
+     * copying, or by reading the asset once to confirm the installed database is current.
+     */
+    private static String cachedHash(File hashFile, String assetVersion) {
+        String cached = readFingerprint(hashFile);
+        if (cached != null && cached.startsWith(assetVersion + "\n")) {
+            return cached.substring(assetVersion.length() + 1);
+        }
+        return null;
+    }
+
+    private static String readFingerprint(File file) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (FileInputStream input = new FileInputStream(file)) {
+            final byte[] bytes = new byte[(int) file.length()];
+            int read = 0;
+            while (read < bytes.length) {
+                int n = input.read(bytes, read, bytes.length - read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            return new String(bytes, 0, read, UTF_8);
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.e(TAG, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static void writeFingerprint(File file, String fingerprint) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), UTF_8)) {
+            writer.write(fingerprint);
+        }
+    }
+
+    /**
+     * Copies the asset into the temp file. Uncompressed assets are transferred between file
+     * channels, resuming a previously interrupted copy. Compressed assets fall back to a stream
+     * copy from the start. The whole asset is added to the digest if there is one.
+     */
+    private static void copyAsset(Context context, String assetKey, File temp, ProgressReporter progress,
+                                  MessageDigest digest) throws IOException {
+        AssetFileDescriptor descriptor;
+        try {
+            descriptor = context.getAssets().openFd(assetKey);
+        } catch (FileNotFoundException e) {
+            // compressed assets can't be opened as a file descriptor
+            descriptor = null;
+        }
+        if (descriptor == null) {
+            InputStream in = context.getAssets().open(assetKey);
+            copy(digest == null ? in : new DigestInputStream(in, digest), new FileOutputStream(temp), progress);
+            return;
+        }
+        try (FileInputStream input = descriptor.createInputStream();
+             FileOutputStream output = new FileOutputStream(temp, true)) {
+            transfer(input.getChannel(), descriptor.getStartOffset(), descriptor.getLength(),
+                    output.getChannel(), progress, digest);
+        } finally {
+            descriptor.close();
+        }
+    }
+
+    private static void transfer(FileChannel in, long start, long length, FileChannel out,
+                                 ProgressReporter progress, MessageDigest digest) throws IOException {
+        long position = out.size();
+        if (position > length) {
+            out.truncate(0);
+            position = 0;
+        }
+        progress.start(length);
+        ByteBuffer buffer = digest == null ? null : ByteBuffer.allocate(BUFFER_SIZE);
+        if (digest != null) {
+            // the part copied before an interruption
+            update(digest, in, start, start + position, buffer);
+        }
+        while (position < length) {
+            long transferred = in.transferTo(start + position,
+                    Math.min(TRANSFER_CHUNK_SIZE, length - position), out);
+            if (transferred <= 0) {
+                throw new IOException("Unexpected end of asset after " + position + " bytes");
+            }
+            if (digest != null) {
+                // the chunk was just read by transferTo and is still in the page cache
+                update(digest, in, start + position, start + position + transferred, buffer);
+            }
+            position += transferred;
+            progress.update(position);
+        }
+        out.force(false);
+        progress.finish(position);
+    }
+
+    private static void update(MessageDigest digest, FileChannel in, long from, long to, ByteBuffer buffer)
+            throws IOException {
+        long position = from;
+        while (position < to) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), to - position));
+            int read = in.read(buffer, position);
+            if (read <= 0) {
+                throw new IOException("Unexpected end of asset after " + (position - from) + " bytes");
+            }
+            digest.update(buffer.array(), 0, read);
+            position += read;
         }
     }
 
-    private static int copy(InputStream input, OutputStream output) throws IOException {
+    private static long copy(InputStream in, OutputStream out, ProgressReporter progress)
+            throws IOException {
         final byte[] buffer = new byte[BUFFER_SIZE];
-        final BufferedInputStream in = new BufferedInputStream(input, BUFFER_SIZE);
-        final BufferedOutputStream out = new BufferedOutputStream(output, BUFFER_SIZE);
-        int count = 0;
-        int n = 0;
+        long count = 0;
+        int n;
+        progress.start(-1);
         try {
             while ((n = in.read(buffer, 0, BUFFER_SIZE)) != -1) {
                 out.write(buffer, 0, n);
                 count += n;
+                progress.update(count);
             }
             out.flush();
         } finally {
@@ -75,6 +323,46 @@ class GlobalMethodHandler implements MethodChannel.MethodCallHandler {
                 Log.e(TAG, e.getMessage(), e);
             }
         }
+        progress.finish(count);
         return count;
     }
-}
\ No newline at end of file
+
+    /**
+     * Relays copy progress to Flutter as offline#installProgress calls, at most once per
+     * PROGRESS_INTERVAL bytes.
+     */
+    private final class ProgressReporter {
+        private final String tilesDb;
+        private long total;
+        private long lastReported;
+
+        ProgressReporter(String tilesDb) {
+            this.tilesDb = tilesDb;
+        }
+
+        void start(long total) {
+            this.total = total;
+            this.lastReported = 0;
+            send(0);
+        }
+
+        void update(long copied) {
+            if (copied - lastReported >= PROGRESS_INTERVAL) {
+                lastReported = copied;
+                send(copied);
+            }
+        }
+
+        void finish(long copied) {
+            send(copied);
+        }
+
+        private void send(long copied) {
+            final Map<String, Object> arguments = new HashMap<>(3);
+            arguments.put("tilesdb", tilesDb);
+            arguments.put("copied", copied);
+            arguments.put("total", total);
+            mainHandler.post(() -> methodChannel.invokeMethod("offline#installProgress", arguments));
+        }
+    }
+}
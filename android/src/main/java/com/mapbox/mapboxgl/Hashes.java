@@ -0,0 +1,57 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-1 digests as lowercase hex strings, used to name and compare cached content. Has no
+ * Android dependencies.
+ */
+final class Hashes {
+  private static final int BUFFER_SIZE = 8192;
+
+  private Hashes() {
+  }
+
+  /**
+   * Returns a new SHA-1 digest, every Java platform is required to provide one.
+   */
+  static MessageDigest sha1() {
+    try {
+      return MessageDigest.getInstance("SHA-1");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static String sha1Hex(byte[] bytes) {
+    return toHex(sha1().digest(bytes));
+  }
+
+  /**
+   * Returns the hash of the rest of the stream, which is left open.
+   */
+  static String sha1Hex(InputStream in) throws IOException {
+    final MessageDigest digest = sha1();
+    final byte[] buffer = new byte[BUFFER_SIZE];
+    int count;
+    while ((count = in.read(buffer)) != -1) {
+      digest.update(buffer, 0, count);
+    }
+    return toHex(digest.digest());
+  }
+
+  static String toHex(byte[] hash) {
+    final StringBuilder builder = new StringBuilder(hash.length * 2);
+    for (byte b : hash) {
+      builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return builder.toString();
+  }
+}
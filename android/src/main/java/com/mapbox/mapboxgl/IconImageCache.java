@@ -0,0 +1,148 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.LruCache;
+
+import com.mapbox.mapboxsdk.maps.Style;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Icon images uploaded from Dart, kept so they can be added again to every new style.
+ *
+ * Bitmaps are deduplicated by a hash of their encoded bytes, so images uploaded under several
+ * names or uploaded again are decoded and held only once. The bitmaps live in an LRU bounded by
+ * their size in bytes, which is shared by the caches of all maps so several maps on one screen
+ * do not each claim the whole budget. A style keeps its own copy of every image added to it, so
+ * an evicted bitmap stays visible in the current style and is only missing from styles loaded
+ * later.
+ *
+ * Decoding may run on any thread, everything else only on the platform thread.
+ */
+final class IconImageCache {
+
+  /**
+   * Decoded images of one upload, by name.
+   */
+  static final class Decoded {
+    private final Map<String, String> hashes = new LinkedHashMap<>();
+    private final Map<String, Bitmap> bitmaps = new HashMap<>();
+  }
+
+  private final LruCache<String, Bitmap> bitmapsByHash;
+  private final Map<String, String> hashesByName = new LinkedHashMap<>();
+  private final Map<String, Boolean> sdfByName = new HashMap<>();
+
+  IconImageCache(LruCache<String, Bitmap> bitmapsByHash) {
+    this.bitmapsByHash = bitmapsByHash;
+  }
+
+  /**
+   * Creates the bitmap LRU shared by the caches of all maps.
+   */
+  static LruCache<String, Bitmap> newBitmapCache(int maxBytes) {
+    return new LruCache<String, Bitmap>(maxBytes) {
+      @Override
+      protected int sizeOf(String hash, Bitmap bitmap) {
+        return bitmap.getByteCount();
+      }
+    };
+  }
+
+  /**
+   * Decodes encoded images by name, reusing cached bitmaps of identical bytes. Throws an
+   * IllegalArgumentException naming the images that could not be decoded.
+   */
+  Decoded decode(Map<String, byte[]> images) {
+    final Decoded decoded = new Decoded();
+    final List<String> failed = new ArrayList<>();
+    for (Map.Entry<String, byte[]> image : images.entrySet()) {
+      final String hash = Hashes.sha1Hex(image.getValue());
+      Bitmap bitmap = decoded.bitmaps.get(hash);
+      if (bitmap == null) {
+        bitmap = bitmapsByHash.get(hash);
+      }
+      if (bitmap == null) {
+        bitmap = BitmapFactory.decodeByteArray(image.getValue(), 0, image.getValue().length);
+      }
+      if (bitmap == null) {
+        failed.add(image.getKey());
+        continue;
+      }
+      decoded.hashes.put(image.getKey(), hash);
+      decoded.bitmaps.put(hash, bitmap);
+    }
+    if (!failed.isEmpty()) {
+      throw new IllegalArgumentException("Cannot decode images " + failed);
+    }
+    return decoded;
+  }
+
+  /**
+   * Caches the decoded images and adds them to the style in one call.
+   */
+  void add(Decoded decoded, boolean sdf, Style style) {
+    final HashMap<String, Bitmap> images = new HashMap<>(decoded.hashes.size());
+    for (Map.Entry<String, String> entry : decoded.hashes.entrySet()) {
+      final Bitmap bitmap = decoded.bitmaps.get(entry.getValue());
+      bitmapsByHash.put(entry.getValue(), bitmap);
+      hashesByName.put(entry.getKey(), entry.getValue());
+      sdfByName.put(entry.getKey(), sdf);
+      images.put(entry.getKey(), bitmap);
+    }
+    style.addImages(images, sdf);
+  }
+
+  /**
+   * Adds every image that is still cached to a newly loaded style.
+   */
+  void addTo(Style style) {
+    final HashMap<String, Bitmap> images = new HashMap<>();
+    final HashMap<String, Bitmap> sdfImages = new HashMap<>();
+    final Iterator<Map.Entry<String, String>> iterator = hashesByName.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<String, String> entry = iterator.next();
+      final Bitmap bitmap = bitmapsByHash.get(entry.getValue());
+      if (bitmap == null) {
+        iterator.remove();
+        sdfByName.remove(entry.getKey());
+      } else if (sdfByName.get(entry.getKey())) {
+        sdfImages.put(entry.getKey(), bitmap);
+      } else {
+        images.put(entry.getKey(), bitmap);
+      }
+    }
+    if (!images.isEmpty()) {
+      style.addImages(images, false);
+    }
+    if (!sdfImages.isEmpty()) {
+      style.addImages(sdfImages, true);
+    }
+  }
+
+  /**
+   * Forgets the image, returns true if it was uploaded through this cache.
+   */
+  boolean remove(String name) {
+    sdfByName.remove(name);
+    return hashesByName.remove(name) != null;
+  }
+
+  /**
+   * Forgets all images, their bitmaps stay in the shared LRU for the other maps.
+   */
+  void clear() {
+    hashesByName.clear();
+    sdfByName.clear();
+  }
+}
@@ -0,0 +1,221 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.util.Arrays;
+
+/**
+ * Static KD-tree over 2D points, answering box and radius queries.
+ *
+ * The points are sorted once into a flat array and split alternately by x and y, nodes smaller
+ * than the node size are scanned linearly. Queries return the indices of the points in the
+ * arrays passed to the constructor. Has no Android dependencies.
+ */
+final class KdIndex {
+  private final int nodeSize;
+  private final int[] ids;
+  private final double[] coords;
+
+  KdIndex(double[] x, double[] y, int nodeSize) {
+    if (x.length != y.length) {
+      throw new IllegalArgumentException("x and y must have the same length");
+    }
+    this.nodeSize = Math.max(1, nodeSize);
+    this.ids = new int[x.length];
+    this.coords = new double[x.length * 2];
+    for (int i = 0; i < x.length; i++) {
+      ids[i] = i;
+      coords[2 * i] = x[i];
+      coords[2 * i + 1] = y[i];
+    }
+    sort(0, ids.length - 1, 0);
+  }
+
+  int size() {
+    return ids.length;
+  }
+
+  /**
+   * Returns the indices of the points inside the box, bounds included.
+   */
+  int[] range(double minX, double minY, double maxX, double maxY) {
+    final IntStack stack = new IntStack();
+    final IntStack result = new IntStack();
+    stack.push(0);
+    stack.push(ids.length - 1);
+    stack.push(0);
+    while (stack.size > 0) {
+      final int axis = stack.pop();
+      final int right = stack.pop();
+      final int left = stack.pop();
+      if (right - left <= nodeSize) {
+        for (int i = left; i <= right; i++) {
+          final double x = coords[2 * i];
+          final double y = coords[2 * i + 1];
+          if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+            result.push(ids[i]);
+          }
+        }
+        continue;
+      }
+      final int m = (left + right) >> 1;
+      final double x = coords[2 * m];
+      final double y = coords[2 * m + 1];
+      if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+        result.push(ids[m]);
+      }
+      if (axis == 0 ? minX <= x : minY <= y) {
+        stack.push(left);
+        stack.push(m - 1);
+        stack.push(1 - axis);
+      }
+      if (axis == 0 ? maxX >= x : maxY >= y) {
+        stack.push(m + 1);
+        stack.push(right);
+        stack.push(1 - axis);
+      }
+    }
+    return result.toArray();
+  }
+
+  /**
+   * Returns the indices of the points within radius r of (qx, qy).
+   */
+  int[] within(double qx, double qy, double r) {
+    final IntStack stack = new IntStack();
+    final IntStack result = new IntStack();
+    final double r2 = r * r;
+    stack.push(0);
+    stack.push(ids.length - 1);
+    stack.push(0);
+    while (stack.size > 0) {
+      final int axis = stack.pop();
+      final int right = stack.pop();
+      final int left = stack.pop();
+      if (right - left <= nodeSize) {
+        for (int i = left; i <= right; i++) {
+          if (squareDistance(coords[2 * i], coords[2 * i + 1], qx, qy) <= r2) {
+            result.push(ids[i]);
+          }
+        }
+        continue;
+      }
+      final int m = (left + right) >> 1;
+      final double x = coords[2 * m];
+      final double y = coords[2 * m + 1];
+      if (squareDistance(x, y, qx, qy) <= r2) {
+        result.push(ids[m]);
+      }
+      if (axis == 0 ? qx - r <= x : qy - r <= y) {
+        stack.push(left);
+        stack.push(m - 1);
+        stack.push(1 - axis);
+      }
+      if (axis == 0 ? qx + r >= x : qy + r >= y) {
+        stack.push(m + 1);
+        stack.push(right);
+        stack.push(1 - axis);
+      }
+    }
+    return result.toArray();
+  }
+
+  private static double squareDistance(double ax, double ay, double bx, double by) {
+    final double dx = ax - bx;
+    final double dy = ay - by;
+    return dx * dx + dy * dy;
+  }
+
+  private void sort(int left, int right, int axis) {
+    if (right - left <= nodeSize) {
+      return;
+    }
+    final int m = (left + right) >> 1;
+    select(m, left, right, axis);
+    sort(left, m - 1, 1 - axis);
+    sort(m + 1, right, 1 - axis);
+  }
+
+  /**
+   * Floyd-Rivest selection, moves the k-th smallest coordinate on the axis to k with smaller
+   * ones before and larger ones after it.
+   */
+  private void select(int k, int left, int right, int axis) {
+    while (right > left) {
+      if (right - left > 600) {
+        final int n = right - left + 1;
+        final int m = k - left + 1;
+        final double z = Math.log(n);
+        final double s = 0.5 * Math.exp(2 * z / 3);
+        final double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * (m - n / 2 < 0 ? -1 : 1);
+        final int newLeft = (int) Math.max(left, Math.floor(k - m * s / n + sd));
+        final int newRight = (int) Math.min(right, Math.floor(k + (n - m) * s / n + sd));
+        select(k, newLeft, newRight, axis);
+      }
+      final double t = coords[2 * k + axis];
+      int i = left;
+      int j = right;
+      swap(left, k);
+      if (coords[2 * right + axis] > t) {
+        swap(left, right);
+      }
+      while (i < j) {
+        swap(i, j);
+        i++;
+        j--;
+        while (coords[2 * i + axis] < t) {
+          i++;
+        }
+        while (coords[2 * j + axis] > t) {
+          j--;
+        }
+      }
+      if (coords[2 * left + axis] == t) {
+        swap(left, j);
+      } else {
+        j++;
+        swap(j, right);
+      }
+      if (j <= k) {
+        left = j + 1;
+      }
+      if (k <= j) {
+        right = j - 1;
+      }
+    }
+  }
+
+  private void swap(int i, int j) {
+    final int id = ids[i];
+    ids[i] = ids[j];
+    ids[j] = id;
+    final double x = coords[2 * i];
+    coords[2 * i] = coords[2 * j];
+    coords[2 * j] = x;
+    final double y = coords[2 * i + 1];
+    coords[2 * i + 1] = coords[2 * j + 1];
+    coords[2 * j + 1] = y;
+  }
+
+  private static final class IntStack {
+    private int[] values = new int[16];
+    private int size;
+
+    void push(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int pop() {
+      return values[--size];
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
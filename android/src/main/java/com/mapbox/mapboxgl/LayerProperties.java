@@ -0,0 +1,140 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.mapbox.mapboxsdk.style.expressions.Expression;
+import com.mapbox.mapboxsdk.style.layers.PropertyFactory;
+import com.mapbox.mapboxsdk.style.layers.PropertyValue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns style specification layer properties, such as "circle-color", into property values.
+ *
+ * Values are JSON encoded literals or expressions. Arrays that do not start with an expression
+ * operator, such as the [x, y] of circle-translate, are literals and are wrapped in a literal
+ * expression, core would reject them as expressions. Whether a property is a layout or a paint
+ * property is only known to the PropertyFactory method of the same name, the methods are looked
+ * up once per property name.
+ */
+final class LayerProperties {
+  // operators of the style specification, the first element of every expression
+  private static final Set<String> OPERATORS = new HashSet<>(Arrays.asList(
+    "let", "var", "literal", "array", "at", "in", "index-of", "slice", "case", "match", "coalesce",
+    "step", "interpolate", "interpolate-hcl", "interpolate-lab", "ln2", "pi", "e", "typeof",
+    "string", "number", "boolean", "object", "collator", "format", "image", "number-format",
+    "to-string", "to-number", "to-boolean", "to-rgba", "to-color", "rgb", "rgba", "get", "has",
+    "length", "properties", "feature-state", "geometry-type", "id", "zoom", "heatmap-density",
+    "line-progress", "accumulated", "+", "*", "-", "/", "%", "^", "sqrt", "log10", "ln", "log2",
+    "sin", "cos", "tan", "asin", "acos", "atan", "min", "max", "round", "abs", "ceil", "floor",
+    "==", "!=", ">", "<", ">=", "<=", "all", "any", "!", "is-supported-script", "upcase",
+    "downcase", "concat", "resolved-locale", "within", "distance"));
+
+  private static final Map<String, Method> factories = new HashMap<>();
+
+  private LayerProperties() {
+  }
+
+  /**
+   * Converts every property, throws an IllegalArgumentException naming the properties that
+   * are unknown or whose values cannot be converted.
+   */
+  static PropertyValue<?>[] toPropertyValues(Map<String, String> properties) {
+    final List<PropertyValue<?>> values = new ArrayList<>(properties.size());
+    final List<String> failed = new ArrayList<>();
+    for (Map.Entry<String, String> entry : properties.entrySet()) {
+      try {
+        values.add(toPropertyValue(entry.getKey(), entry.getValue()));
+      } catch (IllegalArgumentException e) {
+        failed.add(e.getMessage());
+      }
+    }
+    if (!failed.isEmpty()) {
+      throw new IllegalArgumentException("Invalid layer properties: " + failed);
+    }
+    return values.toArray(new PropertyValue<?>[0]);
+  }
+
+  private static PropertyValue<?> toPropertyValue(String name, String json) {
+    final Method factory = factory(name);
+    if (factory == null) {
+      throw new IllegalArgumentException("unknown property " + name);
+    }
+    try {
+      final JsonElement value = new JsonParser().parse(json);
+      if (factory.getParameterTypes()[0] == Expression.class) {
+        return (PropertyValue<?>) factory.invoke(null, toExpression(value));
+      }
+      // only visibility has no expression variant
+      return (PropertyValue<?>) factory.invoke(null, value.getAsString());
+    } catch (IllegalAccessException | InvocationTargetException | RuntimeException e) {
+      throw new IllegalArgumentException(name + " " + json + " (" + e + ")");
+    }
+  }
+
+  private static Expression toExpression(JsonElement value) {
+    if (value.isJsonArray() && !isExpression(value.getAsJsonArray())) {
+      final JsonArray literal = new JsonArray();
+      literal.add("literal");
+      literal.add(value);
+      return Expression.raw(literal.toString());
+    }
+    return Expression.raw(value.toString());
+  }
+
+  private static boolean isExpression(JsonArray array) {
+    if (array.size() == 0) {
+      return false;
+    }
+    final JsonElement first = array.get(0);
+    return first.isJsonPrimitive() && first.getAsJsonPrimitive().isString()
+      && OPERATORS.contains(first.getAsString());
+  }
+
+  private static Method factory(String name) {
+    if (factories.containsKey(name)) {
+      return factories.get(name);
+    }
+    final String methodName = toCamelCase(name);
+    Method factory = null;
+    try {
+      factory = PropertyFactory.class.getMethod(methodName, Expression.class);
+    } catch (NoSuchMethodException e) {
+      try {
+        factory = PropertyFactory.class.getMethod(methodName, String.class);
+      } catch (NoSuchMethodException ignored) {
+        // not a layer property
+      }
+    }
+    factories.put(name, factory);
+    return factory;
+  }
+
+  private static String toCamelCase(String name) {
+    final StringBuilder builder = new StringBuilder(name.length());
+    boolean upperCase = false;
+    for (int i = 0; i < name.length(); i++) {
+      final char c = name.charAt(i);
+      if (c == '-') {
+        upperCase = true;
+      } else {
+        builder.append(upperCase ? Character.toUpperCase(c) : c);
+        upperCase = false;
+      }
+    }
+    return builder.toString();
+  }
+}
@@ -7,6 +7,7 @@
 package com.mapbox.mapboxgl;
 
 import java.util.List;
+import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.plugins.annotation.Line;
@@ -16,12 +17,30 @@ import com.mapbox.mapboxsdk.plugins.annotation.LineOptions;
 class LineBuilder implements LineOptionsSink {
   private final LineManager lineManager;
   private final LineOptions lineOptions;
+  private boolean simplify;
 
   LineBuilder(LineManager lineManager) {
     this.lineManager = lineManager;
     this.lineOptions = new LineOptions();
   }
 
+  LineOptions getLineOptions() {
+    return this.lineOptions;
+  }
+
+  /**
+   * Replaces the geometry with its simplification for the zoom if simplification was requested.
+   * Returns the simplifier holding the full geometry, or null.
+   */
+  LineSimplifier simplify(int zoom) {
+    if (!simplify || lineOptions.getGeometry() == null) {
+      return null;
+    }
+    final LineSimplifier simplifier = new LineSimplifier(lineOptions.getGeometry());
+    lineOptions.withGeometry(simplifier.simplify(zoom));
+    return simplifier;
+  }
+
   Line build() {
     return lineManager.create(lineOptions);
   }
@@ -36,6 +55,11 @@ class LineBuilder implements LineOptionsSink {
     lineOptions.withLineOpacity(lineOpacity);
   }
   
+  @Override
+  public void setLineColor(int lineColor) {
+    lineOptions.withLineColor(ColorCache.toRgbaString(lineColor));
+  }
+
   @Override
   public void setLineColor(String lineColor) {
     lineOptions.withLineColor(lineColor);
@@ -71,8 +95,18 @@ class LineBuilder implements LineOptionsSink {
     lineOptions.withLatLngs(geometry);
   }
 
+  @Override
+  public void setGeometry(LineString geometry) {
+    lineOptions.withGeometry(geometry);
+  }
+
   @Override
   public void setDraggable(boolean draggable) {
     lineOptions.setDraggable(draggable);
   }
+
+  @Override
+  public void setSimplify(boolean simplify) {
+    this.simplify = simplify;
+  }
 }
\ No newline at end of file
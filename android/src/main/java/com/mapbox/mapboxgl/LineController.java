@@ -11,19 +11,27 @@ import java.util.List;
 import android.graphics.PointF;
 import android.util.Log;
 
+import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.plugins.annotation.Line;
 import com.mapbox.mapboxsdk.plugins.annotation.LineManager;
-import com.mapbox.mapboxsdk.utils.ColorUtils;
 
 /**
  * Controller of a single Line on the map.
  */
 class LineController implements LineOptionsSink {
-  private final Line line;
+  private Line line;
   private final OnLineTappedListener onTappedListener;
+  private final AnnotationOptionsModel options = new AnnotationOptionsModel();
   private boolean consumeTapEvents;
+  private boolean simplify;
+  // holds the full geometry while the line shows a simplification of it, unless it has vertices
+  private LineSimplifier simplifier;
+  private int simplifiedZoom = -1;
+  // vertices of a line that is extended incrementally, created on the first append or trim,
+  // simplifies the line in place of the simplifier
+  private LineVertexBuffer vertices;
 
   LineController(Line line, boolean consumeTapEvents, OnLineTappedListener onTappedListener) {
     this.line = line;
@@ -31,6 +39,98 @@ class LineController implements LineOptionsSink {
     this.onTappedListener = onTappedListener;
   }
 
+  Line getLine() {
+    return this.line;
+  }
+
+  /**
+   * Rebinds the controller to the line recreated from its options by a new manager.
+   */
+  void setLine(Line line) {
+    this.line = line;
+  }
+
+  /**
+   * The options applied to the line from Dart, used to recreate it.
+   */
+  AnnotationOptionsModel getOptions() {
+    return options;
+  }
+
+  boolean isSimplified() {
+    return simplify;
+  }
+
+  /**
+   * Takes over the simplifier of a line that was created with a simplification for the zoom.
+   */
+  void setSimplifier(LineSimplifier simplifier, int zoom) {
+    this.simplify = true;
+    this.simplifier = simplifier;
+    this.simplifiedZoom = zoom;
+  }
+
+  /**
+   * Shows the vertices of the line needed at the zoom level. Returns true if the geometry of the
+   * line changed and has to be pushed to the line manager.
+   */
+  boolean simplify(int zoom) {
+    if (!simplify) {
+      return false;
+    }
+    if (vertices == null && simplifier == null) {
+      simplifier = new LineSimplifier(line.getGeometry());
+      simplifiedZoom = -1;
+    }
+    if (zoom == simplifiedZoom) {
+      return false;
+    }
+    simplifiedZoom = zoom;
+    line.setGeometry(vertices != null ? vertices.simplify(zoom) : simplifier.simplify(zoom));
+    return true;
+  }
+
+  /**
+   * Appends interleaved latitude/longitude pairs to the end of the line.
+   */
+  void appendPoints(double[] latLngs) {
+    vertexBuffer().append(latLngs);
+    setBufferedGeometry();
+  }
+
+  /**
+   * Removes up to count vertices from the start of the line.
+   */
+  void trimStart(int count) {
+    vertexBuffer().trimStart(count);
+    setBufferedGeometry();
+  }
+
+  /**
+   * Forgets the buffered vertices after the geometry of the line was changed by dragging it.
+   */
+  void onDragged() {
+    simplifier = null;
+    vertices = null;
+  }
+
+  private LineVertexBuffer vertexBuffer() {
+    if (vertices == null) {
+      vertices = new LineVertexBuffer(simplifier != null ? simplifier.getGeometry() : line.getGeometry());
+      simplifier = null;
+    }
+    return vertices;
+  }
+
+  private void setBufferedGeometry() {
+    if (simplify) {
+      // the next simplify call only simplifies the vertices of the open run again
+      simplifiedZoom = -1;
+    } else {
+      line.setGeometry(vertices.toLineString());
+    }
+  }
+
   boolean onTap() {
     if (onTappedListener != null) {
       onTappedListener.onLineTapped(line);
@@ -52,9 +152,14 @@ class LineController implements LineOptionsSink {
     line.setLineOpacity(lineOpacity);
   }
   
+  @Override
+  public void setLineColor(int lineColor) {
+    line.setLineColor(lineColor);
+  }
+
   @Override
   public void setLineColor(String lineColor) {
-    line.setLineColor(ColorUtils.rgbaToColor(lineColor));
+    line.setLineColor(lineColor);
   }
 
   @Override
@@ -85,6 +190,15 @@ class LineController implements LineOptionsSink {
   @Override
   public void setGeometry(List<LatLng> geometry) {
     line.setLatLngs(geometry);
+    simplifier = null;
+    vertices = null;
+  }
+
+  @Override
+  public void setGeometry(LineString geometry) {
+    line.setGeometry(geometry);
+    simplifier = null;
+    vertices = null;
   }
 
   @Override
@@ -92,6 +206,22 @@ class LineController implements LineOptionsSink {
     line.setDraggable(draggable);
   }
 
+  @Override
+  public void setSimplify(boolean simplify) {
+    if (!simplify && this.simplify) {
+      if (vertices != null) {
+        line.setGeometry(vertices.toLineString());
+      } else if (simplifier != null) {
+        line.setGeometry(simplifier.getGeometry());
+      }
+    }
+    if (simplify != this.simplify) {
+      simplifier = null;
+      simplifiedZoom = -1;
+    }
+    this.simplify = simplify;
+  }
+
   public void update(LineManager lineManager) {
     lineManager.update(line);
   }
@@ -7,6 +7,7 @@
 package com.mapbox.mapboxgl;
 
 import java.util.List;
+import com.mapbox.geojson.LineString;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 
 /**
@@ -18,6 +19,8 @@ interface LineOptionsSink {
 
   void setLineOpacity(float lineOpacity);
 
+  void setLineColor(int lineColor);
+
   void setLineColor(String lineColor);
 
   void setLineWidth(float lineWidth);
@@ -32,5 +35,9 @@ interface LineOptionsSink {
 
   void setGeometry(List<LatLng> geometry);
 
+  void setGeometry(LineString geometry);
+
   void setDraggable(boolean draggable);
+
+  void setSimplify(boolean simplify);
 }
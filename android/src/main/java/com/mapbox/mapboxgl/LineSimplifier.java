@@ -0,0 +1,131 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Zoom dependent Douglas-Peucker simplification of a line.
+ *
+ * The tolerance at which each vertex stops being needed is computed once, in Web Mercator
+ * units. Simplifying for a zoom then only keeps the vertices whose tolerance exceeds half a
+ * pixel at that zoom, without running Douglas-Peucker again. Has no Android dependencies.
+ */
+final class LineSimplifier {
+  private static final double TOLERANCE_PIXELS = 0.5;
+  // size in pixels of the world at zoom 0
+  private static final int WORLD_SIZE = 512;
+
+  private final LineString geometry;
+  private final List<Point> points;
+  private final double[] importance;
+
+  LineSimplifier(LineString geometry) {
+    this.geometry = geometry;
+    this.points = geometry.coordinates();
+    this.importance = new double[points.size()];
+    computeImportance(points, 0, points.size() - 1, importance);
+  }
+
+  /**
+   * The full geometry of the line.
+   */
+  LineString getGeometry() {
+    return geometry;
+  }
+
+  /**
+   * Returns the line with only the vertices that are visible at the zoom level.
+   */
+  LineString simplify(int zoom) {
+    final double tolerance = tolerance(zoom);
+    final List<Point> simplified = new ArrayList<>();
+    for (int i = 0; i < points.size(); i++) {
+      if (importance[i] > tolerance) {
+        simplified.add(points.get(i));
+      }
+    }
+    return simplified.size() == points.size() ? geometry : LineString.fromLngLats(simplified);
+  }
+
+  /**
+   * Returns the distance in Web Mercator units below which a vertex is not visible at the zoom.
+   */
+  static double tolerance(int zoom) {
+    return TOLERANCE_PIXELS / (WORLD_SIZE * Math.pow(2, zoom));
+  }
+
+  /**
+   * Sets for every vertex from first to last the largest tolerance at which Douglas-Peucker
+   * keeps it, first and last are always kept. A vertex never gets a larger value than the
+   * vertex that split its segment, so the vertices kept at any tolerance are exactly the ones
+   * Douglas-Peucker would keep.
+   */
+  static void computeImportance(List<Point> points, int first, int last, double[] importance) {
+    if (last < first) {
+      return;
+    }
+    final int n = last - first + 1;
+    final double[] x = new double[n];
+    final double[] y = new double[n];
+    for (int i = 0; i < n; i++) {
+      final Point point = points.get(first + i);
+      x[i] = point.longitude() / 360 + 0.5;
+      final double sin = Math.sin(point.latitude() * Math.PI / 180);
+      y[i] = Math.max(0, Math.min(1, 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI));
+    }
+    importance[first] = Double.POSITIVE_INFINITY;
+    importance[last] = Double.POSITIVE_INFINITY;
+
+    // segments still to split, as first, last and the importance of the vertex that made them
+    final List<double[]> stack = new ArrayList<>();
+    stack.add(new double[] {0, n - 1, Double.POSITIVE_INFINITY});
+    while (!stack.isEmpty()) {
+      final double[] segment = stack.remove(stack.size() - 1);
+      final int from = (int) segment[0];
+      final int to = (int) segment[1];
+      double maxDistance = -1;
+      int index = -1;
+      for (int i = from + 1; i < to; i++) {
+        final double distance = squareSegmentDistance(x[i], y[i], x[from], y[from], x[to], y[to]);
+        if (distance > maxDistance) {
+          maxDistance = distance;
+          index = i;
+        }
+      }
+      if (index < 0) {
+        continue;
+      }
+      final double vertexImportance = Math.min(Math.sqrt(maxDistance), segment[2]);
+      importance[first + index] = vertexImportance;
+      stack.add(new double[] {from, index, vertexImportance});
+      stack.add(new double[] {index, to, vertexImportance});
+    }
+  }
+
+  private static double squareSegmentDistance(double px, double py, double ax, double ay, double bx, double by) {
+    double x = ax;
+    double y = ay;
+    final double dx = bx - ax;
+    final double dy = by - ay;
+    if (dx != 0 || dy != 0) {
+      final double t = ((px - ax) * dx + (py - ay) * dy) / (dx * dx + dy * dy);
+      if (t > 1) {
+        x = bx;
+        y = by;
+      } else if (t > 0) {
+        x += dx * t;
+        y += dy * t;
+      }
+    }
+    final double distanceX = px - x;
+    final double distanceY = py - y;
+    return distanceX * distanceX + distanceY * distanceY;
+  }
+}
@@ -0,0 +1,145 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable vertex buffer of a line that is extended at the end and trimmed at the start.
+ *
+ * Vertices are kept as points in an array that doubles when full, so every point is created
+ * once when it is appended and shared by all later geometries of the line. Trimming only moves
+ * the start offset and the dropped space is reclaimed once it makes up half the array.
+ * Appending k vertices is amortized O(k).
+ *
+ * The buffer also simplifies the line like LineSimplifier, but only reruns Douglas-Peucker on
+ * the open run of vertices since the last anchor. A run is closed with an anchor vertex, kept
+ * at every zoom, once it has RUN_LENGTH vertices, so appending to a long line stays cheap.
+ * Trimming keeps the importance of the remaining vertices. Has no Android dependencies.
+ */
+final class LineVertexBuffer {
+  private static final int MIN_CAPACITY = 16;
+  private static final int RUN_LENGTH = 256;
+
+  private Point[] points;
+  // importance of every vertex, see LineSimplifier, valid up to importanceEnd
+  private double[] importance;
+  // index of the first vertex in points
+  private int start;
+  private int size;
+  // index of the first vertex of the open run
+  private int anchor;
+  private int importanceEnd;
+
+  LineVertexBuffer(LineString geometry) {
+    final List<Point> coordinates = geometry == null ? new ArrayList<Point>() : geometry.coordinates();
+    points = coordinates.toArray(new Point[Math.max(MIN_CAPACITY, coordinates.size() * 2)]);
+    importance = new double[points.length];
+    size = coordinates.size();
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Appends interleaved latitude/longitude pairs.
+   */
+  void append(double[] latLngs) {
+    if (latLngs.length % 2 != 0) {
+      throw new IllegalArgumentException("Cannot interpret " + latLngs.length + " values as lat/lng pairs");
+    }
+    final int count = latLngs.length / 2;
+    ensureCapacity(count);
+    int index = start + size;
+    for (int i = 0; i < count; i++) {
+      points[index++] = Point.fromLngLat(latLngs[2 * i + 1], latLngs[2 * i]);
+    }
+    size += count;
+  }
+
+  /**
+   * Drops up to count vertices from the start of the line.
+   */
+  void trimStart(int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Cannot trim " + count + " vertices");
+    }
+    final int trimmed = Math.min(count, size);
+    Arrays.fill(points, start, start + trimmed, null);
+    start += trimmed;
+    size -= trimmed;
+    if (size == 0) {
+      start = 0;
+      anchor = 0;
+      importanceEnd = 0;
+    } else if (start * 2 > points.length) {
+      compact();
+    }
+  }
+
+  LineString toLineString() {
+    return LineString.fromLngLats(Arrays.asList(Arrays.copyOfRange(points, start, start + size)));
+  }
+
+  /**
+   * Returns the line with only the vertices that are visible at the zoom level.
+   */
+  LineString simplify(int zoom) {
+    updateImportance();
+    final double tolerance = LineSimplifier.tolerance(zoom);
+    final List<Point> simplified = new ArrayList<>();
+    for (int i = start; i < start + size; i++) {
+      // the first vertex can have lost its importance to a trimmed vertex
+      if (importance[i] > tolerance || i == start) {
+        simplified.add(points[i]);
+      }
+    }
+    return LineString.fromLngLats(simplified);
+  }
+
+  private void updateImportance() {
+    final int end = start + size;
+    if (importanceEnd == end) {
+      return;
+    }
+    final int first = Math.max(start, anchor);
+    LineSimplifier.computeImportance(Arrays.asList(points), first, end - 1, importance);
+    importanceEnd = end;
+    if (end - first > RUN_LENGTH) {
+      anchor = end - 1;
+    }
+  }
+
+  private void ensureCapacity(int count) {
+    if (start + size + count <= points.length) {
+      return;
+    }
+    // reclaim the trimmed vertices first, and grow only if that is not enough
+    compact();
+    if (size + count > points.length) {
+      final int capacity = Math.max(points.length * 2, size + count);
+      points = Arrays.copyOf(points, capacity);
+      importance = Arrays.copyOf(importance, capacity);
+    }
+  }
+
+  private void compact() {
+    if (start == 0) {
+      return;
+    }
+    System.arraycopy(points, start, points, 0, size);
+    Arrays.fill(points, size, start + size, null);
+    System.arraycopy(importance, start, importance, 0, size);
+    anchor = Math.max(0, anchor - start);
+    importanceEnd = Math.max(0, importanceEnd - start);
+    start = 0;
+  }
+}
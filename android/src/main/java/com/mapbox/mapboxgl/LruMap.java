@@ -0,0 +1,26 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Map in access order that drops its least recently used entry once it holds more than the
+ * given number of entries. Not thread safe.
+ */
+final class LruMap<K, V> extends LinkedHashMap<K, V> {
+  private final int maxSize;
+
+  LruMap(int maxSize) {
+    super(16, 0.75f, true);
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+    return size() > maxSize;
+  }
+}
@@ -0,0 +1,86 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.mapbox.mapboxsdk.camera.CameraPosition;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import io.flutter.plugin.common.BinaryMessenger;
+
+/**
+ * Sends high frequency map events to Flutter as fixed layout binary messages.
+ *
+ * Every event is written into the same direct buffer, the messenger copies it before send
+ * returns. Each message starts with a one byte event type followed by little endian fields:
+ * <ul>
+ * <li>CAMERA_MOVE: bearing, latitude, longitude, tilt and zoom as float64.</li>
+ * <li>MAP_CLICK: x and y in pixels as float32, longitude and latitude as float64.</li>
+ * <li>SYMBOL_TAP, LINE_TAP, CIRCLE_TAP, FILL_TAP: annotation id as int64.</li>
+ * <li>CAMERA_TRACKING_CHANGED: tracking mode as int32.</li>
+ * </ul>
+ * Keep in sync with _handleBinaryEvent in lib/src/controller.dart.
+ */
+final class MapEventEncoder {
+  static final byte CAMERA_MOVE = 1;
+  static final byte MAP_CLICK = 2;
+  static final byte SYMBOL_TAP = 3;
+  static final byte LINE_TAP = 4;
+  static final byte CIRCLE_TAP = 5;
+  static final byte FILL_TAP = 6;
+  static final byte CAMERA_TRACKING_CHANGED = 7;
+  private static final int MAX_MESSAGE_SIZE = 1 + 5 * 8;
+
+  private final BinaryMessenger messenger;
+  private final String channel;
+  private final ByteBuffer buffer =
+    ByteBuffer.allocateDirect(MAX_MESSAGE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+  MapEventEncoder(BinaryMessenger messenger, String channel) {
+    this.messenger = messenger;
+    this.channel = channel;
+  }
+
+  void sendCameraMove(CameraPosition position) {
+    buffer.clear();
+    buffer.put(CAMERA_MOVE);
+    buffer.putDouble(position.bearing);
+    buffer.putDouble(position.target.getLatitude());
+    buffer.putDouble(position.target.getLongitude());
+    buffer.putDouble(position.tilt);
+    buffer.putDouble(position.zoom);
+    send();
+  }
+
+  void sendMapClick(float x, float y, double longitude, double latitude) {
+    buffer.clear();
+    buffer.put(MAP_CLICK);
+    buffer.putFloat(x);
+    buffer.putFloat(y);
+    buffer.putDouble(longitude);
+    buffer.putDouble(latitude);
+    send();
+  }
+
+  void sendAnnotationTap(byte type, long id) {
+    buffer.clear();
+    buffer.put(type);
+    buffer.putLong(id);
+    send();
+  }
+
+  void sendCameraTrackingChanged(int mode) {
+    buffer.clear();
+    buffer.put(CAMERA_TRACKING_CHANGED);
+    buffer.putInt(mode);
+    send();
+  }
+
+  private void send() {
+    // the messenger sends the bytes up to the buffer position
+    messenger.send(channel, buffer);
+  }
+}
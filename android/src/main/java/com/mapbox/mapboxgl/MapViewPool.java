@@ -0,0 +1,142 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.view.ViewGroup;
+
+import com.mapbox.mapboxsdk.maps.MapView;
+import com.mapbox.mapboxsdk.maps.MapboxMapOptions;
+
+import java.util.ArrayDeque;
+
+/**
+ * Opt-in pool of map views that are created ahead of time and reused by later maps.
+ *
+ * Creating a map view and its renderer takes long enough to delay the first frame of every
+ * platform view, so screens with several small maps show them one by one. Idle views are kept
+ * created but not started, they hold no surface and do not render. Disposed maps return their
+ * view to the pool while there is room. The pool is emptied on memory pressure and when the
+ * activity is destroyed. It only listens for memory pressure while it is enabled, so the
+ * application does not keep the activity it was created with. Only used from the platform
+ * thread.
+ */
+final class MapViewPool implements ComponentCallbacks2 {
+  private final Context context;
+  private final ArrayDeque<MapView> idleViews = new ArrayDeque<>();
+  private int maxSize = 0;
+  private boolean registered = false;
+
+  MapViewPool(Context context) {
+    this.context = context;
+  }
+
+  /**
+   * The options every pooled view is created with, the other options are applied once the map
+   * of a reused view is ready.
+   */
+  static MapboxMapOptions defaultOptions() {
+    return new MapboxMapOptions()
+      .textureMode(true)
+      .attributionEnabled(false);
+  }
+
+  boolean isEnabled() {
+    return maxSize > 0;
+  }
+
+  /**
+   * Sets the number of idle views to keep and creates them right away, 0 disables the pool.
+   */
+  void setSize(int size) {
+    maxSize = Math.max(0, size);
+    trimTo(maxSize);
+    if (maxSize == 0) {
+      unregister();
+      return;
+    }
+    MapboxMapController.initMapbox(context);
+    if (!registered) {
+      context.getApplicationContext().registerComponentCallbacks(this);
+      registered = true;
+    }
+    while (idleViews.size() < maxSize) {
+      final MapView mapView = new MapView(context, defaultOptions());
+      mapView.onCreate(null);
+      idleViews.push(mapView);
+    }
+  }
+
+  /**
+   * Takes an idle view that was created but not started, or returns null if there is none.
+   */
+  MapView acquire() {
+    final MapView mapView = idleViews.poll();
+    if (mapView != null && mapView.getParent() instanceof ViewGroup) {
+      ((ViewGroup) mapView.getParent()).removeView(mapView);
+    }
+    return mapView;
+  }
+
+  /**
+   * Keeps a stopped view for reuse if there is room. Returns false if the caller has to
+   * destroy the view.
+   */
+  boolean release(MapView mapView) {
+    if (idleViews.size() >= maxSize) {
+      return false;
+    }
+    idleViews.push(mapView);
+    return true;
+  }
+
+  /**
+   * Destroys all idle views.
+   */
+  void clear() {
+    trimTo(0);
+  }
+
+  /**
+   * Destroys all idle views, disables the pool and stops listening for memory pressure, called
+   * when the activity is destroyed.
+   */
+  void destroy() {
+    maxSize = 0;
+    clear();
+    unregister();
+  }
+
+  private void unregister() {
+    if (registered) {
+      context.getApplicationContext().unregisterComponentCallbacks(this);
+      registered = false;
+    }
+  }
+
+  private void trimTo(int size) {
+    while (idleViews.size() > size) {
+      idleViews.removeLast().onDestroy();
+    }
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    if (level >= TRIM_MEMORY_RUNNING_LOW) {
+      clear();
+    }
+  }
+
+  @Override
+  public void onLowMemory() {
+    clear();
+  }
+
+  @Override
+  public void onConfigurationChanged(Configuration newConfig) {
+  }
+}
@@ -19,22 +19,31 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 class MapboxMapBuilder implements MapboxMapOptionsSink {
   public final String TAG = getClass().getSimpleName();
-  private final MapboxMapOptions options = new MapboxMapOptions()
-    .textureMode(true)
-    .attributionEnabled(false);
+  private final MapboxMapOptions options = MapViewPool.defaultOptions();
   private boolean trackCameraPosition = false;
+  private boolean deferAnnotationUpdates = false;
+  private boolean cacheStyle = false;
+  private int cameraMoveThrottleMs = 0;
+  private float minZoomDelta = 0;
+  private float minBearingDelta = 0;
   private boolean myLocationEnabled = false;
   private int myLocationTrackingMode = 0;
   private String styleString = Style.MAPBOX_STREETS;
 
   MapboxMapController build(
-    int id, Context context, AtomicInteger state, PluginRegistry.Registrar registrar) {
+    int id, Context context, AtomicInteger state, PluginRegistry.Registrar registrar, MapViewPool mapViewPool,
+    MethodCallMetrics metrics) {
     final MapboxMapController controller =
-      new MapboxMapController(id, context, state, registrar, options, styleString);
+      new MapboxMapController(id, context, state, registrar, options, styleString, mapViewPool, metrics);
     controller.init();
     controller.setMyLocationEnabled(myLocationEnabled);
     controller.setMyLocationTrackingMode(myLocationTrackingMode);
     controller.setTrackCameraPosition(trackCameraPosition);
+    controller.setDeferAnnotationUpdates(deferAnnotationUpdates);
+    controller.setCacheStyle(cacheStyle);
+    controller.setCameraMoveThrottleMs(cameraMoveThrottleMs);
+    controller.setMinZoomDelta(minZoomDelta);
+    controller.setMinBearingDelta(minBearingDelta);
     return controller;
   }
 
@@ -75,6 +84,31 @@ class MapboxMapBuilder implements MapboxMapOptionsSink {
     this.trackCameraPosition = trackCameraPosition;
   }
 
+  @Override
+  public void setDeferAnnotationUpdates(boolean deferAnnotationUpdates) {
+    this.deferAnnotationUpdates = deferAnnotationUpdates;
+  }
+
+  @Override
+  public void setCacheStyle(boolean cacheStyle) {
+    this.cacheStyle = cacheStyle;
+  }
+
+  @Override
+  public void setCameraMoveThrottleMs(int cameraMoveThrottleMs) {
+    this.cameraMoveThrottleMs = cameraMoveThrottleMs;
+  }
+
+  @Override
+  public void setMinZoomDelta(float minZoomDelta) {
+    this.minZoomDelta = minZoomDelta;
+  }
+
+  @Override
+  public void setMinBearingDelta(float minBearingDelta) {
+    this.minBearingDelta = minBearingDelta;
+  }
+
   @Override
   public void setRotateGesturesEnabled(boolean rotateGesturesEnabled) {
     options.rotateGesturesEnabled(rotateGesturesEnabled);
@@ -10,16 +10,20 @@ import android.app.Application;
 import android.content.Context;
 import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageManager;
+import android.graphics.Bitmap;
 import android.graphics.PointF;
 import android.graphics.RectF;
 import android.os.Bundle;
+import android.os.SystemClock;
 import androidx.annotation.NonNull;
 import android.util.Log;
+import android.util.LruCache;
 import android.view.View;
 
 import com.mapbox.mapboxsdk.Mapbox;
 import com.mapbox.mapboxsdk.camera.CameraPosition;
 import com.mapbox.mapboxsdk.camera.CameraUpdate;
+import com.mapbox.mapboxsdk.camera.CameraUpdateFactory;
 
 import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.geometry.LatLngBounds;
@@ -31,30 +35,53 @@ import com.mapbox.mapboxsdk.location.modes.RenderMode;
 import com.mapbox.mapboxsdk.maps.MapView;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
 import com.mapbox.mapboxsdk.maps.MapboxMapOptions;
+import com.mapbox.mapboxsdk.maps.UiSettings;
 import com.mapbox.mapboxsdk.maps.OnMapReadyCallback;
 import com.mapbox.mapboxsdk.maps.Style;
 import com.mapbox.mapboxsdk.plugins.annotation.Annotation;
 import com.mapbox.mapboxsdk.plugins.annotation.Circle;
 import com.mapbox.mapboxsdk.plugins.annotation.CircleManager;
+import com.mapbox.mapboxsdk.plugins.annotation.CircleOptions;
+import com.mapbox.mapboxsdk.plugins.annotation.OnCircleDragListener;
+import com.mapbox.mapboxsdk.plugins.annotation.OnFillDragListener;
+import com.mapbox.mapboxsdk.plugins.annotation.OnLineDragListener;
+import com.mapbox.mapboxsdk.plugins.annotation.OnSymbolDragListener;
 import com.mapbox.mapboxsdk.plugins.annotation.Fill;
 import com.mapbox.mapboxsdk.plugins.annotation.FillManager;
-import com.mapbox.mapboxsdk.plugins.annotation.OnAnnotationClickListener;
+import com.mapbox.mapboxsdk.plugins.annotation.FillOptions;
 import com.mapbox.mapboxsdk.plugins.annotation.Symbol;
 import com.mapbox.mapboxsdk.plugins.annotation.SymbolManager;
+import com.mapbox.mapboxsdk.plugins.annotation.SymbolOptions;
 import com.mapbox.mapboxsdk.plugins.annotation.Line;
 import com.mapbox.mapboxsdk.plugins.annotation.LineManager;
-import com.mapbox.geojson.Feature;
+import com.mapbox.mapboxsdk.plugins.annotation.LineOptions;
 import com.mapbox.mapboxsdk.style.expressions.Expression;
+import com.mapbox.mapboxsdk.style.layers.CircleLayer;
+import com.mapbox.mapboxsdk.style.layers.FillLayer;
+import com.mapbox.mapboxsdk.style.layers.Layer;
+import com.mapbox.mapboxsdk.style.layers.LineLayer;
+import com.mapbox.mapboxsdk.style.layers.SymbolLayer;
+import com.mapbox.mapboxsdk.style.sources.GeoJsonSource;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Geometry;
+import com.mapbox.geojson.Point;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.PluginRegistry;
 import io.flutter.plugin.platform.PlatformView;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.mapbox.mapboxgl.MapboxMapsPlugin.CREATED;
@@ -72,7 +99,6 @@ final class MapboxMapController
   MapboxMap.OnCameraIdleListener,
   MapboxMap.OnCameraMoveListener,
   MapboxMap.OnCameraMoveStartedListener,
-  OnAnnotationClickListener,
   MapboxMap.OnMapClickListener,
   MapboxMapOptionsSink,
   MethodChannel.MethodCallHandler,
@@ -82,23 +108,67 @@ final class MapboxMapController
   OnLineTappedListener,
   OnCircleTappedListener,
   OnFillTappedListener,
+  MapView.OnDidFinishRenderingFrameListener,
+  MapView.OnDidFinishLoadingStyleListener,
+  MapView.OnDidBecomeIdleListener,
   PlatformView {
   private static final String TAG = "MapboxMapController";
+  private static final int CLUSTER_EXTENT = 512;
+  private static final int DEFAULT_CLUSTER_RADIUS = 40;
+  private static final int DEFAULT_CLUSTER_MAX_ZOOM = 16;
+  private static final int DEFAULT_CLUSTER_MIN_POINTS = 2;
+  // size in pixels of the world at zoom 0, used to turn pixel tolerances into map distances
+  private static final int WORLD_SIZE = 512;
+  // fraction of the visible region added on each side when rendering clusters
+  private static final double CLUSTER_BOUNDS_PADDING = 0.5;
+  // bitmaps of uploaded icon images of all maps are kept in an eighth of the heap
+  private static final int ICON_CACHE_BYTES = (int) Math.min(Runtime.getRuntime().maxMemory() / 8, Integer.MAX_VALUE);
+  // directory in the app cache the JSON of URL styles is kept in
+  private static final String STYLE_CACHE_DIRECTORY = "mapbox_styles";
+  // number of most recent frame intervals percentiles are taken from
+  private static final int FRAME_STATS_CAPACITY = 600;
   private final int id;
   private final AtomicInteger activityState;
   private final MethodChannel methodChannel;
+  private final MapEventEncoder eventEncoder;
   private final PluginRegistry.Registrar registrar;
   private final MapView mapView;
-  private final Map<String, SymbolController> symbols;
-  private final Map<String, LineController> lines;
-  private final Map<String, CircleController> circles;
-  private final Map<String, FillController> fills;
+  private final MapViewPool mapViewPool;
+  private final MethodCallMetrics metrics;
+  // the options of the map if its view came from the pool and was created without them
+  private final MapboxMapOptions pooledViewOptions;
+  private final AnnotationRegistry annotations;
+  private final AnnotationSpatialIndex annotationIndex = new AnnotationSpatialIndex();
+  private final AnnotationIds annotationIds = new AnnotationIds();
   private MapboxMap mapboxMap;
   private SymbolManager symbolManager;
   private LineManager lineManager;
   private CircleManager circleManager;
   private FillManager fillManager;
+  private final AnnotationUpdateBatcher annotationUpdateBatcher;
+  private final AnnotationUpdateBatcher.Batch<Symbol> symbolUpdates;
+  private final AnnotationUpdateBatcher.Batch<Line> lineUpdates;
+  private final AnnotationUpdateBatcher.Batch<Circle> circleUpdates;
+  private final AnnotationUpdateBatcher.Batch<Fill> fillUpdates;
+  private final SymbolAnimator symbolAnimator;
+  private final Set<LineController> simplifiedLines = new HashSet<>();
+  private boolean deferAnnotationUpdates = false;
+  private boolean cacheStyle = false;
+  // the style last set, a revalidated cached style is only swapped in while it is current
+  private String styleString;
   private boolean trackCameraPosition = false;
+  private final CameraMoveEventPolicy cameraMoveEventPolicy = new CameraMoveEventPolicy();
+  private final FeatureQueryCache featureQueryCache = new FeatureQueryCache();
+  private final Map<String, ClusteredAnnotations<?>> clusteredAnnotations = new HashMap<>();
+  private final ExecutorService backgroundExecutor = Executors.newSingleThreadExecutor();
+  // replies of method calls whose work still runs in the background, answered on dispose
+  private final Set<MethodChannel.Result> pendingResults = new HashSet<>();
+  // bumped by every clusters#set and clusters#remove, a loaded index is only installed if current
+  private final Map<String, Integer> clusterGenerations = new HashMap<>();
+  private final IconImageCache iconImages = new IconImageCache(iconBitmaps);
+  private final FrameStats frameStats;
+  private int frameStatsReportInterval = 0;
+  private MethodCallRecorder recorder;
   private boolean myLocationEnabled = false;
   private int myLocationTrackingMode = 0;
   private boolean disposed = false;
@@ -108,6 +178,10 @@ final class MapboxMapController
   private final Context context;
   private final String styleStringInitial;
   private LocationComponent locationComponent = null;
+  private static String accessToken;
+  private static StyleCache styleCache;
+  private static final LruCache<String, Bitmap> iconBitmaps = IconImageCache.newBitmapCache(ICON_CACHE_BYTES);
+  private static boolean mapboxInitialized = false;
 
   MapboxMapController(
     int id,
@@ -115,25 +189,52 @@ final class MapboxMapController
     AtomicInteger activityState,
     PluginRegistry.Registrar registrar,
     MapboxMapOptions options,
-    String styleStringInitial) {
-    Mapbox.getInstance(context, getAccessToken(context));
+    String styleStringInitial,
+    MapViewPool mapViewPool,
+    MethodCallMetrics metrics) {
+    initMapbox(context);
     this.id = id;
     this.context = context;
     this.activityState = activityState;
     this.registrar = registrar;
     this.styleStringInitial = styleStringInitial;
-    this.mapView = new MapView(context, options);
-    this.symbols = new HashMap<>();
-    this.lines = new HashMap<>();
-    this.circles = new HashMap<>();
-    this.fills = new HashMap<>();
+    this.mapViewPool = mapViewPool;
+    this.metrics = metrics;
+    final MapView pooledView = mapViewPool != null ? mapViewPool.acquire() : null;
+    this.mapView = pooledView != null ? pooledView : new MapView(context, options);
+    this.pooledViewOptions = pooledView != null ? options : null;
+    this.annotations = new AnnotationRegistry();
+    this.annotationUpdateBatcher = new AnnotationUpdateBatcher();
+    this.symbolUpdates = annotationUpdateBatcher.register(dirty -> symbolManager.update(dirty));
+    this.lineUpdates = annotationUpdateBatcher.register(dirty -> lineManager.update(dirty));
+    this.circleUpdates = annotationUpdateBatcher.register(dirty -> circleManager.update(dirty));
+    this.fillUpdates = annotationUpdateBatcher.register(dirty -> fillManager.update(dirty));
+    this.symbolAnimator = new SymbolAnimator(
+      changed -> symbolManager.update(changed),
+      finished -> indexAnnotations(AnnotationRegistry.SYMBOL, finished));
     this.density = context.getResources().getDisplayMetrics().density;
+    final float refreshRate = registrar.activity().getWindowManager().getDefaultDisplay().getRefreshRate();
+    this.frameStats = new FrameStats(FRAME_STATS_CAPACITY, (long) (1e9 / (refreshRate > 0 ? refreshRate : 60)));
     methodChannel =
       new MethodChannel(registrar.messenger(), "plugins.flutter.io/mapbox_maps_" + id);
     methodChannel.setMethodCallHandler(this);
+    eventEncoder =
+      new MapEventEncoder(registrar.messenger(), "plugins.flutter.io/mapbox_maps_events_" + id);
     this.registrarActivityHashCode = registrar.activity().hashCode();
   }
 
+  /**
+   * Initializes Mapbox once per process, reading the access token from the manifest only once.
+   */
+  static void initMapbox(@NonNull Context context) {
+    if (mapboxInitialized) {
+      return;
+    }
+    accessToken = getAccessToken(context);
+    Mapbox.getInstance(context.getApplicationContext(), accessToken);
+    mapboxInitialized = true;
+  }
+
   private static String getAccessToken(@NonNull Context context) {
     try {
       ApplicationInfo ai = context.getPackageManager().getApplicationInfo(context.getPackageName(), PackageManager.GET_META_DATA);
@@ -155,29 +256,29 @@ final class MapboxMapController
   void init() {
     switch (activityState.get()) {
       case STOPPED:
-        mapView.onCreate(null);
+        createMapView();
         mapView.onStart();
         mapView.onResume();
         mapView.onPause();
         mapView.onStop();
         break;
       case PAUSED:
-        mapView.onCreate(null);
+        createMapView();
         mapView.onStart();
         mapView.onResume();
         mapView.onPause();
         break;
       case RESUMED:
-        mapView.onCreate(null);
+        createMapView();
         mapView.onStart();
         mapView.onResume();
         break;
       case STARTED:
-        mapView.onCreate(null);
+        createMapView();
         mapView.onStart();
         break;
       case CREATED:
-        mapView.onCreate(null);
+        createMapView();
         break;
       case DESTROYED:
         mapboxMap.removeOnCameraIdleListener(this);
@@ -190,9 +291,65 @@ final class MapboxMapController
           "Cannot interpret " + activityState.get() + " as an activity state");
     }
     registrar.activity().getApplication().registerActivityLifecycleCallbacks(this);
+    mapView.addOnDidFinishRenderingFrameListener(this);
+    mapView.addOnDidFinishLoadingStyleListener(this);
+    mapView.addOnDidBecomeIdleListener(this);
     mapView.getMapAsync(this);
   }
 
+  private void createMapView() {
+    // pooled views have been created already
+    if (pooledViewOptions == null) {
+      mapView.onCreate(null);
+    }
+  }
+
+  /**
+   * Applies the options a pooled view was not created with.
+   */
+  private void applyPooledViewOptions(MapboxMapOptions options) {
+    final UiSettings uiSettings = mapboxMap.getUiSettings();
+    uiSettings.setCompassEnabled(options.getCompassEnabled());
+    uiSettings.setRotateGesturesEnabled(options.getRotateGesturesEnabled());
+    uiSettings.setScrollGesturesEnabled(options.getScrollGesturesEnabled());
+    uiSettings.setTiltGesturesEnabled(options.getTiltGesturesEnabled());
+    uiSettings.setZoomGesturesEnabled(options.getZoomGesturesEnabled());
+    mapboxMap.setMinZoomPreference(options.getMinZoomPreference());
+    mapboxMap.setMaxZoomPreference(options.getMaxZoomPreference());
+    if (options.getCamera() != null) {
+      mapboxMap.moveCamera(CameraUpdateFactory.newCameraPosition(options.getCamera()));
+    }
+  }
+
+  /**
+   * Stops the view and hands it back to the pool. Returns false if it has to be destroyed.
+   */
+  private boolean releaseMapView() {
+    if (mapViewPool == null || !mapViewPool.isEnabled() || mapboxMap == null) {
+      return false;
+    }
+    switch (activityState.get()) {
+      case RESUMED:
+        mapView.onPause();
+        mapView.onStop();
+        break;
+      case STARTED:
+      case PAUSED:
+        mapView.onStop();
+        break;
+      case CREATED:
+      case STOPPED:
+        break;
+      default:
+        return false;
+    }
+    mapboxMap.removeOnCameraIdleListener(this);
+    mapboxMap.removeOnCameraMoveStartedListener(this);
+    mapboxMap.removeOnCameraMoveListener(this);
+    mapboxMap.removeOnMapClickListener(this);
+    return mapViewPool.release(mapView);
+  }
+
   private void moveCamera(CameraUpdate cameraUpdate) {
     mapboxMap.moveCamera(cameraUpdate);
   }
@@ -205,19 +362,53 @@ final class MapboxMapController
     return trackCameraPosition ? mapboxMap.getCameraPosition() : null;
   }
 
+  private void indexAnnotation(int type, Annotation<?> annotation) {
+    annotationIndex.put(type, annotation.getId(), annotation.getGeometry());
+  }
+
+  private void indexAnnotations(int type, List<? extends Annotation<?>> indexed) {
+    final long[] ids = new long[indexed.size()];
+    final List<Geometry> geometries = new ArrayList<>(indexed.size());
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = indexed.get(i).getId();
+      geometries.add(indexed.get(i).getGeometry());
+    }
+    annotationIndex.putAll(type, ids, geometries);
+  }
+
+  private long annotationId(int type, String id) {
+    return annotationIds.toAnnotationId(type, Long.parseLong(id));
+  }
+
+  private String externalId(int type, Annotation<?> annotation) {
+    return String.valueOf(annotationIds.toId(type, annotation.getId()));
+  }
+
   private SymbolBuilder newSymbolBuilder() {
     return new SymbolBuilder(symbolManager);
   }
 
   private void removeSymbol(String symbolId) {
-    final SymbolController symbolController = symbols.remove(symbolId);
+    final SymbolController symbolController = (SymbolController) annotations.remove(AnnotationRegistry.SYMBOL, annotationId(AnnotationRegistry.SYMBOL, symbolId));
     if (symbolController != null) {
+      symbolUpdates.discard(symbolController.getSymbol());
+      symbolAnimator.cancel(symbolController.getSymbol());
+      annotationIndex.remove(AnnotationRegistry.SYMBOL, symbolController.getSymbol().getId());
+      annotationIds.remove(AnnotationRegistry.SYMBOL, symbolController.getSymbol().getId());
       symbolController.remove(symbolManager);
     }
   }
 
+  private void updateSymbol(SymbolController symbol) {
+    if (deferAnnotationUpdates) {
+      symbolUpdates.add(symbol.getSymbol());
+    } else {
+      symbol.update(symbolManager);
+    }
+  }
+
   private SymbolController symbol(String symbolId) {
-    final SymbolController symbol = symbols.get(symbolId);
+    final SymbolController symbol = (SymbolController) annotations.get(AnnotationRegistry.SYMBOL, annotationId(AnnotationRegistry.SYMBOL, symbolId));
     if (symbol == null) {
       throw new IllegalArgumentException("Unknown symbol: " + symbolId);
     }
@@ -229,20 +420,85 @@ final class MapboxMapController
   }
 
   private void removeLine(String lineId) {
-    final LineController lineController = lines.remove(lineId);
+    final LineController lineController = (LineController) annotations.remove(AnnotationRegistry.LINE, annotationId(AnnotationRegistry.LINE, lineId));
     if (lineController != null) {
+      lineUpdates.discard(lineController.getLine());
+      simplifiedLines.remove(lineController);
+      annotationIndex.remove(AnnotationRegistry.LINE, lineController.getLine().getId());
+      annotationIds.remove(AnnotationRegistry.LINE, lineController.getLine().getId());
       lineController.remove(lineManager);
     }
   }
 
+  private void updateLine(LineController line) {
+    if (deferAnnotationUpdates) {
+      lineUpdates.add(line.getLine());
+    } else {
+      line.update(lineManager);
+    }
+  }
+
   private LineController line(String lineId) {
-    final LineController line = lines.get(lineId);
+    final LineController line = (LineController) annotations.get(AnnotationRegistry.LINE, annotationId(AnnotationRegistry.LINE, lineId));
     if (line == null) {
       throw new IllegalArgumentException("Unknown line: " + lineId);
     }
     return line;
   }
 
+  /**
+   * Cancels the animation of the symbol if the options set its position or rotation, an
+   * explicit value wins over a running animation.
+   */
+  private void cancelOverriddenAnimation(SymbolController symbol, Map<?, ?> options) {
+    if (options.containsKey("geometry") || options.containsKey("iconRotate")) {
+      symbolAnimator.cancel(symbol.getSymbol());
+    }
+  }
+
+  private int simplificationZoom() {
+    return (int) Math.floor(mapboxMap.getCameraPosition().zoom);
+  }
+
+  /**
+   * Simplifies the line for the current zoom after its options changed, or stops doing so.
+   */
+  private void trackSimplification(LineController line) {
+    if (line.isSimplified()) {
+      simplifiedLines.add(line);
+      line.simplify(simplificationZoom());
+    } else {
+      simplifiedLines.remove(line);
+    }
+  }
+
+  /**
+   * Pushes the vertices needed at the new zoom level of all simplified lines.
+   */
+  private void refreshSimplifiedLines() {
+    if (simplifiedLines.isEmpty()) {
+      return;
+    }
+    final int zoom = simplificationZoom();
+    final List<Line> changedLines = new ArrayList<>();
+    for (LineController line : simplifiedLines) {
+      if (line.simplify(zoom)) {
+        changedLines.add(line.getLine());
+      }
+    }
+    if (changedLines.isEmpty()) {
+      return;
+    }
+    indexAnnotations(AnnotationRegistry.LINE, changedLines);
+    if (deferAnnotationUpdates) {
+      for (Line line : changedLines) {
+        lineUpdates.add(line);
+      }
+    } else {
+      lineManager.update(changedLines);
+    }
+  }
+
   private CircleBuilder newCircleBuilder() {
     return new CircleBuilder(circleManager);
   }
@@ -252,14 +508,25 @@ final class MapboxMapController
   }
 
   private void removeCircle(String circleId) {
-    final CircleController circleController = circles.remove(circleId);
+    final CircleController circleController = (CircleController) annotations.remove(AnnotationRegistry.CIRCLE, annotationId(AnnotationRegistry.CIRCLE, circleId));
     if (circleController != null) {
+      circleUpdates.discard(circleController.getCircle());
+      annotationIndex.remove(AnnotationRegistry.CIRCLE, circleController.getCircle().getId());
+      annotationIds.remove(AnnotationRegistry.CIRCLE, circleController.getCircle().getId());
       circleController.remove(circleManager);
     }
   }
 
+  private void updateCircle(CircleController circle) {
+    if (deferAnnotationUpdates) {
+      circleUpdates.add(circle.getCircle());
+    } else {
+      circle.update(circleManager);
+    }
+  }
+
   private CircleController circle(String circleId) {
-    final CircleController circle = circles.get(circleId);
+    final CircleController circle = (CircleController) annotations.get(AnnotationRegistry.CIRCLE, annotationId(AnnotationRegistry.CIRCLE, circleId));
     if (circle == null) {
       throw new IllegalArgumentException("Unknown circle: " + circleId);
     }
@@ -267,14 +534,25 @@ final class MapboxMapController
   }
 
   private void removeFill(String fillId) {
-    final FillController fillController = fills.remove(fillId);
+    final FillController fillController = (FillController) annotations.remove(AnnotationRegistry.FILL, annotationId(AnnotationRegistry.FILL, fillId));
     if (fillController != null) {
+      fillUpdates.discard(fillController.getFill());
+      annotationIndex.remove(AnnotationRegistry.FILL, fillController.getFill().getId());
+      annotationIds.remove(AnnotationRegistry.FILL, fillController.getFill().getId());
       fillController.remove(fillManager);
     }
   }
 
+  private void updateFill(FillController fill) {
+    if (deferAnnotationUpdates) {
+      fillUpdates.add(fill.getFill());
+    } else {
+      fill.update(fillManager);
+    }
+  }
+
   private FillController fill(String fillId) {
-    final FillController fill = fills.get(fillId);
+    final FillController fill = (FillController) annotations.get(AnnotationRegistry.FILL, annotationId(AnnotationRegistry.FILL, fillId));
     if (fill == null) {
       throw new IllegalArgumentException("Unknown fill: " + fillId);
     }
@@ -284,6 +562,9 @@ final class MapboxMapController
   @Override
   public void onMapReady(MapboxMap mapboxMap) {
     this.mapboxMap = mapboxMap;
+    if (pooledViewOptions != null) {
+      applyPooledViewOptions(pooledViewOptions);
+    }
     if (mapReadyResult != null) {
       mapReadyResult.success(null);
       mapReadyResult = null;
@@ -300,27 +581,218 @@ final class MapboxMapController
     //check if json, url or plain string:
     if (styleString == null || styleString.isEmpty()) {
       Log.e(TAG, "setStyleString - string empty or null");
-    } else if (styleString.startsWith("{") || styleString.startsWith("[")) {
+      return;
+    }
+    this.styleString = styleString;
+    frameStats.onStyleLoadStarted(System.nanoTime());
+    if (styleString.startsWith("{") || styleString.startsWith("[")) {
       mapboxMap.setStyle(new Style.Builder().fromJson(styleString), onStyleLoadedCallback);
+    } else if (cacheStyle && StyleCache.isCacheable(styleString)) {
+      setCachedStyle(styleString);
     } else {
       mapboxMap.setStyle(new Style.Builder().fromUrl(styleString), onStyleLoadedCallback);
     }
   }
 
+  /**
+   * Loads the style from the disk cache if it was fetched before, otherwise from its URL, and
+   * revalidates the cached copy in the background. A style that changed since it was cached
+   * replaces the loaded one if it is still the current style.
+   */
+  private void setCachedStyle(final String styleUrl) {
+    if (styleCache == null) {
+      styleCache = new StyleCache(new File(context.getCacheDir(), STYLE_CACHE_DIRECTORY));
+    }
+    final StyleCache cache = styleCache;
+    final String cached = cache.get(styleUrl);
+    if (cached != null) {
+      mapboxMap.setStyle(new Style.Builder().fromJson(cached), onStyleLoadedCallback);
+    } else {
+      mapboxMap.setStyle(new Style.Builder().fromUrl(styleUrl), onStyleLoadedCallback);
+    }
+    final String httpUrl = StyleCache.toHttpUrl(styleUrl, accessToken);
+    backgroundExecutor.execute(() -> {
+      final String changed;
+      try {
+        changed = cache.revalidate(styleUrl, httpUrl);
+      } catch (IOException e) {
+        Log.w(TAG, "Revalidating cached style failed: " + e.getMessage());
+        return;
+      }
+      if (changed == null || cached == null) {
+        return;
+      }
+      mapView.post(() -> {
+        if (!disposed && styleUrl.equals(styleString)) {
+          mapboxMap.setStyle(new Style.Builder().fromJson(changed), onStyleLoadedCallback);
+        }
+      });
+    });
+  }
+
   Style.OnStyleLoaded onStyleLoadedCallback = new Style.OnStyleLoaded() {
     @Override
     public void onStyleLoaded(@NonNull Style style) {
+      featureQueryCache.invalidateResults();
+      iconImages.addTo(style);
+      // managers of the previous style are bound to it and have to be rebuilt
+      final boolean styleChanged = symbolManager != null;
+      if (styleChanged) {
+        destroyAnnotationManagers();
+      }
       enableLineManager(style);
       enableSymbolManager(style);
       enableCircleManager(style);
       enableFillManager(style);
+      if (styleChanged) {
+        rehydrateAnnotations();
+      }
+      refreshClusteredAnnotations();
       enableLocationComponent(style);
       // needs to be placed after SymbolManager#addClickListener,
       // is fixed with 0.6.0 of annotations plugin
+      mapboxMap.removeOnMapClickListener(MapboxMapController.this);
       mapboxMap.addOnMapClickListener(MapboxMapController.this);
     }
   };
 
+  private void destroyAnnotationManagers() {
+    annotationUpdateBatcher.cancel();
+    // recreated symbols start where their animations would have ended
+    symbolAnimator.finishAll();
+    for (ClusteredAnnotations<?> collection : clusteredAnnotations.values()) {
+      collection.forget();
+    }
+    if (symbolManager != null) {
+      symbolManager.onDestroy();
+      symbolManager = null;
+    }
+    if (lineManager != null) {
+      lineManager.onDestroy();
+      lineManager = null;
+    }
+    if (circleManager != null) {
+      circleManager.onDestroy();
+      circleManager = null;
+    }
+    if (fillManager != null) {
+      fillManager.onDestroy();
+      fillManager = null;
+    }
+  }
+
+  /**
+   * Recreates every annotation with the managers of the new style from its options and current
+   * geometry, with one bulk create per type. The annotations keep the ids Dart knows them by.
+   * Running symbol animations were finished before, so symbols are recreated at their target
+   * position and rotation.
+   */
+  private void rehydrateAnnotations() {
+    final long start = SystemClock.elapsedRealtime();
+
+    final long[] symbolIds = annotations.ids(AnnotationRegistry.SYMBOL);
+    final List<SymbolController> symbols = new ArrayList<>(symbolIds.length);
+    final List<SymbolOptions> symbolOptions = new ArrayList<>(symbolIds.length);
+    for (long symbolId : symbolIds) {
+      final SymbolController symbol = (SymbolController) annotations.get(AnnotationRegistry.SYMBOL, symbolId);
+      final SymbolBuilder symbolBuilder = newSymbolBuilder();
+      Convert.interpretSymbolOptions(symbol.getOptions().toMap(), symbolBuilder);
+      symbolBuilder.setGeometry(toLatLng(symbol.getSymbol().getGeometry()));
+      symbols.add(symbol);
+      symbolOptions.add(symbolBuilder.getSymbolOptions());
+    }
+
+    final long[] lineIds = annotations.ids(AnnotationRegistry.LINE);
+    final List<LineController> lines = new ArrayList<>(lineIds.length);
+    final List<LineOptions> lineOptions = new ArrayList<>(lineIds.length);
+    for (long lineId : lineIds) {
+      final LineController line = (LineController) annotations.get(AnnotationRegistry.LINE, lineId);
+      final LineBuilder lineBuilder = newLineBuilder();
+      Convert.interpretLineOptions(line.getOptions().toMap(), lineBuilder);
+      lineBuilder.setGeometry(line.getLine().getGeometry());
+      lines.add(line);
+      lineOptions.add(lineBuilder.getLineOptions());
+    }
+
+    final long[] circleIds = annotations.ids(AnnotationRegistry.CIRCLE);
+    final List<CircleController> circles = new ArrayList<>(circleIds.length);
+    final List<CircleOptions> circleOptions = new ArrayList<>(circleIds.length);
+    for (long circleId : circleIds) {
+      final CircleController circle = (CircleController) annotations.get(AnnotationRegistry.CIRCLE, circleId);
+      final CircleBuilder circleBuilder = newCircleBuilder();
+      Convert.interpretCircleOptions(circle.getOptions().toMap(), circleBuilder);
+      circleBuilder.setGeometry(toLatLng(circle.getCircle().getGeometry()));
+      circles.add(circle);
+      circleOptions.add(circleBuilder.getCircleOptions());
+    }
+
+    final long[] fillIds = annotations.ids(AnnotationRegistry.FILL);
+    final List<FillController> fills = new ArrayList<>(fillIds.length);
+    final List<FillOptions> fillOptions = new ArrayList<>(fillIds.length);
+    for (long fillId : fillIds) {
+      final FillController fill = (FillController) annotations.get(AnnotationRegistry.FILL, fillId);
+      final FillBuilder fillBuilder = newFillBuilder();
+      Convert.interpretFillOptions(fill.getOptions().toMap(), fillBuilder);
+      fillBuilder.setGeometry(fill.getFill().getGeometry());
+      fills.add(fill);
+      fillOptions.add(fillBuilder.getFillOptions());
+    }
+
+    annotations.clear();
+    annotationIndex.clear();
+
+    final List<Symbol> newSymbols = symbolOptions.isEmpty() ? new ArrayList<Symbol>() : symbolManager.create(symbolOptions);
+    for (int i = 0; i < newSymbols.size(); i++) {
+      symbols.get(i).setSymbol(newSymbols.get(i));
+    }
+    rehydrated(AnnotationRegistry.SYMBOL, symbolIds, symbols, newSymbols);
+
+    final List<Line> newLines = lineOptions.isEmpty() ? new ArrayList<Line>() : lineManager.create(lineOptions);
+    for (int i = 0; i < newLines.size(); i++) {
+      lines.get(i).setLine(newLines.get(i));
+    }
+    rehydrated(AnnotationRegistry.LINE, lineIds, lines, newLines);
+
+    final List<Circle> newCircles = circleOptions.isEmpty() ? new ArrayList<Circle>() : circleManager.create(circleOptions);
+    for (int i = 0; i < newCircles.size(); i++) {
+      circles.get(i).setCircle(newCircles.get(i));
+    }
+    rehydrated(AnnotationRegistry.CIRCLE, circleIds, circles, newCircles);
+
+    final List<Fill> newFills = fillOptions.isEmpty() ? new ArrayList<Fill>() : fillManager.create(fillOptions);
+    for (int i = 0; i < newFills.size(); i++) {
+      fills.get(i).setFill(newFills.get(i));
+    }
+    rehydrated(AnnotationRegistry.FILL, fillIds, fills, newFills);
+
+    final int count = symbolIds.length + lineIds.length + circleIds.length + fillIds.length;
+    final long duration = SystemClock.elapsedRealtime() - start;
+    Log.d(TAG, "Recreated " + count + " annotations for the new style in " + duration + " ms");
+    final Map<String, Object> arguments = new HashMap<>(2);
+    arguments.put("count", count);
+    arguments.put("duration", duration);
+    methodChannel.invokeMethod("annotations#onRehydrated", arguments);
+  }
+
+  /**
+   * Registers the recreated annotations of a type under the ids they had before.
+   */
+  private void rehydrated(int type, long[] previousAnnotationIds, List<?> controllers, List<? extends Annotation<?>> created) {
+    final long[] ids = new long[created.size()];
+    final long[] createdIds = new long[created.size()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = annotationIds.toId(type, previousAnnotationIds[i]);
+      createdIds[i] = created.get(i).getId();
+      annotations.put(type, createdIds[i], controllers.get(i));
+    }
+    annotationIds.remap(type, ids, createdIds);
+    indexAnnotations(type, created);
+  }
+
+  private static LatLng toLatLng(Point point) {
+    return new LatLng(point.latitude(), point.longitude());
+  }
+
   @SuppressWarnings( {"MissingPermission"})
   private void enableLocationComponent(@NonNull Style style) {
     if (hasLocationPermission()) {
@@ -346,33 +818,109 @@ final class MapboxMapController
       symbolManager.setIconIgnorePlacement(true);
       symbolManager.setTextAllowOverlap(true);
       symbolManager.setTextIgnorePlacement(true);
-      symbolManager.addClickListener(MapboxMapController.this::onAnnotationClick);
+      symbolManager.addClickListener(symbol -> onAnnotationClick(AnnotationRegistry.SYMBOL, symbol.getId()));
+      symbolManager.addDragListener(new OnSymbolDragListener() {
+        @Override
+        public void onAnnotationDragStarted(Symbol symbol) {
+        }
+
+        @Override
+        public void onAnnotationDrag(Symbol symbol) {
+        }
+
+        @Override
+        public void onAnnotationDragFinished(Symbol symbol) {
+          onAnnotationDragFinished(AnnotationRegistry.SYMBOL, symbol);
+        }
+      });
     }
   }
 
   private void enableLineManager(@NonNull Style style) {
     if (lineManager == null) {
       lineManager = new LineManager(mapView, mapboxMap, style);
-      lineManager.addClickListener(MapboxMapController.this::onAnnotationClick);
+      lineManager.addClickListener(line -> onAnnotationClick(AnnotationRegistry.LINE, line.getId()));
+      lineManager.addDragListener(new OnLineDragListener() {
+        @Override
+        public void onAnnotationDragStarted(Line line) {
+        }
+
+        @Override
+        public void onAnnotationDrag(Line line) {
+        }
+
+        @Override
+        public void onAnnotationDragFinished(Line line) {
+          final LineController lineController = (LineController) annotations.get(AnnotationRegistry.LINE, line.getId());
+          if (lineController != null) {
+            lineController.onDragged();
+          }
+          onAnnotationDragFinished(AnnotationRegistry.LINE, line);
+        }
+      });
     }
   }
 
   private void enableCircleManager(@NonNull Style style) {
     if (circleManager == null) {
       circleManager = new CircleManager(mapView, mapboxMap, style);
-      circleManager.addClickListener(MapboxMapController.this::onAnnotationClick);
+      circleManager.addClickListener(circle -> onAnnotationClick(AnnotationRegistry.CIRCLE, circle.getId()));
+      circleManager.addDragListener(new OnCircleDragListener() {
+        @Override
+        public void onAnnotationDragStarted(Circle circle) {
+        }
+
+        @Override
+        public void onAnnotationDrag(Circle circle) {
+        }
+
+        @Override
+        public void onAnnotationDragFinished(Circle circle) {
+          onAnnotationDragFinished(AnnotationRegistry.CIRCLE, circle);
+        }
+      });
     }
   }
 
   private void enableFillManager(@NonNull Style style) {
     if (fillManager ==  null) {
       fillManager = new FillManager(mapView, mapboxMap, style);
-      fillManager.addClickListener(MapboxMapController.this::onAnnotationClick);
+      fillManager.addClickListener(fill -> onAnnotationClick(AnnotationRegistry.FILL, fill.getId()));
+      fillManager.addDragListener(new OnFillDragListener() {
+        @Override
+        public void onAnnotationDragStarted(Fill fill) {
+        }
+
+        @Override
+        public void onAnnotationDrag(Fill fill) {
+        }
+
+        @Override
+        public void onAnnotationDragFinished(Fill fill) {
+          onAnnotationDragFinished(AnnotationRegistry.FILL, fill);
+        }
+      });
     }
   }
 
   @Override
   public void onMethodCall(MethodCall call, MethodChannel.Result result) {
+    final long start = System.nanoTime();
+    if (recorder != null && !call.method.startsWith("recorder#")) {
+      recorder.record(call, start);
+    }
+    if (!metrics.isEnabled()) {
+      handleMethodCall(call, result);
+      return;
+    }
+    try {
+      handleMethodCall(call, result);
+    } finally {
+      metrics.record(call.method, System.nanoTime() - start, MethodCallMetrics.estimateSize(call.arguments));
+    }
+  }
+
+  private void handleMethodCall(MethodCall call, MethodChannel.Result result) {
     switch (call.method) {
       case "map#waitForMap":
         if (mapboxMap != null) {
@@ -408,27 +956,48 @@ final class MapboxMapController
         Map<String, Object> reply = new HashMap<>();
         List<Feature> features;
 
-        String[] layerIds = ((List<String>) call.argument("layerIds")).toArray(new String[0]);
+        List<String> layerIdList = call.argument("layerIds");
+        String[] layerIds = layerIdList.toArray(new String[0]);
 
         String filter = (String) call.argument("filter");
 
-        Expression filterExpression = filter == null ? null : new Expression(filter);
+        final String cacheKey;
         if (call.hasArgument("x")) {
           Double x = call.argument("x");
           Double y = call.argument("y");
-          PointF pixel = new PointF(x.floatValue(), y.floatValue());
-          features = mapboxMap.queryRenderedFeatures(pixel, filterExpression, layerIds);
+          cacheKey = "point:" + x + "," + y + "|" + layerIdList + "|" + filter;
+          features = featureQueryCache.results(cacheKey);
+          if (features == null) {
+            PointF pixel = new PointF(x.floatValue(), y.floatValue());
+            features = mapboxMap.queryRenderedFeatures(pixel, featureQueryCache.filter(filter), layerIds);
+          }
         } else {
           Double left = call.argument("left");
           Double top = call.argument("top");
           Double right = call.argument("right");
           Double bottom = call.argument("bottom");
-          RectF rectF = new RectF(left.floatValue(), top.floatValue(), right.floatValue(), bottom.floatValue());
-          features = mapboxMap.queryRenderedFeatures(rectF, filterExpression, layerIds);
+          cacheKey = "rect:" + left + "," + top + "," + right + "," + bottom + "|" + layerIdList + "|" + filter;
+          features = featureQueryCache.results(cacheKey);
+          if (features == null) {
+            RectF rectF = new RectF(left.floatValue(), top.floatValue(), right.floatValue(), bottom.floatValue());
+            features = mapboxMap.queryRenderedFeatures(rectF, featureQueryCache.filter(filter), layerIds);
+          }
         }
-        List<String> featuresJson = new ArrayList<>();
-        for (Feature feature : features) {
-          featuresJson.add(feature.toJson());
+        featureQueryCache.putResults(cacheKey, features);
+
+        final Integer offsetArgument = call.argument("offset");
+        final Integer limitArgument = call.argument("limit");
+        final List<String> properties = call.argument("properties");
+        final int offset = offsetArgument == null ? 0 : Math.max(0, Math.min(offsetArgument, features.size()));
+        final int end = limitArgument == null
+          ? features.size()
+          : Math.min(features.size(), offset + Math.max(0, limitArgument));
+        List<String> featuresJson = new ArrayList<>(end - offset);
+        for (int i = offset; i < end; i++) {
+          final Feature feature = features.get(i);
+          featuresJson.add(properties == null
+            ? feature.toJson()
+            : Convert.withProperties(feature, properties).toJson());
         }
         reply.put("features", featuresJson);
         result.success(reply);
@@ -438,9 +1007,11 @@ final class MapboxMapController
         final SymbolBuilder symbolBuilder = newSymbolBuilder();
         Convert.interpretSymbolOptions(call.argument("options"), symbolBuilder);
         final Symbol symbol = symbolBuilder.build();
-        final String symbolId = String.valueOf(symbol.getId());
-        symbols.put(symbolId, new SymbolController(symbol, true, this));
-        result.success(symbolId);
+        final SymbolController symbolController = new SymbolController(symbol, true, this);
+        symbolController.getOptions().merge(call.argument("options"));
+        annotations.put(AnnotationRegistry.SYMBOL, symbol.getId(), symbolController);
+        indexAnnotation(AnnotationRegistry.SYMBOL, symbol);
+        result.success(externalId(AnnotationRegistry.SYMBOL, symbol));
         break;
       }
       case "symbol#remove": {
@@ -452,18 +1023,125 @@ final class MapboxMapController
       case "symbol#update": {
         final String symbolId = call.argument("symbol");
         final SymbolController symbol = symbol(symbolId);
-        Convert.interpretSymbolOptions(call.argument("options"), symbol);
-        symbol.update(symbolManager);
+        final Map<?, ?> options = call.argument("options");
+        cancelOverriddenAnimation(symbol, options);
+        Convert.interpretSymbolOptions(options, symbol);
+        symbol.getOptions().merge(options);
+        indexAnnotation(AnnotationRegistry.SYMBOL, symbol.getSymbol());
+        updateSymbol(symbol);
+        result.success(null);
+        break;
+      }
+      case "symbol#animateTo": {
+        final String symbolId = call.argument("symbol");
+        final SymbolController symbol = symbol(symbolId);
+        final List<Double> geometry = call.argument("geometry");
+        final Double iconRotate = call.argument("iconRotate");
+        final Number duration = call.argument("duration");
+        try {
+          symbolAnimator.animateTo(
+            symbol.getSymbol(),
+            geometry == null ? null : Point.fromLngLat(geometry.get(1), geometry.get(0)),
+            iconRotate == null ? null : iconRotate.floatValue(),
+            duration == null ? 0 : duration.longValue(),
+            call.argument("easing"));
+        } catch (IllegalArgumentException e) {
+          result.error("INVALID_EASING", e.getMessage(), null);
+          break;
+        }
+        if (iconRotate != null) {
+          // the animation ends at the target, which is all a recreated symbol needs to know
+          symbol.getOptions().put("iconRotate", iconRotate);
+        }
+        result.success(null);
+        break;
+      }
+      case "symbols#addAll": {
+        final List<String> newSymbolIds = new ArrayList<>();
+        final List<Object> options = call.argument("options");
+        if (options != null) {
+          final List<SymbolOptions> symbolOptionsList = new ArrayList<>(options.size());
+          for (Object o : options) {
+            final SymbolBuilder symbolBuilder = newSymbolBuilder();
+            Convert.interpretSymbolOptions(o, symbolBuilder);
+            symbolOptionsList.add(symbolBuilder.getSymbolOptions());
+          }
+          if (!symbolOptionsList.isEmpty()) {
+            final List<Symbol> newSymbols = symbolManager.create(symbolOptionsList);
+            for (int i = 0; i < newSymbols.size(); i++) {
+              final Symbol symbol = newSymbols.get(i);
+              final SymbolController symbolController = new SymbolController(symbol, true, this);
+              symbolController.getOptions().merge(options.get(i));
+              annotations.put(AnnotationRegistry.SYMBOL, symbol.getId(), symbolController);
+              newSymbolIds.add(externalId(AnnotationRegistry.SYMBOL, symbol));
+            }
+            indexAnnotations(AnnotationRegistry.SYMBOL, newSymbols);
+          }
+        }
+        result.success(newSymbolIds);
+        break;
+      }
+      case "symbols#removeAll": {
+        final List<String> symbolIds = call.argument("symbols");
+        if (symbolIds != null) {
+          final List<Symbol> removedSymbols = new ArrayList<>(symbolIds.size());
+          for (String symbolId : symbolIds) {
+            final SymbolController symbolController = (SymbolController) annotations.remove(AnnotationRegistry.SYMBOL, annotationId(AnnotationRegistry.SYMBOL, symbolId));
+            if (symbolController != null) {
+              symbolUpdates.discard(symbolController.getSymbol());
+              symbolAnimator.cancel(symbolController.getSymbol());
+              annotationIndex.remove(AnnotationRegistry.SYMBOL, symbolController.getSymbol().getId());
+              annotationIds.remove(AnnotationRegistry.SYMBOL, symbolController.getSymbol().getId());
+              removedSymbols.add(symbolController.getSymbol());
+            }
+          }
+          if (!removedSymbols.isEmpty()) {
+            symbolManager.delete(removedSymbols);
+          }
+        }
+        result.success(null);
+        break;
+      }
+      case "symbols#updateAll": {
+        final List<String> symbolIds = call.argument("symbols");
+        final List<Object> options = call.argument("options");
+        if (symbolIds == null || options == null || symbolIds.size() != options.size()) {
+          throw new IllegalArgumentException("symbols#updateAll expects one options map per symbol");
+        }
+        final List<Symbol> updatedSymbols = new ArrayList<>(symbolIds.size());
+        for (int i = 0; i < symbolIds.size(); i++) {
+          final SymbolController symbol = symbol(symbolIds.get(i));
+          cancelOverriddenAnimation(symbol, (Map<?, ?>) options.get(i));
+          Convert.interpretSymbolOptions(options.get(i), symbol);
+          symbol.getOptions().merge(options.get(i));
+          updatedSymbols.add(symbol.getSymbol());
+        }
+        indexAnnotations(AnnotationRegistry.SYMBOL, updatedSymbols);
+        if (deferAnnotationUpdates) {
+          for (Symbol symbol : updatedSymbols) {
+            symbolUpdates.add(symbol);
+          }
+        } else if (!updatedSymbols.isEmpty()) {
+          symbolManager.update(updatedSymbols);
+        }
         result.success(null);
         break;
       }
       case "line#add": {
         final LineBuilder lineBuilder = newLineBuilder();
         Convert.interpretLineOptions(call.argument("options"), lineBuilder);
+        final int zoom = simplificationZoom();
+        final LineSimplifier simplifier = lineBuilder.simplify(zoom);
         final Line line = lineBuilder.build();
-        final String lineId = String.valueOf(line.getId());
-        lines.put(lineId, new LineController(line, true, this));
-        result.success(lineId);
+        final LineController lineController = new LineController(line, true, this);
+        lineController.getOptions().merge(call.argument("options"));
+        if (simplifier != null) {
+          lineController.setSimplifier(simplifier, zoom);
+          simplifiedLines.add(lineController);
+        }
+        annotations.put(AnnotationRegistry.LINE, line.getId(), lineController);
+        indexAnnotation(AnnotationRegistry.LINE, line);
+        result.success(externalId(AnnotationRegistry.LINE, line));
         break;
       }
       case "line#remove": {
@@ -476,7 +1154,108 @@ final class MapboxMapController
         final String lineId = call.argument("line");
         final LineController line = line(lineId);
         Convert.interpretLineOptions(call.argument("options"), line);
-        line.update(lineManager);
+        line.getOptions().merge(call.argument("options"));
+        trackSimplification(line);
+        indexAnnotation(AnnotationRegistry.LINE, line.getLine());
+        updateLine(line);
+        result.success(null);
+        break;
+      }
+      case "line#appendPoints": {
+        final String lineId = call.argument("line");
+        final LineController line = line(lineId);
+        line.appendPoints((double[]) call.argument("points"));
+        trackSimplification(line);
+        indexAnnotation(AnnotationRegistry.LINE, line.getLine());
+        updateLine(line);
+        result.success(null);
+        break;
+      }
+      case "line#trimStart": {
+        final String lineId = call.argument("line");
+        final LineController line = line(lineId);
+        line.trimStart(Convert.toInt(call.argument("count")));
+        trackSimplification(line);
+        indexAnnotation(AnnotationRegistry.LINE, line.getLine());
+        updateLine(line);
+        result.success(null);
+        break;
+      }
+      case "lines#addAll": {
+        final List<String> newLineIds = new ArrayList<>();
+        final List<Object> options = call.argument("options");
+        if (options != null) {
+          final List<LineOptions> lineOptionsList = new ArrayList<>(options.size());
+          final List<LineSimplifier> simplifiers = new ArrayList<>(options.size());
+          final int zoom = simplificationZoom();
+          for (Object o : options) {
+            final LineBuilder lineBuilder = newLineBuilder();
+            Convert.interpretLineOptions(o, lineBuilder);
+            simplifiers.add(lineBuilder.simplify(zoom));
+            lineOptionsList.add(lineBuilder.getLineOptions());
+          }
+          if (!lineOptionsList.isEmpty()) {
+            final List<Line> newLines = lineManager.create(lineOptionsList);
+            for (int i = 0; i < newLines.size(); i++) {
+              final Line line = newLines.get(i);
+              final LineController lineController = new LineController(line, true, this);
+              lineController.getOptions().merge(options.get(i));
+              if (simplifiers.get(i) != null) {
+                lineController.setSimplifier(simplifiers.get(i), zoom);
+                simplifiedLines.add(lineController);
+              }
+              annotations.put(AnnotationRegistry.LINE, line.getId(), lineController);
+              newLineIds.add(externalId(AnnotationRegistry.LINE, line));
+            }
+            indexAnnotations(AnnotationRegistry.LINE, newLines);
+          }
+        }
+        result.success(newLineIds);
+        break;
+      }
+      case "lines#removeAll": {
+        final List<String> lineIds = call.argument("lines");
+        if (lineIds != null) {
+          final List<Line> removedLines = new ArrayList<>(lineIds.size());
+          for (String lineId : lineIds) {
+            final LineController lineController = (LineController) annotations.remove(AnnotationRegistry.LINE, annotationId(AnnotationRegistry.LINE, lineId));
+            if (lineController != null) {
+              lineUpdates.discard(lineController.getLine());
+              simplifiedLines.remove(lineController);
+              annotationIndex.remove(AnnotationRegistry.LINE, lineController.getLine().getId());
+              annotationIds.remove(AnnotationRegistry.LINE, lineController.getLine().getId());
+              removedLines.add(lineController.getLine());
+            }
+          }
+          if (!removedLines.isEmpty()) {
+            lineManager.delete(removedLines);
+          }
+        }
+        result.success(null);
+        break;
+      }
+      case "lines#updateAll": {
+        final List<String> lineIds = call.argument("lines");
+        final List<Object> options = call.argument("options");
+        if (lineIds == null || options == null || lineIds.size() != options.size()) {
+          throw new IllegalArgumentException("lines#updateAll expects one options map per line");
+        }
+        final List<Line> updatedLines = new ArrayList<>(lineIds.size());
+        for (int i = 0; i < lineIds.size(); i++) {
+          final LineController line = line(lineIds.get(i));
+          Convert.interpretLineOptions(options.get(i), line);
+          line.getOptions().merge(options.get(i));
+          trackSimplification(line);
+          updatedLines.add(line.getLine());
+        }
+        indexAnnotations(AnnotationRegistry.LINE, updatedLines);
+        if (deferAnnotationUpdates) {
+          for (Line line : updatedLines) {
+            lineUpdates.add(line);
+          }
+        } else if (!updatedLines.isEmpty()) {
+          lineManager.update(updatedLines);
+        }
         result.success(null);
         break;
       }
@@ -484,9 +1263,11 @@ final class MapboxMapController
         final CircleBuilder circleBuilder = newCircleBuilder();
         Convert.interpretCircleOptions(call.argument("options"), circleBuilder);
         final Circle circle = circleBuilder.build();
-        final String circleId = String.valueOf(circle.getId());
-        circles.put(circleId, new CircleController(circle, true, this));
-        result.success(circleId);
+        final CircleController circleController = new CircleController(circle, true, this);
+        circleController.getOptions().merge(call.argument("options"));
+        annotations.put(AnnotationRegistry.CIRCLE, circle.getId(), circleController);
+        indexAnnotation(AnnotationRegistry.CIRCLE, circle);
+        result.success(externalId(AnnotationRegistry.CIRCLE, circle));
         break;
       }
       case "circle#remove": {
@@ -500,7 +1281,78 @@ final class MapboxMapController
         final String circleId = call.argument("circle");
         final CircleController circle = circle(circleId);
         Convert.interpretCircleOptions(call.argument("options"), circle);
-        circle.update(circleManager);
+        circle.getOptions().merge(call.argument("options"));
+        indexAnnotation(AnnotationRegistry.CIRCLE, circle.getCircle());
+        updateCircle(circle);
+        result.success(null);
+        break;
+      }
+      case "circles#addAll": {
+        final List<String> newCircleIds = new ArrayList<>();
+        final List<Object> options = call.argument("options");
+        if (options != null) {
+          final List<CircleOptions> circleOptionsList = new ArrayList<>(options.size());
+          for (Object o : options) {
+            final CircleBuilder circleBuilder = newCircleBuilder();
+            Convert.interpretCircleOptions(o, circleBuilder);
+            circleOptionsList.add(circleBuilder.getCircleOptions());
+          }
+          if (!circleOptionsList.isEmpty()) {
+            final List<Circle> newCircles = circleManager.create(circleOptionsList);
+            for (int i = 0; i < newCircles.size(); i++) {
+              final Circle circle = newCircles.get(i);
+              final CircleController circleController = new CircleController(circle, true, this);
+              circleController.getOptions().merge(options.get(i));
+              annotations.put(AnnotationRegistry.CIRCLE, circle.getId(), circleController);
+              newCircleIds.add(externalId(AnnotationRegistry.CIRCLE, circle));
+            }
+            indexAnnotations(AnnotationRegistry.CIRCLE, newCircles);
+          }
+        }
+        result.success(newCircleIds);
+        break;
+      }
+      case "circles#removeAll": {
+        final List<String> circleIds = call.argument("circles");
+        if (circleIds != null) {
+          final List<Circle> removedCircles = new ArrayList<>(circleIds.size());
+          for (String circleId : circleIds) {
+            final CircleController circleController = (CircleController) annotations.remove(AnnotationRegistry.CIRCLE, annotationId(AnnotationRegistry.CIRCLE, circleId));
+            if (circleController != null) {
+              circleUpdates.discard(circleController.getCircle());
+              annotationIndex.remove(AnnotationRegistry.CIRCLE, circleController.getCircle().getId());
+              annotationIds.remove(AnnotationRegistry.CIRCLE, circleController.getCircle().getId());
+              removedCircles.add(circleController.getCircle());
+            }
+          }
+          if (!removedCircles.isEmpty()) {
+            circleManager.delete(removedCircles);
+          }
+        }
+        result.success(null);
+        break;
+      }
+      case "circles#updateAll": {
+        final List<String> circleIds = call.argument("circles");
+        final List<Object> options = call.argument("options");
+        if (circleIds == null || options == null || circleIds.size() != options.size()) {
+          throw new IllegalArgumentException("circles#updateAll expects one options map per circle");
+        }
+        final List<Circle> updatedCircles = new ArrayList<>(circleIds.size());
+        for (int i = 0; i < circleIds.size(); i++) {
+          final CircleController circle = circle(circleIds.get(i));
+          Convert.interpretCircleOptions(options.get(i), circle);
+          circle.getOptions().merge(options.get(i));
+          updatedCircles.add(circle.getCircle());
+        }
+        indexAnnotations(AnnotationRegistry.CIRCLE, updatedCircles);
+        if (deferAnnotationUpdates) {
+          for (Circle circle : updatedCircles) {
+            circleUpdates.add(circle);
+          }
+        } else if (!updatedCircles.isEmpty()) {
+          circleManager.update(updatedCircles);
+        }
         result.success(null);
         break;
       }
@@ -508,9 +1360,11 @@ final class MapboxMapController
         final FillBuilder fillBuilder = newFillBuilder();
         Convert.interpretFillOptions(call.argument("options"), fillBuilder);
         final Fill fill = fillBuilder.build();
-        final String fillId = String.valueOf(fill.getId());
-        fills.put(fillId, new FillController(fill, true, this));
-        result.success(fillId);
+        final FillController fillController = new FillController(fill, true, this);
+        fillController.getOptions().merge(call.argument("options"));
+        annotations.put(AnnotationRegistry.FILL, fill.getId(), fillController);
+        indexAnnotation(AnnotationRegistry.FILL, fill);
+        result.success(externalId(AnnotationRegistry.FILL, fill));
         break;
       }
       case "fill#remove": {
@@ -524,17 +1378,553 @@ final class MapboxMapController
         final String fillId = call.argument("fill");
         final FillController fill = fill(fillId);
         Convert.interpretFillOptions(call.argument("options"), fill);
-        fill.update(fillManager);
+        fill.getOptions().merge(call.argument("options"));
+        indexAnnotation(AnnotationRegistry.FILL, fill.getFill());
+        updateFill(fill);
+        result.success(null);
+        break;
+      }
+      case "fills#addAll": {
+        final List<String> newFillIds = new ArrayList<>();
+        final List<Object> options = call.argument("options");
+        if (options != null) {
+          final List<FillOptions> fillOptionsList = new ArrayList<>(options.size());
+          for (Object o : options) {
+            final FillBuilder fillBuilder = newFillBuilder();
+            Convert.interpretFillOptions(o, fillBuilder);
+            fillOptionsList.add(fillBuilder.getFillOptions());
+          }
+          if (!fillOptionsList.isEmpty()) {
+            final List<Fill> newFills = fillManager.create(fillOptionsList);
+            for (int i = 0; i < newFills.size(); i++) {
+              final Fill fill = newFills.get(i);
+              final FillController fillController = new FillController(fill, true, this);
+              fillController.getOptions().merge(options.get(i));
+              annotations.put(AnnotationRegistry.FILL, fill.getId(), fillController);
+              newFillIds.add(externalId(AnnotationRegistry.FILL, fill));
+            }
+            indexAnnotations(AnnotationRegistry.FILL, newFills);
+          }
+        }
+        result.success(newFillIds);
+        break;
+      }
+      case "fills#removeAll": {
+        final List<String> fillIds = call.argument("fills");
+        if (fillIds != null) {
+          final List<Fill> removedFills = new ArrayList<>(fillIds.size());
+          for (String fillId : fillIds) {
+            final FillController fillController = (FillController) annotations.remove(AnnotationRegistry.FILL, annotationId(AnnotationRegistry.FILL, fillId));
+            if (fillController != null) {
+              fillUpdates.discard(fillController.getFill());
+              annotationIndex.remove(AnnotationRegistry.FILL, fillController.getFill().getId());
+              annotationIds.remove(AnnotationRegistry.FILL, fillController.getFill().getId());
+              removedFills.add(fillController.getFill());
+            }
+          }
+          if (!removedFills.isEmpty()) {
+            fillManager.delete(removedFills);
+          }
+        }
+        result.success(null);
+        break;
+      }
+      case "fills#updateAll": {
+        final List<String> fillIds = call.argument("fills");
+        final List<Object> options = call.argument("options");
+        if (fillIds == null || options == null || fillIds.size() != options.size()) {
+          throw new IllegalArgumentException("fills#updateAll expects one options map per fill");
+        }
+        final List<Fill> updatedFills = new ArrayList<>(fillIds.size());
+        for (int i = 0; i < fillIds.size(); i++) {
+          final FillController fill = fill(fillIds.get(i));
+          Convert.interpretFillOptions(options.get(i), fill);
+          fill.getOptions().merge(options.get(i));
+          updatedFills.add(fill.getFill());
+        }
+        indexAnnotations(AnnotationRegistry.FILL, updatedFills);
+        if (deferAnnotationUpdates) {
+          for (Fill fill : updatedFills) {
+            fillUpdates.add(fill);
+          }
+        } else if (!updatedFills.isEmpty()) {
+          fillManager.update(updatedFills);
+        }
+        result.success(null);
+        break;
+      }
+      case "annotations#updateStats": {
+        final Map<String, Object> reply = new HashMap<>(3);
+        reply.put("flushCount", annotationUpdateBatcher.getFlushCount());
+        reply.put("committedUpdateCount", annotationUpdateBatcher.getCommittedUpdateCount());
+        reply.put("coalescedUpdateCount", annotationUpdateBatcher.getCoalescedUpdateCount());
+        result.success(reply);
+        break;
+      }
+      case "metrics#snapshot": {
+        final Map<String, Object> annotationCounts = new HashMap<>(AnnotationRegistry.TYPE_COUNT);
+        annotationCounts.put("symbol", annotations.size(AnnotationRegistry.SYMBOL));
+        annotationCounts.put("line", annotations.size(AnnotationRegistry.LINE));
+        annotationCounts.put("circle", annotations.size(AnnotationRegistry.CIRCLE));
+        annotationCounts.put("fill", annotations.size(AnnotationRegistry.FILL));
+        final Map<String, Object> reply = new HashMap<>(2);
+        reply.put("methods", metrics.snapshot());
+        reply.put("annotationCounts", annotationCounts);
+        result.success(reply);
+        break;
+      }
+      case "frameStats#snapshot": {
+        final Boolean reset = call.argument("reset");
+        result.success(frameStats.snapshot());
+        if (Boolean.TRUE.equals(reset)) {
+          frameStats.reset();
+        }
+        break;
+      }
+      case "frameStats#setReportInterval": {
+        final Integer interval = call.argument("interval");
+        setFrameStatsReportInterval(interval == null ? 0 : interval);
+        result.success(null);
+        break;
+      }
+      case "recorder#start": {
+        final String path = call.argument("path");
+        if (recorder != null) {
+          result.error("RECORDING", "The method calls are already being recorded", null);
+          break;
+        }
+        try {
+          recorder = new MethodCallRecorder(new File(path));
+        } catch (IOException e) {
+          result.error("IO_ERROR", e.getMessage(), null);
+          break;
+        }
+        result.success(null);
+        break;
+      }
+      case "recorder#stop": {
+        if (recorder == null) {
+          result.success(0);
+          break;
+        }
+        recorder.stop((callCount, error) -> mapView.post(() -> {
+          if (error != null) {
+            result.error("IO_ERROR", error.getMessage(), null);
+          } else {
+            result.success(callCount);
+          }
+        }));
+        recorder = null;
+        break;
+      }
+      case "metrics#reset": {
+        // the counters are shared, this resets them for all maps
+        metrics.reset();
+        result.success(null);
+        break;
+      }
+      case "annotations#queryBounds": {
+        final Double west = call.argument("west");
+        final Double south = call.argument("south");
+        final Double east = call.argument("east");
+        final Double north = call.argument("north");
+        final List<List<String>> idsByType = new ArrayList<>(AnnotationRegistry.TYPE_COUNT);
+        for (int type = 0; type < AnnotationRegistry.TYPE_COUNT; type++) {
+          idsByType.add(new ArrayList<>());
+        }
+        for (AnnotationSpatialIndex.Entry entry : annotationIndex.queryBounds(west, south, east, north)) {
+          idsByType.get(entry.type).add(String.valueOf(annotationIds.toId(entry.type, entry.id)));
+        }
+        final Map<String, Object> reply = new HashMap<>(4);
+        reply.put("symbols", idsByType.get(AnnotationRegistry.SYMBOL));
+        reply.put("lines", idsByType.get(AnnotationRegistry.LINE));
+        reply.put("circles", idsByType.get(AnnotationRegistry.CIRCLE));
+        reply.put("fills", idsByType.get(AnnotationRegistry.FILL));
+        result.success(reply);
+        break;
+      }
+      case "annotations#nearest": {
+        final Double latitude = call.argument("latitude");
+        final Double longitude = call.argument("longitude");
+        final Double tolerance = call.argument("tolerance");
+        final double worldSize = WORLD_SIZE * Math.pow(2, mapboxMap.getCameraPosition().zoom);
+        final AnnotationSpatialIndex.Entry entry = annotationIndex.nearest(latitude, longitude, tolerance / worldSize);
+        if (entry == null) {
+          result.success(null);
+          break;
+        }
+        final Map<String, Object> reply = new HashMap<>(2);
+        reply.put("type", AnnotationRegistry.typeName(entry.type));
+        reply.put("id", String.valueOf(annotationIds.toId(entry.type, entry.id)));
+        result.success(reply);
+        break;
+      }
+      case "clusters#set": {
+        final String collectionId = call.argument("collectionId");
+        final String type = call.argument("type");
+        final double[] points = call.argument("points");
+        final Object options = call.argument("options");
+        final Object clusterOptions = call.argument("clusterOptions") != null ? call.argument("clusterOptions") : options;
+        final Integer radius = call.argument("radius");
+        final Integer maxZoom = call.argument("maxZoom");
+        final Integer minPoints = call.argument("minPoints");
+        if (!"symbol".equals(type) && !"circle".equals(type)) {
+          result.error("INVALID_CLUSTER_TYPE", "Unsupported cluster type " + type, null);
+          break;
+        }
+        final PointClusterIndex index = new PointClusterIndex(
+          radius == null ? DEFAULT_CLUSTER_RADIUS : radius,
+          CLUSTER_EXTENT,
+          0,
+          maxZoom == null ? DEFAULT_CLUSTER_MAX_ZOOM : maxZoom,
+          minPoints == null ? DEFAULT_CLUSTER_MIN_POINTS : minPoints);
+        final int generation = nextClusterGeneration(collectionId);
+        // building the index of a large collection takes too long for the platform thread
+        runInBackground(result, "INVALID_POINTS", () -> {
+          index.load(points);
+          return index;
+        }, (loaded, reply) -> {
+          if (generation != clusterGenerations.get(collectionId)) {
+            // a later clusters#set or clusters#remove already replaced this collection
+            reply.success(null);
+            return;
+          }
+          if ("symbol".equals(type)) {
+            setClusteredAnnotations(collectionId, new ClusteredAnnotations<>(
+              AnnotationRegistry.SYMBOL, loaded, symbolClusterRenderer(options, clusterOptions)));
+          } else {
+            setClusteredAnnotations(collectionId, new ClusteredAnnotations<>(
+              AnnotationRegistry.CIRCLE, loaded, circleClusterRenderer(options, clusterOptions)));
+          }
+          reply.success(null);
+        });
+        break;
+      }
+      case "clusters#remove": {
+        final String collectionId = call.argument("collectionId");
+        nextClusterGeneration(collectionId);
+        final ClusteredAnnotations<?> collection = clusteredAnnotations.remove(collectionId);
+        if (collection != null) {
+          collection.clear();
+        }
+        result.success(null);
+        break;
+      }
+      case "style#addImages": {
+        final Map<String, byte[]> images = call.argument("images");
+        final boolean sdf = Boolean.TRUE.equals(call.argument("sdf"));
+        // decoding many images takes too long for the platform thread
+        runInBackground(result, "INVALID_IMAGE", () -> iconImages.decode(images), (decoded, reply) -> {
+          final Style style = mapboxMap.getStyle();
+          if (style == null) {
+            reply.error("STYLE_NOT_LOADED", "The style has not been loaded yet", null);
+            return;
+          }
+          iconImages.add(decoded, sdf, style);
+          reply.success(null);
+        });
+        break;
+      }
+      case "style#removeImage": {
+        final String name = call.argument("name");
+        iconImages.remove(name);
+        final Style style = mapboxMap.getStyle();
+        if (style != null) {
+          style.removeImage(name);
+        }
+        result.success(null);
+        break;
+      }
+      case "source#add": {
+        final Style style = mapboxMap.getStyle();
+        if (style == null) {
+          result.error("STYLE_NOT_LOADED", "The style has not been loaded yet", null);
+          break;
+        }
+        final GeoJsonSource source = new GeoJsonSource((String) call.argument("sourceId"));
+        setGeoJsonData(source, call);
+        style.addSource(source);
+        // rendered features of the new source are missing from cached results
+        featureQueryCache.invalidateResults();
+        result.success(null);
+        break;
+      }
+      case "source#setData": {
+        final Style style = mapboxMap.getStyle();
+        final String sourceId = call.argument("sourceId");
+        final GeoJsonSource source = style == null ? null : style.getSourceAs(sourceId);
+        if (source == null) {
+          result.error("SOURCE_NOT_FOUND", "No GeoJSON source " + sourceId, null);
+          break;
+        }
+        setGeoJsonData(source, call);
+        featureQueryCache.invalidateResults();
         result.success(null);
         break;
       }
+      case "source#remove": {
+        final Style style = mapboxMap.getStyle();
+        final boolean removed = style != null && style.removeSource((String) call.argument("sourceId"));
+        if (removed) {
+          featureQueryCache.invalidateResults();
+        }
+        result.success(removed);
+        break;
+      }
+      case "layer#add": {
+        final Style style = mapboxMap.getStyle();
+        if (style == null) {
+          result.error("STYLE_NOT_LOADED", "The style has not been loaded yet", null);
+          break;
+        }
+        final Layer layer = newLayer(call);
+        if (layer == null) {
+          result.error("INVALID_LAYER_TYPE", "Unsupported layer type " + call.argument("type"), null);
+          break;
+        }
+        final Map<String, String> properties = call.argument("properties");
+        if (properties != null) {
+          try {
+            layer.setProperties(LayerProperties.toPropertyValues(properties));
+          } catch (IllegalArgumentException e) {
+            result.error("INVALID_LAYER_PROPERTY", e.getMessage(), null);
+            break;
+          }
+        }
+        final Double minZoom = call.argument("minZoom");
+        if (minZoom != null) {
+          layer.setMinZoom(minZoom.floatValue());
+        }
+        final Double maxZoom = call.argument("maxZoom");
+        if (maxZoom != null) {
+          layer.setMaxZoom(maxZoom.floatValue());
+        }
+        final String belowLayerId = call.argument("belowLayerId");
+        if (belowLayerId != null) {
+          style.addLayerBelow(layer, belowLayerId);
+        } else {
+          style.addLayer(layer);
+        }
+        result.success(null);
+        break;
+      }
+      case "layer#remove": {
+        final Style style = mapboxMap.getStyle();
+        result.success(style != null && style.removeLayer((String) call.argument("layerId")));
+        break;
+      }
       default:
         result.notImplemented();
     }
   }
 
+  /**
+   * Work done on the platform thread with the value computed in the background, replies to
+   * the method call.
+   */
+  private interface BackgroundReply<T> {
+    void reply(T value, MethodChannel.Result result);
+  }
+
+  /**
+   * Runs work on the background thread and then replies with its value on the platform thread.
+   * The result is always answered: with invalidArgumentCode if the work rejects its arguments,
+   * with an error for any other failure, and with an error if the map is disposed first.
+   */
+  private <T> void runInBackground(MethodChannel.Result result, String invalidArgumentCode,
+                                   Callable<T> work, BackgroundReply<T> reply) {
+    pendingResults.add(result);
+    backgroundExecutor.execute(() -> {
+      final T value;
+      try {
+        value = work.call();
+      } catch (Exception e) {
+        mapView.post(() -> {
+          if (!pendingResults.remove(result)) {
+            return;
+          }
+          if (e instanceof IllegalArgumentException) {
+            result.error(invalidArgumentCode, e.getMessage(), null);
+          } else {
+            Log.e(TAG, e.getMessage(), e);
+            result.error("BACKGROUND_ERROR", e.toString(), null);
+          }
+        });
+        return;
+      }
+      mapView.post(() -> {
+        if (!pendingResults.remove(result)) {
+          return;
+        }
+        try {
+          reply.reply(value, result);
+        } catch (RuntimeException e) {
+          Log.e(TAG, e.getMessage(), e);
+          result.error("BACKGROUND_ERROR", e.toString(), null);
+        }
+      });
+    });
+  }
+
+  private int nextClusterGeneration(String collectionId) {
+    final Integer generation = clusterGenerations.get(collectionId);
+    final int next = generation == null ? 1 : generation + 1;
+    clusterGenerations.put(collectionId, next);
+    return next;
+  }
+
+  private void setClusteredAnnotations(String collectionId, ClusteredAnnotations<?> collection) {
+    final ClusteredAnnotations<?> previous = clusteredAnnotations.put(collectionId, collection);
+    if (previous != null) {
+      previous.clear();
+    }
+    refreshClusteredAnnotations(collection);
+  }
+
+  private void refreshClusteredAnnotations() {
+    for (ClusteredAnnotations<?> collection : clusteredAnnotations.values()) {
+      refreshClusteredAnnotations(collection);
+    }
+  }
+
+  /**
+   * Renders the clusters around the visible region, once the annotation manager of the
+   * collection exists.
+   */
+  private void refreshClusteredAnnotations(ClusteredAnnotations<?> collection) {
+    if (mapboxMap == null
+      || (collection.getType() == AnnotationRegistry.SYMBOL ? symbolManager : circleManager) == null) {
+      return;
+    }
+    final LatLngBounds bounds = mapboxMap.getProjection().getVisibleRegion().latLngBounds;
+    double lngSpan = bounds.getLonEast() - bounds.getLonWest();
+    if (lngSpan < 0) {
+      lngSpan += 360;
+    }
+    final double lngPadding = lngSpan * CLUSTER_BOUNDS_PADDING;
+    final double latPadding = (bounds.getLatNorth() - bounds.getLatSouth()) * CLUSTER_BOUNDS_PADDING;
+    collection.refresh(
+      bounds.getLonWest() - lngPadding,
+      bounds.getLatSouth() - latPadding,
+      bounds.getLonEast() + lngPadding,
+      bounds.getLatNorth() + latPadding,
+      mapboxMap.getCameraPosition().zoom);
+  }
+
+  /**
+   * Renders clusters as symbols labelled with their point count, styled by clusterOptions.
+   * Single points are styled by options.
+   */
+  private ClusteredAnnotations.Renderer<Symbol> symbolClusterRenderer(Object options, Object clusterOptions) {
+    return new ClusteredAnnotations.Renderer<Symbol>() {
+      @Override
+      public List<Symbol> add(List<PointClusterIndex.Cluster> clusters) {
+        final List<SymbolOptions> symbolOptions = new ArrayList<>(clusters.size());
+        for (PointClusterIndex.Cluster cluster : clusters) {
+          final SymbolBuilder symbolBuilder = newSymbolBuilder();
+          Convert.interpretSymbolOptions(cluster.isCluster() ? clusterOptions : options, symbolBuilder);
+          symbolBuilder.setGeometry(new LatLng(cluster.latitude, cluster.longitude));
+          if (cluster.isCluster()) {
+            symbolBuilder.setTextField(String.valueOf(cluster.pointCount));
+          }
+          symbolOptions.add(symbolBuilder.getSymbolOptions());
+        }
+        return symbolManager.create(symbolOptions);
+      }
+
+      @Override
+      public void remove(List<Symbol> symbols) {
+        symbolManager.delete(symbols);
+      }
+    };
+  }
+
+  /**
+   * Renders clusters as circles styled by clusterOptions, single points are styled by options.
+   */
+  private ClusteredAnnotations.Renderer<Circle> circleClusterRenderer(Object options, Object clusterOptions) {
+    return new ClusteredAnnotations.Renderer<Circle>() {
+      @Override
+      public List<Circle> add(List<PointClusterIndex.Cluster> clusters) {
+        final List<CircleOptions> circleOptions = new ArrayList<>(clusters.size());
+        for (PointClusterIndex.Cluster cluster : clusters) {
+          final CircleBuilder circleBuilder = newCircleBuilder();
+          Convert.interpretCircleOptions(cluster.isCluster() ? clusterOptions : options, circleBuilder);
+          circleBuilder.setGeometry(new LatLng(cluster.latitude, cluster.longitude));
+          circleOptions.add(circleBuilder.getCircleOptions());
+        }
+        return circleManager.create(circleOptions);
+      }
+
+      @Override
+      public void remove(List<Circle> circles) {
+        circleManager.delete(circles);
+      }
+    };
+  }
+
+  /**
+   * Sets the data of a GeoJSON source from a GeoJSON string, a file path or packed point
+   * coordinates with optional per point properties.
+   */
+  private void setGeoJsonData(GeoJsonSource source, MethodCall call) {
+    final String geojson = call.argument("geojson");
+    final String path = call.argument("path");
+    final double[] points = call.argument("points");
+    if (geojson != null) {
+      source.setGeoJson(geojson);
+    } else if (path != null) {
+      source.setUri("file://" + path);
+    } else if (points != null) {
+      source.setGeoJson(Convert.toFeatureCollection(points, call.argument("properties")));
+    }
+  }
+
+  private Layer newLayer(MethodCall call) {
+    final String layerId = call.argument("layerId");
+    final String sourceId = call.argument("sourceId");
+    final Layer layer;
+    switch ((String) call.argument("type")) {
+      case "symbol":
+        layer = new SymbolLayer(layerId, sourceId);
+        break;
+      case "circle":
+        layer = new CircleLayer(layerId, sourceId);
+        break;
+      case "line":
+        layer = new LineLayer(layerId, sourceId);
+        break;
+      case "fill":
+        layer = new FillLayer(layerId, sourceId);
+        break;
+      default:
+        return null;
+    }
+    final String filter = call.argument("filter");
+    if (filter != null) {
+      setFilter(layer, Expression.raw(filter));
+    }
+    return layer;
+  }
+
+  /**
+   * Sets the filter of a layer created by newLayer, the layer types do not share a setter.
+   */
+  private static void setFilter(Layer layer, Expression filter) {
+    if (layer instanceof SymbolLayer) {
+      ((SymbolLayer) layer).setFilter(filter);
+    } else if (layer instanceof CircleLayer) {
+      ((CircleLayer) layer).setFilter(filter);
+    } else if (layer instanceof LineLayer) {
+      ((LineLayer) layer).setFilter(filter);
+    } else if (layer instanceof FillLayer) {
+      ((FillLayer) layer).setFilter(filter);
+    }
+  }
+
   @Override
   public void onCameraMoveStarted(int reason) {
+    cameraMoveEventPolicy.reset();
     final Map<String, Object> arguments = new HashMap<>(2);
     boolean isGesture = reason == MapboxMap.OnCameraMoveStartedListener.REASON_API_GESTURE;
     arguments.put("isGesture", isGesture);
@@ -546,96 +1936,150 @@ final class MapboxMapController
     if (!trackCameraPosition) {
       return;
     }
-    final Map<String, Object> arguments = new HashMap<>(2);
-    arguments.put("position", Convert.toJson(mapboxMap.getCameraPosition()));
-    methodChannel.invokeMethod("camera#onMove", arguments);
+    final CameraPosition position = mapboxMap.getCameraPosition();
+    if (cameraMoveEventPolicy.offer(position, SystemClock.uptimeMillis())) {
+      eventEncoder.sendCameraMove(position);
+    }
   }
 
   @Override
   public void onCameraIdle() {
+    featureQueryCache.invalidateResults();
+    refreshClusteredAnnotations();
+    refreshSimplifiedLines();
+    final CameraPosition pendingPosition = cameraMoveEventPolicy.takePending(SystemClock.uptimeMillis());
+    if (trackCameraPosition && pendingPosition != null) {
+      eventEncoder.sendCameraMove(pendingPosition);
+    }
     methodChannel.invokeMethod("camera#onIdle", Collections.singletonMap("map", id));
   }
 
   @Override
-  public void onCameraTrackingChanged(int currentMode) {
-    final Map<String, Object> arguments = new HashMap<>(2);
-    arguments.put("mode", currentMode);
-    methodChannel.invokeMethod("map#onCameraTrackingChanged", arguments);
+  public void onDidFinishRenderingFrame(boolean fully) {
+    frameStats.onFrame(System.nanoTime(), fully);
   }
 
   @Override
-  public void onCameraTrackingDismissed() {
-    methodChannel.invokeMethod("map#onCameraTrackingDismissed", new HashMap<>());
+  public void onDidFinishLoadingStyle() {
+    frameStats.onStyleLoaded(System.nanoTime());
   }
 
   @Override
-  public void onAnnotationClick(Annotation annotation) {
-    if (annotation instanceof Symbol) {
-      final SymbolController symbolController = symbols.get(String.valueOf(annotation.getId()));
-      if (symbolController != null) {
-        symbolController.onTap();
-      }
+  public void onDidBecomeIdle() {
+    frameStats.onIdle();
+  }
+
+  /**
+   * Sends the frame stats to Dart every interval milliseconds and resets them, so every report
+   * covers the frames since the previous one. 0 stops the reports.
+   */
+  private void setFrameStatsReportInterval(int interval) {
+    mapView.removeCallbacks(frameStatsReporter);
+    frameStatsReportInterval = Math.max(0, interval);
+    if (frameStatsReportInterval > 0) {
+      frameStats.reset();
+      mapView.postDelayed(frameStatsReporter, frameStatsReportInterval);
     }
+  }
 
-    if (annotation instanceof Line) {
-      final LineController lineController = lines.get(String.valueOf(annotation.getId()));
-      if (lineController != null) {
-        lineController.onTap();
+  private final Runnable frameStatsReporter = new Runnable() {
+    @Override
+    public void run() {
+      if (disposed || frameStatsReportInterval == 0) {
+        return;
       }
+      methodChannel.invokeMethod("frameStats#onReport", frameStats.snapshot());
+      frameStats.reset();
+      mapView.postDelayed(this, frameStatsReportInterval);
     }
+  };
 
-    if (annotation instanceof Circle) {
-      final CircleController circleController = circles.get(String.valueOf(annotation.getId()));
-      if (circleController != null) {
-        circleController.onTap();
-      }
+  @Override
+  public void onCameraTrackingChanged(int currentMode) {
+    eventEncoder.sendCameraTrackingChanged(currentMode);
+  }
+
+  @Override
+  public void onCameraTrackingDismissed() {
+    methodChannel.invokeMethod("map#onCameraTrackingDismissed", new HashMap<>());
+  }
+
+  private void onAnnotationClick(int type, long id) {
+    final Object controller = annotations.get(type, id);
+    if (controller == null) {
+      onClusterClick(type, id);
+      return;
+    }
+    switch (type) {
+      case AnnotationRegistry.SYMBOL:
+        ((SymbolController) controller).onTap();
+        break;
+      case AnnotationRegistry.LINE:
+        ((LineController) controller).onTap();
+        break;
+      case AnnotationRegistry.CIRCLE:
+        ((CircleController) controller).onTap();
+        break;
+      case AnnotationRegistry.FILL:
+        ((FillController) controller).onTap();
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void onAnnotationDragFinished(int type, Annotation<?> annotation) {
+    if (annotations.contains(type, annotation.getId())) {
+      indexAnnotation(type, annotation);
     }
+  }
 
-    if (annotation instanceof Fill) {
-      final FillController fillController = fills.get(String.valueOf(annotation.getId()));
-      if (fillController != null) {
-        fillController.onTap();
+  private void onClusterClick(int type, long annotationId) {
+    for (Map.Entry<String, ClusteredAnnotations<?>> entry : clusteredAnnotations.entrySet()) {
+      final ClusteredAnnotations<?> collection = entry.getValue();
+      final PointClusterIndex.Cluster cluster = collection.getType() == type
+        ? collection.getCluster(annotationId)
+        : null;
+      if (cluster == null) {
+        continue;
       }
+      final Map<String, Object> arguments = new HashMap<>(7);
+      arguments.put("collectionId", entry.getKey());
+      arguments.put("id", cluster.id);
+      arguments.put("isCluster", cluster.isCluster());
+      arguments.put("pointCount", cluster.pointCount);
+      arguments.put("expansionZoom", cluster.isCluster() ? collection.getIndex().getExpansionZoom(cluster.id) : null);
+      arguments.put("latitude", cluster.latitude);
+      arguments.put("longitude", cluster.longitude);
+      methodChannel.invokeMethod("cluster#onTap", arguments);
+      return;
     }
   }
 
   @Override
   public void onSymbolTapped(Symbol symbol) {
-    final Map<String, Object> arguments = new HashMap<>(2);
-    arguments.put("symbol", String.valueOf(symbol.getId()));
-    methodChannel.invokeMethod("symbol#onTap", arguments);
+    eventEncoder.sendAnnotationTap(MapEventEncoder.SYMBOL_TAP, annotationIds.toId(AnnotationRegistry.SYMBOL, symbol.getId()));
   }
 
   @Override
   public void onLineTapped(Line line) {
-    final Map<String, Object> arguments = new HashMap<>(2);
-    arguments.put("line", String.valueOf(line.getId()));
-    methodChannel.invokeMethod("line#onTap", arguments);
+    eventEncoder.sendAnnotationTap(MapEventEncoder.LINE_TAP, annotationIds.toId(AnnotationRegistry.LINE, line.getId()));
   }
 
   @Override
   public void onCircleTapped(Circle circle) {
-    final Map<String, Object> arguments = new HashMap<>(2);
-    arguments.put("circle", String.valueOf(circle.getId()));
-    methodChannel.invokeMethod("circle#onTap", arguments);
+    eventEncoder.sendAnnotationTap(MapEventEncoder.CIRCLE_TAP, annotationIds.toId(AnnotationRegistry.CIRCLE, circle.getId()));
   }
 
   @Override
   public void onFillTapped(Fill fill) {
-    final Map<String, Object> arguments = new HashMap<>(2);
-    arguments.put("fill", String.valueOf(fill.getId()));
-    methodChannel.invokeMethod("fill#onTap", arguments);
+    eventEncoder.sendAnnotationTap(MapEventEncoder.FILL_TAP, annotationIds.toId(AnnotationRegistry.FILL, fill.getId()));
   }
 
   @Override
   public boolean onMapClick(@NonNull LatLng point) {
     PointF pointf = mapboxMap.getProjection().toScreenLocation(point);
-    final Map<String, Object> arguments = new HashMap<>(5);
-    arguments.put("x", pointf.x);
-    arguments.put("y", pointf.y);
-    arguments.put("lng", point.getLongitude());
-    arguments.put("lat", point.getLatitude());
-    methodChannel.invokeMethod("map#onMapClick", arguments);
+    eventEncoder.sendMapClick(pointf.x, pointf.y, point.getLongitude(), point.getLatitude());
     return true;
   }
 
@@ -645,6 +2089,21 @@ final class MapboxMapController
       return;
     }
     disposed = true;
+    annotationUpdateBatcher.cancel();
+    symbolAnimator.cancelAll();
+    backgroundExecutor.shutdownNow();
+    for (MethodChannel.Result result : pendingResults) {
+      result.error("DISPOSED", "The map was disposed before the call completed", null);
+    }
+    pendingResults.clear();
+    mapView.removeCallbacks(frameStatsReporter);
+    if (recorder != null) {
+      recorder.stop((callCount, error) -> { });
+      recorder = null;
+    }
+    mapView.removeOnDidFinishRenderingFrameListener(this);
+    mapView.removeOnDidFinishLoadingStyleListener(this);
+    mapView.removeOnDidBecomeIdleListener(this);
     if (locationComponent != null) {
       locationComponent.setLocationComponentEnabled(false);
     }
@@ -661,7 +2120,9 @@ final class MapboxMapController
       fillManager.onDestroy();
     }
 
-    mapView.onDestroy();
+    if (!releaseMapView()) {
+      mapView.onDestroy();
+    }
     registrar.activity().getApplication().unregisterActivityLifecycleCallbacks(this);
   }
 
@@ -738,6 +2199,34 @@ final class MapboxMapController
     this.trackCameraPosition = trackCameraPosition;
   }
 
+  @Override
+  public void setDeferAnnotationUpdates(boolean deferAnnotationUpdates) {
+    this.deferAnnotationUpdates = deferAnnotationUpdates;
+    if (!deferAnnotationUpdates) {
+      annotationUpdateBatcher.flush();
+    }
+  }
+
+  @Override
+  public void setCacheStyle(boolean cacheStyle) {
+    this.cacheStyle = cacheStyle;
+  }
+
+  @Override
+  public void setCameraMoveThrottleMs(int cameraMoveThrottleMs) {
+    cameraMoveEventPolicy.setThrottleMs(cameraMoveThrottleMs);
+  }
+
+  @Override
+  public void setMinZoomDelta(float minZoomDelta) {
+    cameraMoveEventPolicy.setMinZoomDelta(minZoomDelta);
+  }
+
+  @Override
+  public void setMinBearingDelta(float minBearingDelta) {
+    cameraMoveEventPolicy.setMinBearingDelta(minBearingDelta);
+  }
+
   @Override
   public void setRotateGesturesEnabled(boolean rotateGesturesEnabled) {
     mapboxMap.getUiSettings().setRotateGesturesEnabled(rotateGesturesEnabled);
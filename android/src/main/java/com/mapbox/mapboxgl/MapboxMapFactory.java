@@ -17,11 +17,16 @@ public class MapboxMapFactory extends PlatformViewFactory {
 
   private final AtomicInteger mActivityState;
   private final Registrar mPluginRegistrar;
+  private final MapViewPool mMapViewPool;
+  private final MethodCallMetrics mMetrics;
 
-  public MapboxMapFactory(AtomicInteger state, Registrar registrar) {
+  public MapboxMapFactory(AtomicInteger state, Registrar registrar, MapViewPool mapViewPool,
+                          MethodCallMetrics metrics) {
     super(StandardMessageCodec.INSTANCE);
     mActivityState = state;
     mPluginRegistrar = registrar;
+    mMapViewPool = mapViewPool;
+    mMetrics = metrics;
   }
 
   @Override
@@ -34,6 +39,6 @@ public class MapboxMapFactory extends PlatformViewFactory {
       CameraPosition position = Convert.toCameraPosition(params.get("initialCameraPosition"));
       builder.setInitialCameraPosition(position);
     }
-    return builder.build(id, context, mActivityState, mPluginRegistrar);
+    return builder.build(id, context, mActivityState, mPluginRegistrar, mMapViewPool, mMetrics);
   }
 }
@@ -27,6 +27,16 @@ interface MapboxMapOptionsSink {
 
   void setTrackCameraPosition(boolean trackCameraPosition);
 
+  void setDeferAnnotationUpdates(boolean deferAnnotationUpdates);
+
+  void setCacheStyle(boolean cacheStyle);
+
+  void setCameraMoveThrottleMs(int cameraMoveThrottleMs);
+
+  void setMinZoomDelta(float minZoomDelta);
+
+  void setMinBearingDelta(float minBearingDelta);
+
   void setZoomGesturesEnabled(boolean zoomGesturesEnabled);
 
   void setMyLocationEnabled(boolean myLocationEnabled);
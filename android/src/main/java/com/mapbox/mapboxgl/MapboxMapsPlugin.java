@@ -28,6 +28,8 @@ public class MapboxMapsPlugin implements Application.ActivityLifecycleCallbacks
   static final int DESTROYED = 6;
   private final AtomicInteger state = new AtomicInteger(0);
   private final int registrarActivityHashCode;
+  private final MapViewPool mapViewPool;
+  private final MethodCallMetrics metrics = new MethodCallMetrics();
 
   public static void registerWith(Registrar registrar) {
     final MapboxMapsPlugin plugin = new MapboxMapsPlugin(registrar);
@@ -35,11 +37,11 @@ public class MapboxMapsPlugin implements Application.ActivityLifecycleCallbacks
     registrar
       .platformViewRegistry()
       .registerViewFactory(
-        "plugins.flutter.io/mapbox_gl", new MapboxMapFactory(plugin.state, registrar));
+        "plugins.flutter.io/mapbox_gl", new MapboxMapFactory(plugin.state, registrar, plugin.mapViewPool, plugin.metrics));
 
     MethodChannel methodChannel =
             new MethodChannel(registrar.messenger(), "plugins.flutter.io/mapbox_gl");
-    methodChannel.setMethodCallHandler(new GlobalMethodHandler(registrar));
+    methodChannel.setMethodCallHandler(new GlobalMethodHandler(registrar, methodChannel, plugin.mapViewPool, plugin.metrics));
   }
 
   @Override
@@ -92,9 +94,11 @@ public class MapboxMapsPlugin implements Application.ActivityLifecycleCallbacks
       return;
     }
     state.set(DESTROYED);
+    mapViewPool.destroy();
   }
 
   private MapboxMapsPlugin(Registrar registrar) {
     this.registrarActivityHashCode = registrar.activity().hashCode();
+    this.mapViewPool = new MapViewPool(registrar.activity());
   }
 }
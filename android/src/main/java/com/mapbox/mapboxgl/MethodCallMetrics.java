@@ -0,0 +1,186 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Call counts, latency histograms and argument sizes of the method calls from Dart, by method.
+ *
+ * Latencies are the time the platform thread spent handling a call, replies sent later from
+ * other threads are not included. They are kept in microseconds in a log-linear histogram:
+ * values below 16 have a bucket each, above that every power of two is split into 8 buckets,
+ * so percentiles are off by at most an eighth. Recording never locks once a method was seen,
+ * a snapshot taken while calls are recorded may be off by the calls in flight.
+ *
+ * The metrics are off until enabled from Dart, until then calls are neither timed nor is the
+ * size of their arguments estimated. One instance is shared by all maps and the global channel.
+ */
+final class MethodCallMetrics {
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int LINEAR_VALUES = 2 * SUB_BUCKET_COUNT;
+  private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+  private static final double[] PERCENTILES = {50, 90, 99};
+  private static final String[] PERCENTILE_KEYS = {"p50Micros", "p90Micros", "p99Micros"};
+
+  private static final class Stats {
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+    private final AtomicLong argumentBytes = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_COUNT);
+
+    void record(long micros, long bytes) {
+      count.incrementAndGet();
+      totalMicros.addAndGet(micros);
+      argumentBytes.addAndGet(bytes);
+      histogram.incrementAndGet(bucket(micros));
+      long max = maxMicros.get();
+      while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+        max = maxMicros.get();
+      }
+    }
+
+    Map<String, Object> toMap() {
+      final long[] counts = new long[BUCKET_COUNT];
+      long total = 0;
+      for (int i = 0; i < BUCKET_COUNT; i++) {
+        counts[i] = histogram.get(i);
+        total += counts[i];
+      }
+      final long max = maxMicros.get();
+      final Map<String, Object> map = new HashMap<>(9);
+      map.put("count", count.get());
+      map.put("totalMicros", totalMicros.get());
+      map.put("maxMicros", max);
+      map.put("argumentBytes", argumentBytes.get());
+      for (int p = 0; p < PERCENTILES.length; p++) {
+        map.put(PERCENTILE_KEYS[p], Math.min(max, percentile(counts, total, PERCENTILES[p])));
+      }
+      return map;
+    }
+  }
+
+  private final ConcurrentHashMap<String, Stats> statsByMethod = new ConcurrentHashMap<>();
+  private volatile boolean enabled = false;
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Records a handled call that took the given time and had arguments of the given size.
+   */
+  void record(String method, long nanos, long argumentBytes) {
+    Stats stats = statsByMethod.get(method);
+    if (stats == null) {
+      final Stats added = new Stats();
+      stats = statsByMethod.putIfAbsent(method, added);
+      if (stats == null) {
+        stats = added;
+      }
+    }
+    stats.record(Math.max(0, nanos / 1000), argumentBytes);
+  }
+
+  /**
+   * Returns the metrics of every method called since the last reset, by method name.
+   */
+  Map<String, Object> snapshot() {
+    final Map<String, Object> snapshot = new HashMap<>(statsByMethod.size());
+    for (Map.Entry<String, Stats> entry : statsByMethod.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().toMap());
+    }
+    return snapshot;
+  }
+
+  /**
+   * Clears the counters of all methods, of every map.
+   */
+  void reset() {
+    statsByMethod.clear();
+  }
+
+  /**
+   * Estimates the size of decoded call arguments in bytes, roughly as they were encoded.
+   */
+  static long estimateSize(Object value) {
+    if (value == null || value instanceof Boolean) {
+      return 1;
+    } else if (value instanceof String) {
+      return ((String) value).length();
+    } else if (value instanceof Integer) {
+      return 4;
+    } else if (value instanceof Number) {
+      return 8;
+    } else if (value instanceof byte[]) {
+      return ((byte[]) value).length;
+    } else if (value instanceof int[]) {
+      return 4L * ((int[]) value).length;
+    } else if (value instanceof long[]) {
+      return 8L * ((long[]) value).length;
+    } else if (value instanceof double[]) {
+      return 8L * ((double[]) value).length;
+    } else if (value instanceof List) {
+      long size = 0;
+      for (Object element : (List<?>) value) {
+        size += estimateSize(element);
+      }
+      return size;
+    } else if (value instanceof Map) {
+      long size = 0;
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        size += estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+      }
+      return size;
+    }
+    return 8;
+  }
+
+  static int bucket(long micros) {
+    if (micros < LINEAR_VALUES) {
+      return (int) micros;
+    }
+    final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+    return (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + (int) (micros >>> (exponent - SUB_BUCKET_BITS));
+  }
+
+  /**
+   * Returns the largest value that falls into the bucket.
+   */
+  static long bucketMax(int bucket) {
+    if (bucket < LINEAR_VALUES) {
+      return bucket;
+    }
+    final int shift = bucket / SUB_BUCKET_COUNT - 1;
+    final long mantissa = bucket % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+    return (mantissa << shift) + (1L << shift) - 1;
+  }
+
+  private static long percentile(long[] counts, long total, double percentile) {
+    if (total == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return bucketMax(i);
+      }
+    }
+    return bucketMax(counts.length - 1);
+  }
+}
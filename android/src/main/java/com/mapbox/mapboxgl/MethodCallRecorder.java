@@ -0,0 +1,178 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.StandardMethodCodec;
+
+/**
+ * Writes the method calls a map receives from Dart to a log file, so the exact traffic of an
+ * app can be replayed later.
+ *
+ * After an 8 byte header, every call is stored as the time since the previous call in
+ * microseconds, the length of the call and the call as the method channel encodes it, the
+ * numbers as unsigned varints. Calls are encoded on the platform thread and written on a thread
+ * of their own.
+ */
+final class MethodCallRecorder {
+  private static final byte[] MAGIC = {'M', 'B', 'G', 'L', 'C', 'A', 'L', 'L'};
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * A recorded call, still encoded.
+   */
+  static final class Entry {
+    final long delayMicros;
+    final byte[] encodedCall;
+
+    Entry(long delayMicros, byte[] encodedCall) {
+      this.delayMicros = delayMicros;
+      this.encodedCall = encodedCall;
+    }
+
+    /**
+     * Returns the encoded call as the binary messenger passes it to the method channel.
+     */
+    ByteBuffer toMessage() {
+      final ByteBuffer message = ByteBuffer.allocateDirect(encodedCall.length);
+      message.put(encodedCall);
+      message.flip();
+      return message;
+    }
+  }
+
+  interface OnStoppedListener {
+    void onStopped(int callCount, IOException error);
+  }
+
+  private final ExecutorService writer = Executors.newSingleThreadExecutor();
+  private final OutputStream out;
+  private long lastCallNanos = -1;
+  private int callCount = 0;
+  private IOException error;
+
+  MethodCallRecorder(File file) throws IOException {
+    this.out = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+    out.write(MAGIC);
+  }
+
+  /**
+   * Records a call that arrived at the given time.
+   */
+  void record(MethodCall call, long nanos) {
+    final ByteBuffer encoded = StandardMethodCodec.INSTANCE.encodeMethodCall(call);
+    // the codec leaves the buffer positioned after the message
+    final int size = encoded.position() > 0 ? encoded.position() : encoded.limit();
+    final byte[] bytes = new byte[size];
+    encoded.rewind();
+    encoded.get(bytes);
+    final long delayMicros = lastCallNanos < 0 ? 0 : (nanos - lastCallNanos) / 1000;
+    lastCallNanos = nanos;
+    writer.execute(() -> {
+      if (error != null) {
+        return;
+      }
+      try {
+        writeVarint(out, delayMicros);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+        callCount++;
+      } catch (IOException e) {
+        error = e;
+      }
+    });
+  }
+
+  /**
+   * Flushes and closes the log, the listener is called on the writer thread.
+   */
+  void stop(OnStoppedListener listener) {
+    writer.execute(() -> {
+      try {
+        out.close();
+      } catch (IOException e) {
+        if (error == null) {
+          error = e;
+        }
+      }
+      listener.onStopped(callCount, error);
+    });
+    writer.shutdown();
+  }
+
+  /**
+   * Reads all calls of a log.
+   */
+  static List<Entry> read(InputStream stream) throws IOException {
+    final InputStream in = new BufferedInputStream(stream, BUFFER_SIZE);
+    final byte[] magic = new byte[MAGIC.length];
+    readFully(in, magic);
+    if (!Arrays.equals(magic, MAGIC)) {
+      throw new IOException("Not a method call log");
+    }
+    final List<Entry> entries = new ArrayList<>();
+    while (true) {
+      final int first = in.read();
+      if (first == -1) {
+        return entries;
+      }
+      final long delayMicros = readVarint(in, first);
+      final byte[] encodedCall = new byte[(int) readVarint(in, in.read())];
+      readFully(in, encodedCall);
+      entries.add(new Entry(delayMicros, encodedCall));
+    }
+  }
+
+  private static void writeVarint(OutputStream out, long value) throws IOException {
+    while ((value & ~0x7fL) != 0) {
+      out.write((int) (value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static long readVarint(InputStream in, int first) throws IOException {
+    long value = 0;
+    int shift = 0;
+    int b = first;
+    while (true) {
+      if (b == -1) {
+        throw new EOFException("Truncated method call log");
+      }
+      value |= (long) (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+      shift += 7;
+      b = in.read();
+    }
+  }
+
+  private static void readFully(InputStream in, byte[] bytes) throws IOException {
+    int offset = 0;
+    while (offset < bytes.length) {
+      final int count = in.read(bytes, offset, bytes.length - offset);
+      if (count == -1) {
+        throw new EOFException("Truncated method call log");
+      }
+      offset += count;
+    }
+  }
+}
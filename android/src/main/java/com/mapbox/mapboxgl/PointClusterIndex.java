@@ -0,0 +1,321 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hierarchical point clustering in the style of supercluster.
+ *
+ * Points are projected to Web Mercator and clustered greedily once per integer zoom level, from
+ * the maximum zoom down, each level clustering the clusters and points of the level above. Every
+ * level is kept in a {@link KdIndex}, so querying the clusters of a zoom and area only touches
+ * that area. Has no Android dependencies.
+ *
+ * Single points are identified by their index in the loaded coordinates, clusters by an id that
+ * is never smaller than the number of points and that encodes where the cluster was formed.
+ */
+final class PointClusterIndex {
+  private static final int NODE_SIZE = 64;
+
+  private final int radius;
+  private final int extent;
+  private final int minZoom;
+  private final int maxZoom;
+  private final int minPoints;
+
+  private int pointCount;
+  // items are the loaded points followed by the clusters formed on each level
+  private int itemCount;
+  private double[] itemX;
+  private double[] itemY;
+  private int[] itemZoom;
+  private int[] itemParent;
+  private int[] itemPointCount;
+  private int[] itemId;
+  // per zoom level, the items on that level and their index
+  private int[][] levels;
+  private KdIndex[] trees;
+
+  /**
+   * @param radius cluster radius in pixels of a tile of the given extent
+   * @param extent tile extent the radius is relative to
+   * @param minZoom lowest zoom level to cluster on
+   * @param maxZoom highest zoom level to cluster on, points are never clustered above it
+   * @param minPoints minimum number of points that form a cluster, at least 2
+   */
+  PointClusterIndex(int radius, int extent, int minZoom, int maxZoom, int minPoints) {
+    if (minZoom < 0 || maxZoom < minZoom || maxZoom > 30) {
+      throw new IllegalArgumentException("Invalid zoom range [" + minZoom + ", " + maxZoom + "]");
+    }
+    this.radius = radius;
+    this.extent = extent;
+    this.minZoom = minZoom;
+    this.maxZoom = maxZoom;
+    this.minPoints = Math.max(2, minPoints);
+  }
+
+  /**
+   * Builds the index from interleaved latitude/longitude pairs.
+   */
+  void load(double[] coordinates) {
+    if (coordinates.length % 2 != 0) {
+      throw new IllegalArgumentException("Cannot interpret " + coordinates.length + " values as lat/lng pairs");
+    }
+    pointCount = coordinates.length / 2;
+    // clusters are formed again on every level, the arrays grow as they are added
+    final int capacity = Math.max(16, pointCount * 2);
+    itemX = new double[capacity];
+    itemY = new double[capacity];
+    itemZoom = new int[capacity];
+    itemParent = new int[capacity];
+    itemPointCount = new int[capacity];
+    itemId = new int[capacity];
+    itemCount = 0;
+
+    int[] items = new int[pointCount];
+    for (int i = 0; i < pointCount; i++) {
+      items[i] = addItem(lngX(coordinates[2 * i + 1]), latY(coordinates[2 * i]), i, 1);
+    }
+    levels = new int[maxZoom + 2][];
+    trees = new KdIndex[maxZoom + 2];
+    setLevel(maxZoom + 1, items);
+    for (int z = maxZoom; z >= minZoom; z--) {
+      items = cluster(items, z);
+      setLevel(z, items);
+    }
+  }
+
+  int getPointCount() {
+    return pointCount;
+  }
+
+  /**
+   * Returns the clusters and points of the zoom level inside the bounds. The bounds may cross the
+   * antimeridian, in which case west is larger than east.
+   */
+  List<Cluster> getClusters(double west, double south, double east, double north, double zoom) {
+    double minLng = ((west + 180) % 360 + 360) % 360 - 180;
+    final double minLat = Math.max(-90, Math.min(90, south));
+    double maxLng = east == 180 ? 180 : ((east + 180) % 360 + 360) % 360 - 180;
+    final double maxLat = Math.max(-90, Math.min(90, north));
+
+    if (east - west >= 360) {
+      minLng = -180;
+      maxLng = 180;
+    } else if (minLng > maxLng) {
+      final List<Cluster> clusters = getClusters(minLng, minLat, 180, maxLat, zoom);
+      clusters.addAll(getClusters(-180, minLat, maxLng, maxLat, zoom));
+      return clusters;
+    }
+
+    final int level = limitZoom(zoom);
+    final int[] items = levels[level];
+    final int[] found = trees[level].range(lngX(minLng), latY(maxLat), lngX(maxLng), latY(minLat));
+    final List<Cluster> clusters = new ArrayList<>(found.length);
+    for (int index : found) {
+      clusters.add(toCluster(items[index]));
+    }
+    return clusters;
+  }
+
+  /**
+   * Returns the clusters and points a cluster splits into on the next zoom level.
+   */
+  List<Cluster> getChildren(int clusterId) {
+    final int originIndex = originIndex(clusterId);
+    final int originZoom = originZoom(clusterId);
+    if (originZoom < minZoom + 1 || originZoom > maxZoom + 1 || originIndex >= levels[originZoom].length) {
+      throw new IllegalArgumentException("No cluster with id " + clusterId);
+    }
+    final int[] items = levels[originZoom];
+    final int origin = items[originIndex];
+    final double r = radius / (extent * Math.pow(2, originZoom - 1));
+    final int[] found = trees[originZoom].within(itemX[origin], itemY[origin], r);
+    final List<Cluster> children = new ArrayList<>();
+    for (int index : found) {
+      if (itemParent[items[index]] == clusterId) {
+        children.add(toCluster(items[index]));
+      }
+    }
+    if (children.isEmpty()) {
+      throw new IllegalArgumentException("No cluster with id " + clusterId);
+    }
+    return children;
+  }
+
+  /**
+   * Returns the zoom level at which a cluster splits into several children.
+   */
+  int getExpansionZoom(int clusterId) {
+    int expansionZoom = originZoom(clusterId) - 1;
+    while (expansionZoom <= maxZoom) {
+      final List<Cluster> children = getChildren(clusterId);
+      expansionZoom++;
+      if (children.size() != 1 || !children.get(0).isCluster()) {
+        break;
+      }
+      clusterId = children.get(0).id;
+    }
+    return expansionZoom;
+  }
+
+  private int limitZoom(double zoom) {
+    return (int) Math.max(minZoom, Math.min(Math.floor(zoom), maxZoom + 1));
+  }
+
+  private int originIndex(int clusterId) {
+    return (clusterId - pointCount) >> 5;
+  }
+
+  private int originZoom(int clusterId) {
+    return (clusterId - pointCount) % 32;
+  }
+
+  private void setLevel(int zoom, int[] items) {
+    final double[] x = new double[items.length];
+    final double[] y = new double[items.length];
+    for (int i = 0; i < items.length; i++) {
+      x[i] = itemX[items[i]];
+      y[i] = itemY[items[i]];
+    }
+    levels[zoom] = items;
+    trees[zoom] = new KdIndex(x, y, NODE_SIZE);
+  }
+
+  private int[] cluster(int[] items, int zoom) {
+    final KdIndex tree = trees[zoom + 1];
+    final double r = radius / (extent * Math.pow(2, zoom));
+    int[] clustered = new int[items.length];
+    int size = 0;
+
+    for (int i = 0; i < items.length; i++) {
+      final int item = items[i];
+      // already merged into a cluster on this level
+      if (itemZoom[item] <= zoom) {
+        continue;
+      }
+      itemZoom[item] = zoom;
+
+      final int[] neighbors = tree.within(itemX[item], itemY[item], r);
+      final int originPointCount = itemPointCount[item];
+      int count = originPointCount;
+      for (int neighbor : neighbors) {
+        final int other = items[neighbor];
+        if (itemZoom[other] > zoom) {
+          count += itemPointCount[other];
+        }
+      }
+
+      if (count >= minPoints) {
+        double wx = itemX[item] * originPointCount;
+        double wy = itemY[item] * originPointCount;
+        final int clusterId = (i << 5) + (zoom + 1) + pointCount;
+        for (int neighbor : neighbors) {
+          final int other = items[neighbor];
+          if (itemZoom[other] <= zoom) {
+            continue;
+          }
+          itemZoom[other] = zoom;
+          wx += itemX[other] * itemPointCount[other];
+          wy += itemY[other] * itemPointCount[other];
+          itemParent[other] = clusterId;
+        }
+        itemParent[item] = clusterId;
+        clustered = append(clustered, size++, addItem(wx / count, wy / count, clusterId, count));
+      } else {
+        clustered = append(clustered, size++, item);
+        if (count > 1) {
+          for (int neighbor : neighbors) {
+            final int other = items[neighbor];
+            if (itemZoom[other] <= zoom) {
+              continue;
+            }
+            itemZoom[other] = zoom;
+            clustered = append(clustered, size++, other);
+          }
+        }
+      }
+    }
+    return Arrays.copyOf(clustered, size);
+  }
+
+  private static int[] append(int[] values, int index, int value) {
+    if (index == values.length) {
+      values = Arrays.copyOf(values, Math.max(16, values.length * 2));
+    }
+    values[index] = value;
+    return values;
+  }
+
+  private int addItem(double x, double y, int id, int count) {
+    if (itemCount == itemX.length) {
+      final int capacity = itemCount + (itemCount >> 1);
+      itemX = Arrays.copyOf(itemX, capacity);
+      itemY = Arrays.copyOf(itemY, capacity);
+      itemZoom = Arrays.copyOf(itemZoom, capacity);
+      itemParent = Arrays.copyOf(itemParent, capacity);
+      itemPointCount = Arrays.copyOf(itemPointCount, capacity);
+      itemId = Arrays.copyOf(itemId, capacity);
+    }
+    final int item = itemCount++;
+    itemX[item] = x;
+    itemY[item] = y;
+    itemZoom[item] = Integer.MAX_VALUE;
+    itemParent[item] = -1;
+    itemPointCount[item] = count;
+    itemId[item] = id;
+    return item;
+  }
+
+  private Cluster toCluster(int item) {
+    return new Cluster(itemId[item], itemPointCount[item], yLat(itemY[item]), xLng(itemX[item]));
+  }
+
+  private static double lngX(double lng) {
+    return lng / 360 + 0.5;
+  }
+
+  private static double latY(double lat) {
+    final double sin = Math.sin(lat * Math.PI / 180);
+    final double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+    return y < 0 ? 0 : y > 1 ? 1 : y;
+  }
+
+  private static double xLng(double x) {
+    return (x - 0.5) * 360;
+  }
+
+  private static double yLat(double y) {
+    final double y2 = (180 - y * 360) * Math.PI / 180;
+    return 360 * Math.atan(Math.exp(y2)) / Math.PI - 90;
+  }
+
+  /**
+   * A cluster or, if it holds a single point, the point itself.
+   */
+  static final class Cluster {
+    /**
+     * Cluster id, or the index of the point for single points.
+     */
+    final int id;
+    final int pointCount;
+    final double latitude;
+    final double longitude;
+
+    Cluster(int id, int pointCount, double latitude, double longitude) {
+      this.id = id;
+      this.pointCount = pointCount;
+      this.latitude = latitude;
+      this.longitude = longitude;
+    }
+
+    boolean isCluster() {
+      return pointCount > 1;
+    }
+  }
+}
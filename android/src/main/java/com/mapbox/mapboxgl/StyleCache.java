@@ -0,0 +1,174 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.Properties;
+
+/**
+ * On-disk cache of style JSON fetched from style URLs, revalidated with ETag and Last-Modified.
+ *
+ * A cached style can be loaded right away while the network request that checks whether it
+ * is still current runs in the background. Every style URL is stored as a JSON file and a
+ * properties file with its validators, both named by a hash of the URL and replaced
+ * atomically. Has no Android dependencies.
+ */
+final class StyleCache {
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final String MAPBOX_STYLES = "mapbox://styles/";
+  private static final String MAPBOX_STYLES_API = "https://api.mapbox.com/styles/v1/";
+  private static final int TIMEOUT_MS = 15000;
+  private static final int BUFFER_SIZE = 8192;
+
+  private final File directory;
+
+  StyleCache(File directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Returns true for the style URLs the cache can fetch.
+   */
+  static boolean isCacheable(String styleUrl) {
+    return styleUrl.startsWith("https://") || styleUrl.startsWith("http://") || styleUrl.startsWith(MAPBOX_STYLES);
+  }
+
+  /**
+   * Returns the HTTP URL a style URL is fetched from, mapbox:// style URLs go to the styles API.
+   */
+  static String toHttpUrl(String styleUrl, String accessToken) {
+    if (!styleUrl.startsWith(MAPBOX_STYLES)) {
+      return styleUrl;
+    }
+    final String url = MAPBOX_STYLES_API + styleUrl.substring(MAPBOX_STYLES.length());
+    return accessToken == null ? url : url + (url.contains("?") ? "&" : "?") + "access_token=" + accessToken;
+  }
+
+  /**
+   * Returns the cached JSON of the style, or null if it has not been fetched before.
+   */
+  String get(String styleUrl) {
+    final File json = jsonFile(styleUrl);
+    if (!json.exists()) {
+      return null;
+    }
+    try {
+      return new String(read(new FileInputStream(json)), UTF_8);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Fetches the style, conditionally if it is cached, and stores a changed style. Returns the
+   * new JSON if the style changed or was not cached, null if the cached style is current.
+   */
+  String revalidate(String styleUrl, String httpUrl) throws IOException {
+    final File metaFile = metaFile(styleUrl);
+    final Properties meta = new Properties();
+    final String cached = get(styleUrl);
+    if (cached != null && metaFile.exists()) {
+      try (InputStream in = new FileInputStream(metaFile)) {
+        meta.load(in);
+      }
+    }
+
+    final HttpURLConnection connection = (HttpURLConnection) new URL(httpUrl).openConnection();
+    try {
+      connection.setConnectTimeout(TIMEOUT_MS);
+      connection.setReadTimeout(TIMEOUT_MS);
+      if (cached != null) {
+        final String etag = meta.getProperty("etag");
+        final String lastModified = meta.getProperty("lastModified");
+        if (etag != null) {
+          connection.setRequestProperty("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+          connection.setRequestProperty("If-Modified-Since", lastModified);
+        }
+      }
+      final int code = connection.getResponseCode();
+      if (code == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+        return null;
+      }
+      if (code != HttpURLConnection.HTTP_OK) {
+        throw new IOException("Fetching style " + styleUrl + " failed with HTTP " + code);
+      }
+      final byte[] body = read(connection.getInputStream());
+      // a connection that closes early can end the stream without an error
+      final int contentLength = connection.getContentLength();
+      if (contentLength >= 0 && body.length != contentLength) {
+        throw new IOException("Fetching style " + styleUrl + " ended after " + body.length + " of " + contentLength + " bytes");
+      }
+      final String json = new String(body, UTF_8);
+      final Properties validators = new Properties();
+      setIfPresent(validators, "etag", connection.getHeaderField("ETag"));
+      setIfPresent(validators, "lastModified", connection.getHeaderField("Last-Modified"));
+      validators.setProperty("url", styleUrl);
+      store(styleUrl, json, validators);
+      return json.equals(cached) ? null : json;
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  private void store(String styleUrl, String json, Properties validators) throws IOException {
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new IOException("Cannot create " + directory);
+    }
+    final File jsonTemp = new File(directory, key(styleUrl) + ".json.tmp");
+    try (OutputStream out = new FileOutputStream(jsonTemp)) {
+      out.write(json.getBytes(UTF_8));
+    }
+    final File metaTemp = new File(directory, key(styleUrl) + ".properties.tmp");
+    try (OutputStream out = new FileOutputStream(metaTemp)) {
+      validators.store(out, null);
+    }
+    if (!jsonTemp.renameTo(jsonFile(styleUrl)) || !metaTemp.renameTo(metaFile(styleUrl))) {
+      throw new IOException("Cannot store style " + styleUrl);
+    }
+  }
+
+  private File jsonFile(String styleUrl) {
+    return new File(directory, key(styleUrl) + ".json");
+  }
+
+  private File metaFile(String styleUrl) {
+    return new File(directory, key(styleUrl) + ".properties");
+  }
+
+  private static void setIfPresent(Properties properties, String key, String value) {
+    if (value != null) {
+      properties.setProperty(key, value);
+    }
+  }
+
+  private static byte[] read(InputStream in) throws IOException {
+    try {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      int count;
+      while ((count = in.read(buffer)) != -1) {
+        out.write(buffer, 0, count);
+      }
+      return out.toByteArray();
+    } finally {
+      in.close();
+    }
+  }
+
+  private static String key(String styleUrl) {
+    return Hashes.sha1Hex(styleUrl.getBytes(UTF_8));
+  }
+}
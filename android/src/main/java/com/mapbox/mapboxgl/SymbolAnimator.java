@@ -0,0 +1,236 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import android.animation.TimeInterpolator;
+import android.view.Choreographer;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.AccelerateInterpolator;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.LinearInterpolator;
+
+import com.mapbox.geojson.Point;
+import com.mapbox.mapboxsdk.plugins.annotation.Symbol;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves and rotates symbols towards a target over time, interpolated on every frame.
+ *
+ * All running animations advance in the same frame callback and the changed symbols are
+ * committed with a single update. Animating a symbol that is already moving starts from its
+ * current position, so a new target smoothly retargets the animation.
+ */
+class SymbolAnimator implements Choreographer.FrameCallback {
+  private static final TimeInterpolator LINEAR = new LinearInterpolator();
+  private static final TimeInterpolator EASE_IN = new AccelerateInterpolator();
+  private static final TimeInterpolator EASE_OUT = new DecelerateInterpolator();
+  private static final TimeInterpolator EASE_IN_OUT = new AccelerateDecelerateInterpolator();
+
+  private final Choreographer choreographer;
+  private final AnnotationUpdateBatcher.Committer<Symbol> frameCommitter;
+  private final AnnotationUpdateBatcher.Committer<Symbol> finishedCommitter;
+  private final Map<Long, Animation> animations = new LinkedHashMap<>();
+  private boolean frameScheduled = false;
+
+  /**
+   * @param frameCommitter commits the symbols changed on a frame
+   * @param finishedCommitter receives the symbols that reached their target on a frame
+   */
+  SymbolAnimator(AnnotationUpdateBatcher.Committer<Symbol> frameCommitter,
+                 AnnotationUpdateBatcher.Committer<Symbol> finishedCommitter) {
+    this.choreographer = Choreographer.getInstance();
+    this.frameCommitter = frameCommitter;
+    this.finishedCommitter = finishedCommitter;
+  }
+
+  /**
+   * Starts animating the symbol to the target geometry and icon rotation, either of which may be
+   * null to keep the target of the running animation of the symbol, if any, or else leave it
+   * unchanged.
+   *
+   * @throws IllegalArgumentException for an unknown easing, before anything is changed
+   */
+  void animateTo(Symbol symbol, Point geometry, Float iconRotate, long durationMillis, String easing) {
+    final TimeInterpolator interpolator = toInterpolator(easing);
+    final Animation running = animations.get(symbol.getId());
+    if (running != null) {
+      if (geometry == null) {
+        geometry = running.targetGeometry;
+      }
+      if (iconRotate == null) {
+        iconRotate = running.targetRotate;
+      }
+    }
+    final Animation animation = new Animation(symbol, geometry, iconRotate, durationMillis, interpolator);
+    animations.put(symbol.getId(), animation);
+    if (!frameScheduled) {
+      frameScheduled = true;
+      choreographer.postFrameCallback(this);
+    }
+  }
+
+  /**
+   * Stops the animation of the symbol where it is.
+   */
+  void cancel(Symbol symbol) {
+    animations.remove(symbol.getId());
+  }
+
+  /**
+   * Stops all animations and stops listening for frames.
+   */
+  void cancelAll() {
+    animations.clear();
+    if (frameScheduled) {
+      choreographer.removeFrameCallback(this);
+      frameScheduled = false;
+    }
+  }
+
+  /**
+   * Moves every animated symbol to its target without committing it and stops all animations,
+   * for symbols that are about to be recreated from their geometry and rotation.
+   */
+  void finishAll() {
+    for (Animation animation : animations.values()) {
+      animation.apply(1);
+    }
+    cancelAll();
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    frameScheduled = false;
+    final List<Symbol> changed = new ArrayList<>(animations.size());
+    final List<Symbol> finished = new ArrayList<>();
+    final Iterator<Animation> iterator = animations.values().iterator();
+    while (iterator.hasNext()) {
+      final Animation animation = iterator.next();
+      if (animation.step(frameTimeNanos)) {
+        iterator.remove();
+        finished.add(animation.symbol);
+      }
+      changed.add(animation.symbol);
+    }
+    if (!changed.isEmpty()) {
+      frameCommitter.commit(changed);
+    }
+    if (!finished.isEmpty()) {
+      finishedCommitter.commit(finished);
+    }
+    if (!animations.isEmpty()) {
+      frameScheduled = true;
+      choreographer.postFrameCallback(this);
+    }
+  }
+
+  private static TimeInterpolator toInterpolator(String easing) {
+    if (easing == null) {
+      return LINEAR;
+    }
+    switch (easing) {
+      case "easeIn":
+        return EASE_IN;
+      case "easeOut":
+        return EASE_OUT;
+      case "easeInOut":
+        return EASE_IN_OUT;
+      case "linear":
+        return LINEAR;
+      default:
+        throw new IllegalArgumentException("Unknown easing: " + easing);
+    }
+  }
+
+  private static final class Animation {
+    private final Symbol symbol;
+    private final long durationNanos;
+    private final TimeInterpolator interpolator;
+    private final double startLatitude;
+    private final double startLongitude;
+    private final double deltaLatitude;
+    private final double deltaLongitude;
+    private final boolean animateGeometry;
+    private final float startRotate;
+    private final float deltaRotate;
+    private final boolean animateRotate;
+    // the targets, null when not animated
+    private final Point targetGeometry;
+    private final Float targetRotate;
+    // frame time of the first frame, set on that frame
+    private long startNanos = -1;
+
+    Animation(Symbol symbol, Point geometry, Float iconRotate, long durationMillis, TimeInterpolator interpolator) {
+      this.symbol = symbol;
+      this.durationNanos = Math.max(0, durationMillis) * 1000000L;
+      this.interpolator = interpolator;
+      this.targetGeometry = geometry;
+      this.targetRotate = iconRotate;
+
+      final Point start = symbol.getGeometry();
+      this.animateGeometry = geometry != null;
+      this.startLatitude = start.latitude();
+      this.startLongitude = start.longitude();
+      this.deltaLatitude = animateGeometry ? geometry.latitude() - startLatitude : 0;
+      // cross the antimeridian instead of going around the world
+      double deltaLongitude = animateGeometry ? geometry.longitude() - startLongitude : 0;
+      if (deltaLongitude > 180) {
+        deltaLongitude -= 360;
+      } else if (deltaLongitude < -180) {
+        deltaLongitude += 360;
+      }
+      this.deltaLongitude = deltaLongitude;
+
+      final Float currentRotate = symbol.getIconRotate();
+      this.animateRotate = iconRotate != null;
+      this.startRotate = currentRotate == null ? 0 : currentRotate;
+      // turn the short way round
+      float deltaRotate = animateRotate ? (iconRotate - startRotate) % 360 : 0;
+      if (deltaRotate > 180) {
+        deltaRotate -= 360;
+      } else if (deltaRotate < -180) {
+        deltaRotate += 360;
+      }
+      this.deltaRotate = deltaRotate;
+    }
+
+    /**
+     * Moves the symbol to its position at the frame time. Returns true once it reached the target.
+     */
+    boolean step(long frameTimeNanos) {
+      if (startNanos < 0) {
+        startNanos = frameTimeNanos;
+      }
+      final float fraction = durationNanos == 0
+        ? 1
+        : Math.min(1, (float) (frameTimeNanos - startNanos) / durationNanos);
+      apply(interpolator.getInterpolation(fraction));
+      return fraction >= 1;
+    }
+
+    /**
+     * Sets the symbol to the given interpolated value, 1 being the target.
+     */
+    void apply(float value) {
+      if (animateGeometry) {
+        double longitude = startLongitude + deltaLongitude * value;
+        if (longitude > 180) {
+          longitude -= 360;
+        } else if (longitude < -180) {
+          longitude += 360;
+        }
+        symbol.setGeometry(Point.fromLngLat(longitude, startLatitude + deltaLatitude * value));
+      }
+      if (animateRotate) {
+        symbol.setIconRotate(startRotate + deltaRotate * value);
+      }
+    }
+  }
+}
@@ -21,6 +21,10 @@ class SymbolBuilder implements SymbolOptionsSink {
     this.symbolOptions = new SymbolOptions();
   }
 
+  SymbolOptions getSymbolOptions() {
+    return this.symbolOptions;
+  }
+
   Symbol build() {
     return symbolManager.create(symbolOptions);
   }
@@ -100,11 +104,21 @@ class SymbolBuilder implements SymbolOptionsSink {
     symbolOptions.withIconOpacity(iconOpacity);
   }
 
+  @Override
+  public void setIconColor(int iconColor) {
+    symbolOptions.withIconColor(ColorCache.toRgbaString(iconColor));
+  }
+
   @Override
   public void setIconColor(String iconColor) {
     symbolOptions.withIconColor(iconColor);
   }
 
+  @Override
+  public void setIconHaloColor(int iconHaloColor) {
+    symbolOptions.withIconHaloColor(ColorCache.toRgbaString(iconHaloColor));
+  }
+
   @Override
   public void setIconHaloColor(String iconHaloColor) {
     symbolOptions.withIconHaloColor(iconHaloColor);
@@ -125,11 +139,21 @@ class SymbolBuilder implements SymbolOptionsSink {
     symbolOptions.withTextOpacity(textOpacity);
   }
 
+  @Override
+  public void setTextColor(int textColor) {
+    symbolOptions.withTextColor(ColorCache.toRgbaString(textColor));
+  }
+
   @Override
   public void setTextColor(String textColor) {
     symbolOptions.withTextColor(textColor);
   }
 
+  @Override
+  public void setTextHaloColor(int textHaloColor) {
+    symbolOptions.withTextHaloColor(ColorCache.toRgbaString(textHaloColor));
+  }
+
   @Override
   public void setTextHaloColor(String textHaloColor) {
     symbolOptions.withTextHaloColor(textHaloColor);
@@ -6,7 +6,6 @@
 
 package com.mapbox.mapboxgl;
 
-import android.graphics.Color;
 import android.graphics.PointF;
 import com.mapbox.geojson.Point;
 import com.mapbox.mapboxsdk.geometry.LatLng;
@@ -17,8 +16,9 @@ import com.mapbox.mapboxsdk.plugins.annotation.SymbolManager;
  * Controller of a single Symbol on the map.
  */
 class SymbolController implements SymbolOptionsSink {
-  private final Symbol symbol;
+  private Symbol symbol;
   private final OnSymbolTappedListener onTappedListener;
+  private final AnnotationOptionsModel options = new AnnotationOptionsModel();
   private boolean consumeTapEvents;
 
   SymbolController(Symbol symbol, boolean consumeTapEvents, OnSymbolTappedListener onTappedListener) {
@@ -27,6 +27,24 @@ class SymbolController implements SymbolOptionsSink {
     this.onTappedListener = onTappedListener;
   }
 
+  Symbol getSymbol() {
+    return this.symbol;
+  }
+
+  /**
+   * Rebinds the controller to the symbol recreated from its options by a new manager.
+   */
+  void setSymbol(Symbol symbol) {
+    this.symbol = symbol;
+  }
+
+  /**
+   * The options applied to the symbol from Dart, used to recreate it.
+   */
+  AnnotationOptionsModel getOptions() {
+    return options;
+  }
+
   boolean onTap() {
     if (onTappedListener != null) {
       onTappedListener.onSymbolTapped(symbol);
@@ -113,14 +131,24 @@ class SymbolController implements SymbolOptionsSink {
     symbol.setIconOpacity(iconOpacity);
   }
 
+  @Override
+  public void setIconColor(int iconColor) {
+    symbol.setIconColor(iconColor);
+  }
+
   @Override
   public void setIconColor(String iconColor) {
-    symbol.setIconColor(Color.parseColor(iconColor));
+    symbol.setIconColor(iconColor);
+  }
+
+  @Override
+  public void setIconHaloColor(int iconHaloColor) {
+    symbol.setIconHaloColor(iconHaloColor);
   }
 
   @Override
   public void setIconHaloColor(String iconHaloColor) {
-    symbol.setIconHaloColor(Color.parseColor(iconHaloColor));
+    symbol.setIconHaloColor(iconHaloColor);
   }
 
   @Override
@@ -138,14 +166,24 @@ class SymbolController implements SymbolOptionsSink {
     symbol.setTextOpacity(textOpacity);
   }
 
+  @Override
+  public void setTextColor(int textColor) {
+    symbol.setTextColor(textColor);
+  }
+
   @Override
   public void setTextColor(String textColor) {
-    symbol.setTextColor(Color.parseColor(textColor));
+    symbol.setTextColor(textColor);
+  }
+
+  @Override
+  public void setTextHaloColor(int textHaloColor) {
+    symbol.setTextHaloColor(textHaloColor);
   }
 
   @Override
   public void setTextHaloColor(String textHaloColor) {
-    symbol.setTextHaloColor(Color.parseColor(textHaloColor));
+    symbol.setTextHaloColor(textHaloColor);
   }
 
   @Override
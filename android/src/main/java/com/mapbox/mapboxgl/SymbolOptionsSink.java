@@ -43,8 +43,12 @@ interface SymbolOptionsSink {
 
   void setIconOpacity(float iconOpacity);
 
+  void setIconColor(int iconColor);
+
   void setIconColor(String iconColor);
 
+  void setIconHaloColor(int iconHaloColor);
+
   void setIconHaloColor(String iconHaloColor);
 
   void setIconHaloWidth(float iconHaloWidth);
@@ -53,8 +57,12 @@ interface SymbolOptionsSink {
 
   void setTextOpacity(float textOpacity);
 
+  void setTextColor(int textColor);
+
   void setTextColor(String textColor);
 
+  void setTextHaloColor(int textHaloColor);
+
   void setTextHaloColor(String textHaloColor);
 
   void setTextHaloWidth(float textHaloWidth);
@@ -0,0 +1,104 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.mapbox.geojson.Point;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class AnnotationSpatialIndexTest {
+  private final Random random = new Random(42);
+  private final AnnotationSpatialIndex index = new AnnotationSpatialIndex();
+  private final Map<Long, Point> points = new HashMap<>();
+
+  @Test
+  public void bulkLoadedBatchesMatchBruteForce() {
+    long nextId = 0;
+    // batches larger and smaller than the tree, so subtrees are inserted both ways
+    for (int batchSize : new int[] {5000, 64, 20000, 100, 3}) {
+      putAll(nextId, batchSize);
+      nextId += batchSize;
+      assertQueriesMatch();
+    }
+  }
+
+  @Test
+  public void updatedBatchesReplaceTheirPreviousGeometry() {
+    putAll(0, 10000);
+    for (int round = 0; round < 5; round++) {
+      putAll(random.nextInt(9000), 1000);
+      assertQueriesMatch();
+    }
+    assertEquals(10000, index.size());
+  }
+
+  @Test
+  public void removesFromBulkLoadedSubtrees() {
+    putAll(0, 2000);
+    putAll(2000, 2000);
+    for (long id = 0; id < 4000; id += 3) {
+      index.remove(AnnotationRegistry.SYMBOL, id);
+      points.remove(id);
+    }
+    assertQueriesMatch();
+    assertEquals(points.size(), index.size());
+  }
+
+  @Test
+  public void findsNearestWithinTolerance() {
+    index.put(AnnotationRegistry.CIRCLE, 7, Point.fromLngLat(2.35, 48.85));
+    final AnnotationSpatialIndex.Entry nearest = index.nearest(48.8501, 2.3501, 1e-5);
+    assertNotNull(nearest);
+    assertEquals(7, nearest.id);
+    assertEquals(AnnotationRegistry.CIRCLE, nearest.type);
+    assertNull(index.nearest(10, 10, 1e-5));
+  }
+
+  private void putAll(long firstId, int count) {
+    final long[] ids = new long[count];
+    final List<Point> geometries = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      ids[i] = firstId + i;
+      final Point point = Point.fromLngLat(random.nextDouble() * 360 - 180, random.nextDouble() * 160 - 80);
+      geometries.add(point);
+      points.put(ids[i], point);
+    }
+    index.putAll(AnnotationRegistry.SYMBOL, ids, geometries);
+  }
+
+  private void assertQueriesMatch() {
+    for (int i = 0; i < 50; i++) {
+      final double west = random.nextDouble() * 340 - 180;
+      final double south = random.nextDouble() * 140 - 80;
+      final double east = west + random.nextDouble() * 20;
+      final double north = south + random.nextDouble() * 20;
+      final Set<Long> expected = new HashSet<>();
+      for (Map.Entry<Long, Point> entry : points.entrySet()) {
+        final Point point = entry.getValue();
+        if (point.longitude() >= west && point.longitude() <= east
+          && point.latitude() >= south && point.latitude() <= north) {
+          expected.add(entry.getKey());
+        }
+      }
+      final Set<Long> actual = new HashSet<>();
+      for (AnnotationSpatialIndex.Entry entry : index.queryBounds(west, south, east, north)) {
+        actual.add(entry.id);
+      }
+      assertEquals(expected, actual);
+    }
+  }
+}
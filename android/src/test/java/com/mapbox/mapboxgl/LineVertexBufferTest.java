@@ -0,0 +1,111 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LineVertexBufferTest {
+
+  @Test
+  public void appendsAndTrimsVertices() {
+    final LineVertexBuffer vertices = new LineVertexBuffer(null);
+    vertices.append(new double[] {48.0, 2.0, 48.1, 2.1, 48.2, 2.2});
+    vertices.trimStart(1);
+    vertices.append(new double[] {48.3, 2.3});
+
+    final List<Point> points = vertices.toLineString().coordinates();
+    assertEquals(3, points.size());
+    assertEquals(48.1, points.get(0).latitude(), 0);
+    assertEquals(2.1, points.get(0).longitude(), 0);
+    assertEquals(48.3, points.get(2).latitude(), 0);
+  }
+
+  @Test
+  public void sharesPointsBetweenGeometries() {
+    final LineVertexBuffer vertices = new LineVertexBuffer(null);
+    final double[] walk = randomWalk(1000);
+    vertices.append(walk);
+    final LineString before = vertices.toLineString();
+    for (int i = 0; i < 100; i++) {
+      vertices.append(new double[] {48.0, 2.0});
+      vertices.trimStart(1);
+    }
+
+    final LineString after = vertices.toLineString();
+    assertEquals(1000, after.coordinates().size());
+    assertSame(before.coordinates().get(100), after.coordinates().get(0));
+    assertEquals(walk[200], before.coordinates().get(100).latitude(), 0);
+  }
+
+  @Test
+  public void simplifiesLikeLineSimplifierWithinOneRun() {
+    final LineVertexBuffer vertices = new LineVertexBuffer(null);
+    vertices.append(randomWalk(200));
+    final LineSimplifier simplifier = new LineSimplifier(vertices.toLineString());
+
+    for (int zoom = 0; zoom <= 22; zoom++) {
+      assertEquals(simplifier.simplify(zoom).coordinates(), vertices.simplify(zoom).coordinates());
+    }
+  }
+
+  @Test
+  public void simplifiesAppendedVerticesOneAtATime() {
+    final LineVertexBuffer vertices = new LineVertexBuffer(null);
+    final double[] walk = randomWalk(10000);
+    for (int i = 0; i < walk.length; i += 2) {
+      vertices.append(new double[] {walk[i], walk[i + 1]});
+      vertices.simplify(6);
+    }
+
+    // only the anchors closing every run are kept in addition to Douglas-Peucker
+    final int simplified = vertices.simplify(6).coordinates().size();
+    final int expected = new LineSimplifier(vertices.toLineString()).simplify(6).coordinates().size();
+    assertTrue(simplified < 10000 / 100);
+    assertTrue(simplified <= expected + 10000 / 256 + 1);
+    final List<Point> points = vertices.toLineString().coordinates();
+    final List<Point> kept = vertices.simplify(6).coordinates();
+    assertSame(points.get(0), kept.get(0));
+    assertSame(points.get(9999), kept.get(kept.size() - 1));
+  }
+
+  @Test
+  public void keepsTheFirstVertexAfterTrimming() {
+    final LineVertexBuffer vertices = new LineVertexBuffer(null);
+    vertices.append(randomWalk(1000));
+    vertices.simplify(0);
+    vertices.trimStart(500);
+
+    final List<Point> simplified = vertices.simplify(0).coordinates();
+    assertEquals(vertices.toLineString().coordinates().get(0), simplified.get(0));
+    assertEquals(vertices.toLineString().coordinates().get(499), simplified.get(simplified.size() - 1));
+  }
+
+  /**
+   * Returns a walk of interleaved lat, lng pairs starting in Paris.
+   */
+  private static double[] randomWalk(int vertexCount) {
+    final Random random = new Random(vertexCount);
+    final double[] latLngs = new double[vertexCount * 2];
+    double lat = 48.8566;
+    double lng = 2.3522;
+    for (int i = 0; i < vertexCount; i++) {
+      latLngs[i * 2] = lat;
+      latLngs[i * 2 + 1] = lng;
+      lat += (random.nextDouble() - 0.5) * 1e-3;
+      lng += (random.nextDouble() - 0.5) * 1e-3;
+    }
+    return latLngs;
+  }
+}
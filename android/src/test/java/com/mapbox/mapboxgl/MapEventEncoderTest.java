@@ -0,0 +1,155 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.mapbox.mapboxsdk.camera.CameraPosition;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import io.flutter.plugin.common.BinaryMessenger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MapEventEncoderTest {
+  private static final String CHANNEL = "plugins.flutter.io/mapbox_maps_events_0";
+  private static final int EVENT_COUNT = 100_000;
+
+  private final RecordingMessenger messenger = new RecordingMessenger();
+  private final MapEventEncoder encoder = new MapEventEncoder(messenger, CHANNEL);
+
+  @Test
+  public void encodesCameraMove() {
+    encoder.sendCameraMove(new CameraPosition(new LatLng(48.8566, 2.3522), 12.5, 45, 30));
+
+    final ByteBuffer message = messenger.received();
+    assertEquals(1 + 5 * 8, message.remaining());
+    assertEquals(MapEventEncoder.CAMERA_MOVE, message.get());
+    assertEquals(30, message.getDouble(), 0);
+    assertEquals(48.8566, message.getDouble(), 0);
+    assertEquals(2.3522, message.getDouble(), 0);
+    assertEquals(45, message.getDouble(), 0);
+    assertEquals(12.5, message.getDouble(), 0);
+  }
+
+  @Test
+  public void encodesAnnotationTap() {
+    encoder.sendAnnotationTap(MapEventEncoder.SYMBOL_TAP, 1L << 40);
+
+    final ByteBuffer message = messenger.received();
+    assertEquals(1 + 8, message.remaining());
+    assertEquals(MapEventEncoder.SYMBOL_TAP, message.get());
+    assertEquals(1L << 40, message.getLong());
+  }
+
+  @Test
+  public void cameraMovesReuseTheBufferWithoutAllocating() {
+    final CameraPosition position = new CameraPosition(new LatLng(48.8566, 2.3522), 12.5, 45, 30);
+    encoder.sendCameraMove(position);
+    final ByteBuffer buffer = messenger.lastMessage;
+    // warm up so the measured loop runs compiled
+    for (int i = 0; i < EVENT_COUNT; i++) {
+      encoder.sendCameraMove(position);
+    }
+
+    final long allocated = allocatedBytes(() -> {
+      for (int i = 0; i < EVENT_COUNT; i++) {
+        encoder.sendCameraMove(position);
+      }
+    });
+    assertSame(buffer, messenger.lastMessage);
+    assertEquals(1 + 2 * EVENT_COUNT, messenger.sentCount);
+    assertTrue("allocated " + allocated + " bytes for " + EVENT_COUNT + " events",
+      allocated < EVENT_COUNT / 100);
+  }
+
+  @Test
+  public void tapsReuseTheBufferWithoutAllocating() {
+    encoder.sendAnnotationTap(MapEventEncoder.CIRCLE_TAP, 0);
+    final ByteBuffer buffer = messenger.lastMessage;
+    for (int i = 0; i < EVENT_COUNT; i++) {
+      encoder.sendAnnotationTap(MapEventEncoder.CIRCLE_TAP, i);
+      encoder.sendMapClick(i, i, 2.3522, 48.8566);
+    }
+
+    final long allocated = allocatedBytes(() -> {
+      for (int i = 0; i < EVENT_COUNT; i++) {
+        encoder.sendAnnotationTap(MapEventEncoder.CIRCLE_TAP, i);
+        encoder.sendMapClick(i, i, 2.3522, 48.8566);
+      }
+    });
+    assertSame(buffer, messenger.lastMessage);
+    assertTrue("allocated " + allocated + " bytes for " + 2 * EVENT_COUNT + " events",
+      allocated < EVENT_COUNT / 100);
+  }
+
+  /**
+   * Returns the bytes the current thread allocated while running the task, reading the HotSpot
+   * thread MXBean through reflection. Skips the test on VMs without it.
+   */
+  private static long allocatedBytes(Runnable task) {
+    final Object threadMXBean;
+    final Method allocatedBytes;
+    try {
+      threadMXBean = Class.forName("java.lang.management.ManagementFactory")
+        .getMethod("getThreadMXBean").invoke(null);
+      allocatedBytes = Class.forName("com.sun.management.ThreadMXBean")
+        .getMethod("getThreadAllocatedBytes", long.class);
+      final long threadId = Thread.currentThread().getId();
+      // the first call allocates on its own
+      allocatedBytes.invoke(threadMXBean, threadId);
+      final long before = (Long) allocatedBytes.invoke(threadMXBean, threadId);
+      task.run();
+      return (Long) allocatedBytes.invoke(threadMXBean, threadId) - before;
+    } catch (ReflectiveOperationException e) {
+      Assume.assumeNoException(e);
+      return -1;
+    }
+  }
+
+  /**
+   * Keeps the last message sent to Dart without copying it, like the engine the buffer is only
+   * read before send returns.
+   */
+  private static final class RecordingMessenger implements BinaryMessenger {
+    private ByteBuffer lastMessage;
+    private int sentCount = 0;
+
+    @Override
+    public void send(String channel, ByteBuffer message) {
+      assertEquals(CHANNEL, channel);
+      lastMessage = message;
+      sentCount++;
+    }
+
+    @Override
+    public void send(String channel, ByteBuffer message, BinaryReply callback) {
+      send(channel, message);
+    }
+
+    @Override
+    public void setMessageHandler(String channel, BinaryMessageHandler handler) {
+    }
+
+    /**
+     * Returns the bytes of the last message as Dart receives them.
+     */
+    ByteBuffer received() {
+      final ByteBuffer copy = ByteBuffer.allocate(lastMessage.position()).order(ByteOrder.LITTLE_ENDIAN);
+      final ByteBuffer source = lastMessage.duplicate();
+      source.flip();
+      copy.put(source);
+      copy.flip();
+      return copy;
+    }
+  }
+}
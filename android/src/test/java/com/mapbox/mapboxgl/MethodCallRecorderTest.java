@@ -0,0 +1,158 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+import io.flutter.plugin.common.StandardMethodCodec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MethodCallRecorderTest {
+  private static final String CHANNEL = "plugins.flutter.io/mapbox_maps_0";
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void replaysRecordedCallsInOrder() throws Exception {
+    final File log = folder.newFile("calls.log");
+    final List<MethodCall> calls = Arrays.asList(
+      new MethodCall("symbols#addAll", arguments("options", Collections.singletonList(symbolOptions()))),
+      new MethodCall("camera#move", arguments("cameraUpdate", Arrays.asList("zoomTo", 14.0))),
+      new MethodCall("line#update", arguments("line", "7", "geometry", new double[] {48.85, 2.35, 48.86, 2.36})),
+      new MethodCall("map#waitForMap", null));
+    final long[] nanos = {5_000_000_000L, 5_001_500_000L, 5_001_750_000L, 5_101_750_000L};
+
+    final MethodCallRecorder recorder = new MethodCallRecorder(log);
+    for (int i = 0; i < calls.size(); i++) {
+      recorder.record(calls.get(i), nanos[i]);
+    }
+    assertEquals(calls.size(), stop(recorder));
+
+    final List<MethodCallRecorder.Entry> entries;
+    try (InputStream in = new FileInputStream(log)) {
+      entries = MethodCallRecorder.read(in);
+    }
+    assertEquals(calls.size(), entries.size());
+    assertEquals(0, entries.get(0).delayMicros);
+    assertEquals(1500, entries.get(1).delayMicros);
+    assertEquals(250, entries.get(2).delayMicros);
+    assertEquals(100_000, entries.get(3).delayMicros);
+
+    final FakeBinaryMessenger messenger = new FakeBinaryMessenger();
+    final List<MethodCall> replayed = new ArrayList<>();
+    new MethodChannel(messenger, CHANNEL).setMethodCallHandler((call, result) -> {
+      replayed.add(call);
+      result.success(call.method);
+    });
+    for (MethodCallRecorder.Entry entry : entries) {
+      final ByteBuffer reply = messenger.deliver(CHANNEL, entry.toMessage());
+      reply.rewind();
+      assertEquals(replayed.get(replayed.size() - 1).method, StandardMethodCodec.INSTANCE.decodeEnvelope(reply));
+    }
+
+    assertEquals(calls.size(), replayed.size());
+    assertEquals("symbols#addAll", replayed.get(0).method);
+    assertEquals(Collections.singletonList(symbolOptions()), replayed.get(0).argument("options"));
+    assertEquals("camera#move", replayed.get(1).method);
+    assertEquals(Arrays.asList("zoomTo", 14.0), replayed.get(1).argument("cameraUpdate"));
+    assertEquals("line#update", replayed.get(2).method);
+    assertEquals("7", replayed.get(2).argument("line"));
+    assertArrayEquals(new double[] {48.85, 2.35, 48.86, 2.36}, replayed.get(2).<double[]>argument("geometry"), 0);
+    assertEquals("map#waitForMap", replayed.get(3).method);
+    assertNull(replayed.get(3).arguments);
+  }
+
+  @Test
+  public void emptyRecordingsHaveNoCalls() throws Exception {
+    final File log = folder.newFile("empty.log");
+    assertEquals(0, stop(new MethodCallRecorder(log)));
+
+    try (InputStream in = new FileInputStream(log)) {
+      assertTrue(MethodCallRecorder.read(in).isEmpty());
+    }
+  }
+
+  @Test
+  public void rejectsOtherFiles() {
+    try {
+      MethodCallRecorder.read(new ByteArrayInputStream("{\"version\":8}".getBytes()));
+      fail("Read a file that is not a log");
+    } catch (IOException expected) {
+      assertEquals("Not a method call log", expected.getMessage());
+    }
+  }
+
+  @Test(expected = EOFException.class)
+  public void rejectsTruncatedLogs() throws Exception {
+    final File log = folder.newFile("truncated.log");
+    final MethodCallRecorder recorder = new MethodCallRecorder(log);
+    recorder.record(new MethodCall("symbol#add", arguments("options", symbolOptions())), 0);
+    stop(recorder);
+    final byte[] bytes = Files.readAllBytes(log.toPath());
+
+    MethodCallRecorder.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 4)));
+  }
+
+  /**
+   * Stops the recorder and returns the number of calls it wrote.
+   */
+  private static int stop(MethodCallRecorder recorder) throws InterruptedException {
+    final CountDownLatch stopped = new CountDownLatch(1);
+    final int[] callCount = {-1};
+    final IOException[] error = new IOException[1];
+    recorder.stop((count, e) -> {
+      callCount[0] = count;
+      error[0] = e;
+      stopped.countDown();
+    });
+    assertTrue(stopped.await(10, TimeUnit.SECONDS));
+    assertNull(error[0]);
+    return callCount[0];
+  }
+
+  private static Map<String, Object> arguments(Object... keysAndValues) {
+    final Map<String, Object> arguments = new HashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      arguments.put((String) keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return arguments;
+  }
+
+  private static Map<String, Object> symbolOptions() {
+    return arguments(
+      "geometry", Arrays.asList(48.8566, 2.3522),
+      "iconImage", "airport-15",
+      "iconSize", 1.5,
+      "zIndex", 3,
+      "draggable", false);
+  }
+}
@@ -0,0 +1,211 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PointClusterIndexTest {
+  private static final int MAX_ZOOM = 16;
+
+  @Test
+  public void clustersNearbyPointsUntilTheyAreFarEnoughApart() {
+    // the first two points are 0.01 degrees apart, the third far away
+    final PointClusterIndex index = load(48.85, 2.35, 48.85, 2.36, -33.86, 151.2);
+
+    final List<PointClusterIndex.Cluster> clusters = index.getClusters(-180, -90, 180, 90, 0);
+    assertEquals(2, clusters.size());
+    final PointClusterIndex.Cluster cluster = find(clusters, true);
+    assertEquals(2, cluster.pointCount);
+    assertEquals(48.85, cluster.latitude, 1e-6);
+    assertEquals(2.355, cluster.longitude, 1e-6);
+    assertEquals(2, find(clusters, false).id);
+
+    // the cluster is formed again on every zoom until it splits
+    final List<PointClusterIndex.Cluster> children = index.getChildren(cluster.id);
+    assertEquals(1, children.size());
+    assertEquals(2, children.get(0).pointCount);
+    assertEquals(ids(0, 1), pointIds(index, cluster));
+    assertEquals(ids(0, 1), ids(index.getChildren(find(index.getClusters(-180, -90, 180, 90, 11), true).id)));
+    // 40 of 512 pixels at zoom 12 are less than the distance of the points
+    assertEquals(12, index.getExpansionZoom(cluster.id));
+    assertEquals(2, index.getClusters(-180, -90, 180, 90, 11).size());
+    assertEquals(ids(0, 1, 2), ids(index.getClusters(-180, -90, 180, 90, 12)));
+  }
+
+  @Test
+  public void clusterIdsAreUniqueAndNeverPointIndices() {
+    final PointClusterIndex index = load(randomCoordinates(20000));
+
+    final Set<Integer> clusterIds = new HashSet<>();
+    for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+      for (PointClusterIndex.Cluster cluster : index.getClusters(-180, -90, 180, 90, zoom)) {
+        if (cluster.isCluster()) {
+          assertTrue(cluster.id >= index.getPointCount());
+          clusterIds.add(cluster.id);
+        } else {
+          assertTrue(cluster.id < index.getPointCount());
+        }
+      }
+    }
+    assertFalse(clusterIds.isEmpty());
+  }
+
+  @Test
+  public void everyZoomHoldsEveryPointOnce() {
+    final PointClusterIndex index = load(randomCoordinates(20000));
+
+    for (int zoom = 0; zoom <= MAX_ZOOM + 2; zoom++) {
+      int pointCount = 0;
+      for (PointClusterIndex.Cluster cluster : index.getClusters(-180, -90, 180, 90, zoom)) {
+        pointCount += cluster.pointCount;
+      }
+      assertEquals("zoom " + zoom, 20000, pointCount);
+    }
+    assertEquals(20000, index.getClusters(-180, -90, 180, 90, MAX_ZOOM + 1).size());
+  }
+
+  @Test
+  public void childrenSplitTheirClusterOnTheNextZoom() {
+    final PointClusterIndex index = load(randomCoordinates(20000));
+
+    for (int zoom = 0; zoom < MAX_ZOOM; zoom++) {
+      final Set<Integer> nextZoomIds = ids(index.getClusters(-180, -90, 180, 90, zoom + 1));
+      for (PointClusterIndex.Cluster cluster : index.getClusters(-180, -90, 180, 90, zoom)) {
+        if (!cluster.isCluster()) {
+          continue;
+        }
+        int pointCount = 0;
+        for (PointClusterIndex.Cluster child : index.getChildren(cluster.id)) {
+          assertTrue(nextZoomIds.contains(child.id));
+          pointCount += child.pointCount;
+        }
+        assertEquals(cluster.pointCount, pointCount);
+      }
+    }
+  }
+
+  @Test
+  public void expansionZoomIsWhereTheClusterFirstSplits() {
+    final PointClusterIndex index = load(randomCoordinates(2000));
+    final List<Map<Integer, Integer>> owners = new ArrayList<>();
+    for (int zoom = 0; zoom <= MAX_ZOOM + 1; zoom++) {
+      owners.add(owners(index, zoom));
+    }
+
+    for (int zoom = 0; zoom < MAX_ZOOM; zoom++) {
+      for (PointClusterIndex.Cluster cluster : index.getClusters(-180, -90, 180, 90, zoom)) {
+        if (!cluster.isCluster()) {
+          continue;
+        }
+        final int expansionZoom = index.getExpansionZoom(cluster.id);
+        assertTrue(expansionZoom > zoom && expansionZoom <= MAX_ZOOM + 1);
+        // below the expansion zoom the points stay together in a single cluster
+        final Set<Integer> pointIds = pointIds(index, cluster);
+        assertEquals(1, ownerCount(owners.get(expansionZoom - 1), pointIds));
+        assertTrue(ownerCount(owners.get(expansionZoom), pointIds) > 1);
+      }
+    }
+  }
+
+  @Test
+  public void queriesAcrossTheAntimeridian() {
+    final PointClusterIndex index = load(10, 179.5, 10, -179.5, 10, 0);
+
+    assertEquals(ids(0, 1), ids(index.getClusters(170, -90, -170, 90, MAX_ZOOM)));
+    assertEquals(ids(2), ids(index.getClusters(-10, -90, 10, 90, MAX_ZOOM)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsUnknownClusterIds() {
+    final PointClusterIndex index = load(48.85, 2.35, 48.85, 2.36);
+    index.getChildren(2 + (7 << 5) + 3);
+  }
+
+  private static PointClusterIndex load(double... coordinates) {
+    final PointClusterIndex index = new PointClusterIndex(40, 512, 0, MAX_ZOOM, 2);
+    index.load(coordinates);
+    return index;
+  }
+
+  private static double[] randomCoordinates(int count) {
+    final Random random = new Random(count);
+    final double[] coordinates = new double[count * 2];
+    for (int i = 0; i < count; i++) {
+      coordinates[2 * i] = Math.max(-85, Math.min(85, random.nextGaussian() * 10 + 40));
+      coordinates[2 * i + 1] = Math.max(-180, Math.min(180, random.nextGaussian() * 20));
+    }
+    return coordinates;
+  }
+
+  /**
+   * Returns the indices of the points in the cluster, collected from its descendants.
+   */
+  private static Set<Integer> pointIds(PointClusterIndex index, PointClusterIndex.Cluster cluster) {
+    final Set<Integer> pointIds = new HashSet<>();
+    if (!cluster.isCluster()) {
+      pointIds.add(cluster.id);
+      return pointIds;
+    }
+    for (PointClusterIndex.Cluster child : index.getChildren(cluster.id)) {
+      pointIds.addAll(pointIds(index, child));
+    }
+    return pointIds;
+  }
+
+  /**
+   * Returns the id of the cluster or point every point belongs to on the zoom.
+   */
+  private static Map<Integer, Integer> owners(PointClusterIndex index, int zoom) {
+    final Map<Integer, Integer> owners = new HashMap<>();
+    for (PointClusterIndex.Cluster cluster : index.getClusters(-180, -90, 180, 90, zoom)) {
+      for (int pointId : pointIds(index, cluster)) {
+        owners.put(pointId, cluster.id);
+      }
+    }
+    return owners;
+  }
+
+  private static int ownerCount(Map<Integer, Integer> owners, Set<Integer> pointIds) {
+    final Set<Integer> ownerIds = new HashSet<>();
+    for (int pointId : pointIds) {
+      ownerIds.add(owners.get(pointId));
+    }
+    return ownerIds.size();
+  }
+
+  private static PointClusterIndex.Cluster find(List<PointClusterIndex.Cluster> clusters, boolean isCluster) {
+    for (PointClusterIndex.Cluster cluster : clusters) {
+      if (cluster.isCluster() == isCluster) {
+        return cluster;
+      }
+    }
+    throw new AssertionError("No " + (isCluster ? "cluster" : "point") + " in " + clusters.size());
+  }
+
+  private static Set<Integer> ids(List<PointClusterIndex.Cluster> clusters) {
+    final Set<Integer> ids = new HashSet<>();
+    for (PointClusterIndex.Cluster cluster : clusters) {
+      ids.add(cluster.id);
+    }
+    return ids;
+  }
+
+  private static Set<Integer> ids(Integer... ids) {
+    return new HashSet<>(Arrays.asList(ids));
+  }
+}
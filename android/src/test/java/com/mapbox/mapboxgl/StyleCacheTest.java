@@ -0,0 +1,183 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package com.mapbox.mapboxgl;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class StyleCacheTest {
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final String STYLE = "{\"version\":8,\"name\":\"Streets\"}";
+  private static final String CHANGED_STYLE = "{\"version\":8,\"name\":\"Satellite\"}";
+  private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private HttpServer server;
+  private String baseUrl;
+  // every request as its path and conditional headers
+  private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+  private volatile String style = STYLE;
+  private volatile String etag = "\"v1\"";
+  private volatile String lastModified;
+  private volatile boolean truncate;
+
+  @Before
+  public void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/styles/streets", this::handle);
+    server.start();
+    baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  @After
+  public void stopServer() {
+    server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    final String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+    final String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+    requests.add(exchange.getRequestURI().getPath() + " " + ifNoneMatch + " " + ifModifiedSince);
+    final boolean etagMatches = etag != null && etag.equals(ifNoneMatch);
+    final boolean notModifiedSince = etag == null && lastModified != null && lastModified.equals(ifModifiedSince);
+    if (etagMatches || notModifiedSince) {
+      exchange.sendResponseHeaders(304, -1);
+      exchange.close();
+      return;
+    }
+    if (etag != null) {
+      exchange.getResponseHeaders().add("ETag", etag);
+    }
+    if (lastModified != null) {
+      exchange.getResponseHeaders().add("Last-Modified", lastModified);
+    }
+    final byte[] body = style.getBytes(UTF_8);
+    // announces more bytes than are sent, so reading the body fails half way
+    exchange.sendResponseHeaders(200, truncate ? body.length * 2 : body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  @Test
+  public void fetchesAndStoresUncachedStyles() throws IOException {
+    final StyleCache cache = new StyleCache(folder.getRoot());
+    final String url = baseUrl + "/styles/streets";
+    assertNull(cache.get(url));
+
+    assertEquals(STYLE, cache.revalidate(url, url));
+
+    assertEquals(STYLE, new StyleCache(folder.getRoot()).get(url));
+    assertEquals("/styles/streets null null", requests.get(0));
+  }
+
+  @Test
+  public void revalidatesWithTheEtag() throws IOException {
+    final StyleCache cache = new StyleCache(folder.getRoot());
+    final String url = baseUrl + "/styles/streets";
+    cache.revalidate(url, url);
+
+    assertNull(cache.revalidate(url, url));
+    assertEquals("/styles/streets \"v1\" null", requests.get(1));
+    assertEquals(STYLE, cache.get(url));
+  }
+
+  @Test
+  public void revalidatesWithLastModified() throws IOException {
+    etag = null;
+    lastModified = LAST_MODIFIED;
+    final StyleCache cache = new StyleCache(folder.getRoot());
+    final String url = baseUrl + "/styles/streets";
+    cache.revalidate(url, url);
+
+    assertNull(cache.revalidate(url, url));
+    assertEquals("/styles/streets null " + LAST_MODIFIED, requests.get(1));
+  }
+
+  @Test
+  public void replacesChangedStylesAndTheirValidators() throws IOException {
+    final StyleCache cache = new StyleCache(folder.getRoot());
+    final String url = baseUrl + "/styles/streets";
+    cache.revalidate(url, url);
+    style = CHANGED_STYLE;
+    etag = "\"v2\"";
+
+    assertEquals(CHANGED_STYLE, cache.revalidate(url, url));
+    assertEquals(CHANGED_STYLE, cache.get(url));
+    assertNull(cache.revalidate(url, url));
+    assertEquals("/styles/streets \"v2\" null", requests.get(2));
+  }
+
+  @Test
+  public void keepsTheCachedStyleWhenAFetchFails() throws IOException {
+    final StyleCache cache = new StyleCache(folder.getRoot());
+    final String url = baseUrl + "/styles/streets";
+    cache.revalidate(url, url);
+    final String[] files = folder.getRoot().list();
+    style = CHANGED_STYLE;
+    etag = "\"v2\"";
+    truncate = true;
+
+    try {
+      cache.revalidate(url, url);
+      fail("Truncated style was stored");
+    } catch (IOException expected) {
+      // the connection closed before the announced length was read
+    }
+    assertEquals(STYLE, cache.get(url));
+    assertArrayEquals(sorted(files), sorted(folder.getRoot().list()));
+  }
+
+  @Test
+  public void failsOnHttpErrorsWithoutStoring() {
+    final StyleCache cache = new StyleCache(folder.getRoot());
+    final String url = baseUrl + "/missing";
+    try {
+      cache.revalidate(url, url);
+      fail("404 was stored");
+    } catch (IOException expected) {
+      // not found
+    }
+    assertNull(cache.get(url));
+    assertEquals(0, folder.getRoot().list().length);
+  }
+
+  @Test
+  public void mapsMapboxStyleUrlsToTheStylesApi() {
+    assertEquals("https://api.mapbox.com/styles/v1/mapbox/streets-v11?access_token=pk.test",
+      StyleCache.toHttpUrl("mapbox://styles/mapbox/streets-v11", "pk.test"));
+    assertEquals("https://example.com/style.json", StyleCache.toHttpUrl("https://example.com/style.json", "pk.test"));
+  }
+
+  private static String[] sorted(String[] names) {
+    final String[] copy = names.clone();
+    Arrays.sort(copy);
+    return copy;
+  }
+}
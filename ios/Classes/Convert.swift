@@ -1,3 +1,4 @@
+import Flutter
 import Mapbox
 
 class Convert {
@@ -124,11 +125,32 @@ class Convert {
         return MGLAltitudeForZoomLevel(zoom, mapView.camera.pitch, mapView.camera.centerCoordinate.latitude, mapView.frame.size)
     }
     
+    /// Unpacks interleaved latitude/longitude pairs sent as a Float64List.
+    class func toCoordinatePairs(packed: FlutterStandardTypedData) -> [[Double]] {
+        let count = packed.data.count / MemoryLayout<Double>.size
+        var pairs = [[Double]]()
+        pairs.reserveCapacity(count / 2)
+        packed.data.withUnsafeBytes { (values: UnsafePointer<Double>) in
+            for i in stride(from: 0, to: count - 1, by: 2) {
+                pairs.append([values[i], values[i + 1]])
+            }
+        }
+        return pairs
+    }
+
+    /// Formats a packed ARGB color as the rgba(...) string used by style expressions.
+    class func toRgbaString(argb: Int) -> String {
+        let alpha = Double((argb >> 24) & 0xFF) / 255
+        return "rgba(\((argb >> 16) & 0xFF), \((argb >> 8) & 0xFF), \(argb & 0xFF), \(alpha))"
+    }
+
     class func interpretLineOptions(options: Any?, delegate: LineOptionsSink) {
         guard let options = options as? [String: Any] else { return }
         
         if let geometry = options["geometry"] as? [[Double]] {
             delegate.setGeometry(geometry: geometry)
+        } else if let geometry = options["geometry"] as? FlutterStandardTypedData {
+            delegate.setGeometry(geometry: toCoordinatePairs(packed: geometry))
         }
         
         if let lineJoin = options["lineJoin"] as? String {
@@ -141,6 +163,8 @@ class Convert {
         
         if let lineColor = options["lineColor"] as? String {
             delegate.setLineColor(lineColor: lineColor)
+        } else if let lineColor = options["lineColor"] as? Int {
+            delegate.setLineColor(lineColor: toRgbaString(argb: lineColor))
         }
         
         if let lineWidth = options["lineWidth"] as? Double {
@@ -5,7 +5,9 @@
 library mapbox_gl;
 
 import 'dart:async';
+import 'dart:convert';
 import 'dart:math';
+import 'dart:typed_data';
 import 'dart:ui';
 
 import 'package:flutter/foundation.dart';
@@ -13,15 +15,19 @@ import 'package:flutter/gestures.dart';
 import 'package:flutter/material.dart';
 import 'package:flutter/services.dart';
 
+part 'src/annotation_query.dart';
 part 'src/bitmap.dart';
 part 'src/callbacks.dart';
 part 'src/camera.dart';
 part 'src/controller.dart';
 part 'src/mapbox_map.dart';
 part 'src/location.dart';
+part 'src/metrics.dart';
 part 'src/symbol.dart';
 part 'src/line.dart';
 part 'src/circle.dart';
+part 'src/cluster.dart';
 part 'src/fill.dart';
+part 'src/rehydration.dart';
 part 'src/ui.dart';
 part 'src/global.dart';
\ No newline at end of file
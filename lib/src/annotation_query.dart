@@ -0,0 +1,19 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+part of mapbox_gl;
+
+/// The annotations found by [MapboxMapController.queryAnnotations].
+class AnnotationQueryResult {
+  const AnnotationQueryResult._(
+      this.symbols, this.lines, this.circles, this.fills);
+
+  final List<Symbol> symbols;
+  final List<Line> lines;
+  final List<Circle> circles;
+  final List<Fill> fills;
+
+  bool get isEmpty =>
+      symbols.isEmpty && lines.isEmpty && circles.isEmpty && fills.isEmpty;
+}
@@ -88,11 +88,11 @@ class CircleOptions {
     }
 
     addIfPresent('circleRadius', circleRadius);
-    addIfPresent('circleColor', circleColor);
+    addIfPresent('circleColor', _colorToJson(circleColor));
     addIfPresent('circleBlur', circleBlur);
     addIfPresent('circleOpacity', circleOpacity);
     addIfPresent('circleStrokeWidth', circleStrokeWidth);
-    addIfPresent('circleStrokeColor', circleStrokeColor);
+    addIfPresent('circleStrokeColor', _colorToJson(circleStrokeColor));
     addIfPresent('circleStrokeOpacity', circleStrokeOpacity);
     addIfPresent('geometry', geometry?._toJson());
     addIfPresent('draggable', draggable);
@@ -0,0 +1,49 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+part of mapbox_gl;
+
+/// A tap on a cluster, or on a single point, of a clustered collection added
+/// with [MapboxMapController.setClusteredSymbols] or
+/// [MapboxMapController.setClusteredCircles].
+class ClusterTap {
+  const ClusterTap._(this.collectionId, this.id, this.isCluster,
+      this.pointCount, this.expansionZoom, this.position);
+
+  /// The collection the tapped cluster belongs to.
+  final String collectionId;
+
+  /// The cluster id, or for single points the index of the point in the
+  /// collection.
+  final int id;
+
+  /// True if a cluster of several points was tapped.
+  final bool isCluster;
+
+  /// The number of points in the cluster, 1 for single points.
+  final int pointCount;
+
+  /// The zoom level at which the cluster splits up, null for single points.
+  final int expansionZoom;
+
+  /// The position of the cluster, the weighted center of its points.
+  final LatLng position;
+
+  static ClusterTap _fromJson(dynamic json) {
+    return ClusterTap._(
+      json['collectionId'],
+      json['id'],
+      json['isCluster'],
+      json['pointCount'],
+      json['expansionZoom'],
+      LatLng(json['latitude'], json['longitude']),
+    );
+  }
+
+  @override
+  String toString() {
+    return 'ClusterTap(collectionId: $collectionId, id: $id, '
+        'pointCount: $pointCount, expansionZoom: $expansionZoom)';
+  }
+}
@@ -35,6 +35,19 @@ class MapboxMapController extends ChangeNotifier {
         _channel = channel {
     _cameraPosition = initialCameraPosition;
     _channel.setMethodCallHandler(_handleMethodCall);
+    BinaryMessages.setMessageHandler(_eventsChannelName, _handleBinaryEvent);
+  }
+
+  String get _eventsChannelName =>
+      'plugins.flutter.io/mapbox_maps_events_$_id';
+
+  /// Stops listening to the calls and events of the map. Called by the
+  /// [MapboxMap] widget once it is disposed.
+  @override
+  void dispose() {
+    _channel.setMethodCallHandler(null);
+    BinaryMessages.setMessageHandler(_eventsChannelName, null);
+    super.dispose();
   }
 
   static Future<MapboxMapController> init(
@@ -68,6 +81,22 @@ class MapboxMapController extends ChangeNotifier {
   /// Callbacks to receive tap events for symbols placed on this map.
   final ArgumentCallbacks<Fill> onFillTapped = ArgumentCallbacks<Fill>();
 
+  /// Callbacks to receive tap events for clusters and points of clustered
+  /// collections placed on this map.
+  final ArgumentCallbacks<ClusterTap> onClusterTapped =
+      ArgumentCallbacks<ClusterTap>();
+
+  /// Callbacks to receive the time it took to recreate all symbols, lines,
+  /// circles and fills after the style of the map changed. The annotations
+  /// keep their ids and do not need to be added again. (Android only)
+  final ArgumentCallbacks<AnnotationRehydration> onAnnotationsRehydrated =
+      ArgumentCallbacks<AnnotationRehydration>();
+
+  /// Callbacks to receive the frame stats reported periodically once
+  /// [setFrameStatsReportInterval] was called. (Android only)
+  final ArgumentCallbacks<FrameStats> onFrameStats =
+      ArgumentCallbacks<FrameStats>();
+
   /// Callbacks to receive tap events for info windows on symbols
   final ArgumentCallbacks<Symbol> onInfoWindowTapped =
       ArgumentCallbacks<Symbol>();
@@ -120,40 +149,33 @@ class MapboxMapController extends ChangeNotifier {
         }
         break;
       case 'symbol#onTap':
-        final String symbolId = call.arguments['symbol'];
-        final Symbol symbol = _symbols[symbolId];
-        if (symbol != null) {
-          onSymbolTapped(symbol);
-        }
+        _onSymbolTap(call.arguments['symbol']);
         break;
       case 'line#onTap':
-        final String lineId = call.arguments['line'];
-        final Line line = _lines[lineId];
-        if (line != null) {
-          onLineTapped(line);
-        }
+        _onLineTap(call.arguments['line']);
         break;
       case 'circle#onTap':
-        final String circleId = call.arguments['circle'];
-        final Circle circle = _circles[circleId];
-        if (circle != null) {
-          onCircleTapped(circle);
-        }
+        _onCircleTap(call.arguments['circle']);
         break;
       case 'fill#onTap':
-        final String fillId = call.arguments['fill'];
-        final Fill fill = _fills[fillId];
-        if (fill != null) {
-          onFillTapped(fill);
-        }
+        _onFillTap(call.arguments['fill']);
+        break;
+      case 'cluster#onTap':
+        onClusterTapped(ClusterTap._fromJson(call.arguments));
+        break;
+      case 'annotations#onRehydrated':
+        onAnnotationsRehydrated(
+            AnnotationRehydration._fromJson(call.arguments));
+        break;
+      case 'frameStats#onReport':
+        onFrameStats(FrameStats._fromJson(call.arguments));
         break;
       case 'camera#onMoveStarted':
         _isCameraMoving = true;
         notifyListeners();
         break;
       case 'camera#onMove':
-        _cameraPosition = CameraPosition.fromMap(call.arguments['position']);
-        notifyListeners();
+        _onCameraMove(CameraPosition.fromMap(call.arguments['position']));
         break;
       case 'camera#onIdle':
         _isCameraMoving = false;
@@ -164,15 +186,10 @@ class MapboxMapController extends ChangeNotifier {
         final double y = call.arguments['y'];
         final double lng = call.arguments['lng'];
         final double lat = call.arguments['lat'];
-        if (onMapClick != null) {
-          onMapClick(Point<double>(x, y), LatLng(lat, lng));
-        }
+        _onMapClick(x, y, lat, lng);
         break;
       case 'map#onCameraTrackingChanged':
-        if (onCameraTrackingChanged != null) {
-          final int mode = call.arguments['mode'];
-          onCameraTrackingChanged(MyLocationTrackingMode.values[mode]);
-        }
+        _onCameraTrackingChanged(call.arguments['mode']);
         break;
       case 'map#onCameraTrackingDismissed':
         if (onCameraTrackingDismissed != null) {
@@ -184,6 +201,93 @@ class MapboxMapController extends ChangeNotifier {
     }
   }
 
+  /// Decodes the fixed layout events sent by the Android MapEventEncoder.
+  ///
+  /// Every message starts with a one byte event type followed by little endian
+  /// fields, see MapEventEncoder.java for the layout of each event.
+  Future<ByteData> _handleBinaryEvent(ByteData data) async {
+    switch (data.getUint8(0)) {
+      case 1: // camera move
+        _onCameraMove(CameraPosition(
+          bearing: data.getFloat64(1, Endian.little),
+          target: LatLng(data.getFloat64(9, Endian.little),
+              data.getFloat64(17, Endian.little)),
+          tilt: data.getFloat64(25, Endian.little),
+          zoom: data.getFloat64(33, Endian.little),
+        ));
+        break;
+      case 2: // map click
+        _onMapClick(
+          data.getFloat32(1, Endian.little),
+          data.getFloat32(5, Endian.little),
+          data.getFloat64(17, Endian.little),
+          data.getFloat64(9, Endian.little),
+        );
+        break;
+      case 3: // symbol tap
+        _onSymbolTap(data.getInt64(1, Endian.little).toString());
+        break;
+      case 4: // line tap
+        _onLineTap(data.getInt64(1, Endian.little).toString());
+        break;
+      case 5: // circle tap
+        _onCircleTap(data.getInt64(1, Endian.little).toString());
+        break;
+      case 6: // fill tap
+        _onFillTap(data.getInt64(1, Endian.little).toString());
+        break;
+      case 7: // camera tracking changed
+        _onCameraTrackingChanged(data.getInt32(1, Endian.little));
+        break;
+    }
+    return null;
+  }
+
+  void _onCameraMove(CameraPosition position) {
+    _cameraPosition = position;
+    notifyListeners();
+  }
+
+  void _onMapClick(double x, double y, double lat, double lng) {
+    if (onMapClick != null) {
+      onMapClick(Point<double>(x, y), LatLng(lat, lng));
+    }
+  }
+
+  void _onCameraTrackingChanged(int mode) {
+    if (onCameraTrackingChanged != null) {
+      onCameraTrackingChanged(MyLocationTrackingMode.values[mode]);
+    }
+  }
+
+  void _onSymbolTap(String symbolId) {
+    final Symbol symbol = _symbols[symbolId];
+    if (symbol != null) {
+      onSymbolTapped(symbol);
+    }
+  }
+
+  void _onLineTap(String lineId) {
+    final Line line = _lines[lineId];
+    if (line != null) {
+      onLineTapped(line);
+    }
+  }
+
+  void _onCircleTap(String circleId) {
+    final Circle circle = _circles[circleId];
+    if (circle != null) {
+      onCircleTapped(circle);
+    }
+  }
+
+  void _onFillTap(String fillId) {
+    final Fill fill = _fills[fillId];
+    if (fill != null) {
+      onFillTapped(fill);
+    }
+  }
+
   /// Updates configuration options of the map user interface.
   ///
   /// Change listeners are notified once the update has been made on the
@@ -263,6 +367,39 @@ class MapboxMapController extends ChangeNotifier {
     notifyListeners();
   }
 
+  /// Moves the specified [symbol] to [geometry] and turns its icon to
+  /// [iconRotate] over [duration], interpolated on every frame on the
+  /// platform side. Either target may be null to leave it unchanged.
+  ///
+  /// The [easing] is one of `linear`, `easeIn`, `easeOut` or `easeInOut`.
+  /// Animating a symbol that is still moving continues from its current
+  /// position towards the new target, and a null target keeps the one of the
+  /// running animation. All moving symbols are updated together once per
+  /// frame. (Android only)
+  ///
+  /// The returned [Future] completes once the animation has started.
+  Future<void> animateSymbol(
+    Symbol symbol, {
+    LatLng geometry,
+    double iconRotate,
+    Duration duration = const Duration(milliseconds: 300),
+    String easing = 'linear',
+  }) async {
+    assert(symbol != null);
+    assert(_symbols[symbol._id] == symbol);
+    assert(duration != null);
+    await _channel.invokeMethod('symbol#animateTo', <String, dynamic>{
+      'symbol': symbol._id,
+      'geometry': geometry?._toJson(),
+      'iconRotate': iconRotate,
+      'duration': duration.inMilliseconds,
+      'easing': easing,
+    });
+    symbol._options = symbol._options.copyWith(
+        SymbolOptions(geometry: geometry, iconRotate: iconRotate));
+    notifyListeners();
+  }
+
   /// Removes the specified [symbol] from the map. The symbol must be a current
   /// member of the [symbols] set.
   ///
@@ -286,14 +423,12 @@ class MapboxMapController extends ChangeNotifier {
   Future<void> clearSymbols() async {
     assert(_symbols != null);
     final List<String> symbolIds = List<String>.from(_symbols.keys);
-    for (String id in symbolIds) {
-      await _removeSymbol(id);
-    }
+    await _removeSymbols(symbolIds);
     notifyListeners();
   }
 
   /// Helper method to remove a single symbol from the map. Consumed by
-  /// [removeSymbol] and [clearSymbols].
+  /// [removeSymbol].
   ///
   /// The returned [Future] completes once the symbol has been removed from
   /// [_symbols].
@@ -304,6 +439,84 @@ class MapboxMapController extends ChangeNotifier {
     _symbols.remove(id);
   }
 
+  /// Adds multiple symbols to the map, each configured using the matching entry
+  /// of [options]. The symbols are created with a single platform call.
+  ///
+  /// Change listeners are notified once the symbols have been added on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes with the added symbols, in the order of
+  /// [options], once listeners have been notified.
+  Future<List<Symbol>> addSymbols(List<SymbolOptions> options) async {
+    assert(options != null);
+    final List<SymbolOptions> effectiveOptions = options
+        .map((SymbolOptions o) => SymbolOptions.defaultOptions.copyWith(o))
+        .toList();
+    final List<dynamic> symbolIds = await _channel.invokeMethod(
+      'symbols#addAll',
+      <String, dynamic>{
+        'options': effectiveOptions
+            .map((SymbolOptions o) => o._toJson())
+            .toList(),
+      },
+    );
+    final List<Symbol> symbolsAdded = <Symbol>[];
+    for (int i = 0; i < symbolIds.length; i++) {
+      final String symbolId = symbolIds[i];
+      final Symbol symbol = Symbol(symbolId, effectiveOptions[i]);
+      _symbols[symbolId] = symbol;
+      symbolsAdded.add(symbol);
+    }
+    notifyListeners();
+    return symbolsAdded;
+  }
+
+  /// Updates each of the specified [symbols] with the matching entry of
+  /// [changes]. Every symbol must be a current member of the [symbols] set.
+  ///
+  /// Change listeners are notified once the symbols have been updated on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes once listeners have been notified.
+  Future<void> updateSymbols(List<Symbol> symbols, List<SymbolOptions> changes) async {
+    assert(symbols != null);
+    assert(changes != null);
+    assert(symbols.length == changes.length);
+    await _channel.invokeMethod('symbols#updateAll', <String, dynamic>{
+      'symbols': symbols.map((Symbol symbol) => symbol._id).toList(),
+      'options': changes.map((SymbolOptions o) => o._toJson()).toList(),
+    });
+    for (int i = 0; i < symbols.length; i++) {
+      symbols[i]._options = symbols[i]._options.copyWith(changes[i]);
+    }
+    notifyListeners();
+  }
+
+  /// Removes the specified [symbols] from the map with a single platform call.
+  /// Every symbol must be a current member of the [symbols] set.
+  ///
+  /// Change listeners are notified once the symbols have been removed on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes once listeners have been notified.
+  Future<void> removeSymbols(Iterable<Symbol> symbols) async {
+    assert(symbols != null);
+    await _removeSymbols(symbols.map((Symbol symbol) => symbol._id).toList());
+    notifyListeners();
+  }
+
+  /// Helper method to remove several symbols from the map at once. Consumed by
+  /// [removeSymbols] and [clearSymbols].
+  ///
+  /// The returned [Future] completes once the symbols have been removed from
+  /// [_symbols].
+  Future<void> _removeSymbols(List<String> ids) async {
+    await _channel.invokeMethod('symbols#removeAll', <String, dynamic>{
+      'symbols': ids,
+    });
+    ids.forEach(_symbols.remove);
+  }
+
   /// Adds a line to the map, configured using the specified custom [options].
   ///
   /// Change listeners are notified once the line has been added on the
@@ -345,6 +558,55 @@ class MapboxMapController extends ChangeNotifier {
     notifyListeners();
   }
 
+  /// Appends [points] to the end of the geometry of the specified [line].
+  ///
+  /// Only the new points are sent to the platform side, which keeps the
+  /// vertices of the line, so extending a live trail does not get slower as
+  /// the trail grows. For the same reason the geometry of [Line.options] is
+  /// not kept up to date, it is null after the first append. The line must be
+  /// a current member of the [lines] set. (Android only)
+  ///
+  /// Change listeners are notified once the line has been updated on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes once listeners have been notified.
+  Future<void> appendLinePoints(Line line, List<LatLng> points) async {
+    assert(line != null);
+    assert(_lines[line._id] == line);
+    assert(points != null);
+    await _channel.invokeMethod('line#appendPoints', <String, dynamic>{
+      'line': line._id,
+      'points': _latLngsToFloat64List(points),
+    });
+    if (line._options.geometry != null) {
+      line._options = line._options._withoutGeometry();
+    }
+    notifyListeners();
+  }
+
+  /// Removes the first [count] points from the geometry of the specified
+  /// [line], for trails that only show a rolling window of recent points.
+  /// Like [appendLinePoints] this leaves the geometry of [Line.options] null.
+  /// The line must be a current member of the [lines] set. (Android only)
+  ///
+  /// Change listeners are notified once the line has been updated on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes once listeners have been notified.
+  Future<void> trimLineStart(Line line, int count) async {
+    assert(line != null);
+    assert(_lines[line._id] == line);
+    assert(count != null && count >= 0);
+    await _channel.invokeMethod('line#trimStart', <String, dynamic>{
+      'line': line._id,
+      'count': count,
+    });
+    if (line._options.geometry != null) {
+      line._options = line._options._withoutGeometry();
+    }
+    notifyListeners();
+  }
+
   /// Removes the specified [line] from the map. The line must be a current
   /// member of the [lines] set.
   ///
@@ -386,6 +648,84 @@ class MapboxMapController extends ChangeNotifier {
     _lines.remove(id);
   }
 
+  /// Adds multiple lines to the map, each configured using the matching entry
+  /// of [options]. The lines are created with a single platform call.
+  ///
+  /// Change listeners are notified once the lines have been added on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes with the added lines, in the order of
+  /// [options], once listeners have been notified.
+  Future<List<Line>> addLines(List<LineOptions> options) async {
+    assert(options != null);
+    final List<LineOptions> effectiveOptions = options
+        .map((LineOptions o) => LineOptions.defaultOptions.copyWith(o))
+        .toList();
+    final List<dynamic> lineIds = await _channel.invokeMethod(
+      'lines#addAll',
+      <String, dynamic>{
+        'options': effectiveOptions
+            .map((LineOptions o) => o._toJson())
+            .toList(),
+      },
+    );
+    final List<Line> linesAdded = <Line>[];
+    for (int i = 0; i < lineIds.length; i++) {
+      final String lineId = lineIds[i];
+      final Line line = Line(lineId, effectiveOptions[i]);
+      _lines[lineId] = line;
+      linesAdded.add(line);
+    }
+    notifyListeners();
+    return linesAdded;
+  }
+
+  /// Updates each of the specified [lines] with the matching entry of
+  /// [changes]. Every line must be a current member of the [lines] set.
+  ///
+  /// Change listeners are notified once the lines have been updated on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes once listeners have been notified.
+  Future<void> updateLines(List<Line> lines, List<LineOptions> changes) async {
+    assert(lines != null);
+    assert(changes != null);
+    assert(lines.length == changes.length);
+    await _channel.invokeMethod('lines#updateAll', <String, dynamic>{
+      'lines': lines.map((Line line) => line._id).toList(),
+      'options': changes.map((LineOptions o) => o._toJson()).toList(),
+    });
+    for (int i = 0; i < lines.length; i++) {
+      lines[i]._options = lines[i]._options.copyWith(changes[i]);
+    }
+    notifyListeners();
+  }
+
+  /// Removes the specified [lines] from the map with a single platform call.
+  /// Every line must be a current member of the [lines] set.
+  ///
+  /// Change listeners are notified once the lines have been removed on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes once listeners have been notified.
+  Future<void> removeLines(Iterable<Line> lines) async {
+    assert(lines != null);
+    await _removeLines(lines.map((Line line) => line._id).toList());
+    notifyListeners();
+  }
+
+  /// Helper method to remove several lines from the map at once. Consumed by
+  /// [removeLines].
+  ///
+  /// The returned [Future] completes once the lines have been removed from
+  /// [_lines].
+  Future<void> _removeLines(List<String> ids) async {
+    await _channel.invokeMethod('lines#removeAll', <String, dynamic>{
+      'lines': ids,
+    });
+    ids.forEach(_lines.remove);
+  }
+
   /// Adds a circle to the map, configured using the specified custom [options].
   ///
   /// Change listeners are notified once the circle has been added on the
@@ -450,14 +790,12 @@ class MapboxMapController extends ChangeNotifier {
   Future<void> clearCircles() async {
     assert(_circles != null);
     final List<String> circleIds = List<String>.from(_circles.keys);
-    for (String id in circleIds) {
-      await _removeCircle(id);
-    }
+    await _removeCircles(circleIds);
     notifyListeners();
   }
 
   /// Helper method to remove a single circle from the map. Consumed by
-  /// [removeCircle] and [clearCircles].
+  /// [removeCircle].
   ///
   /// The returned [Future] completes once the circle has been removed from
   /// [_circles].
@@ -468,6 +806,84 @@ class MapboxMapController extends ChangeNotifier {
     _circles.remove(id);
   }
 
+  /// Adds multiple circles to the map, each configured using the matching entry
+  /// of [options]. The circles are created with a single platform call.
+  ///
+  /// Change listeners are notified once the circles have been added on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes with the added circles, in the order of
+  /// [options], once listeners have been notified.
+  Future<List<Circle>> addCircles(List<CircleOptions> options) async {
+    assert(options != null);
+    final List<CircleOptions> effectiveOptions = options
+        .map((CircleOptions o) => CircleOptions.defaultOptions.copyWith(o))
+        .toList();
+    final List<dynamic> circleIds = await _channel.invokeMethod(
+      'circles#addAll',
+      <String, dynamic>{
+        'options': effectiveOptions
+            .map((CircleOptions o) => o._toJson())
+            .toList(),
+      },
+    );
+    final List<Circle> circlesAdded = <Circle>[];
+    for (int i = 0; i < circleIds.length; i++) {
+      final String circleId = circleIds[i];
+      final Circle circle = Circle(circleId, effectiveOptions[i]);
+      _circles[circleId] = circle;
+      circlesAdded.add(circle);
+    }
+    notifyListeners();
+    return circlesAdded;
+  }
+
+  /// Updates each of the specified [circles] with the matching entry of
+  /// [changes]. Every circle must be a current member of the [circles] set.
+  ///
+  /// Change listeners are notified once the circles have been updated on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes once listeners have been notified.
+  Future<void> updateCircles(List<Circle> circles, List<CircleOptions> changes) async {
+    assert(circles != null);
+    assert(changes != null);
+    assert(circles.length == changes.length);
+    await _channel.invokeMethod('circles#updateAll', <String, dynamic>{
+      'circles': circles.map((Circle circle) => circle._id).toList(),
+      'options': changes.map((CircleOptions o) => o._toJson()).toList(),
+    });
+    for (int i = 0; i < circles.length; i++) {
+      circles[i]._options = circles[i]._options.copyWith(changes[i]);
+    }
+    notifyListeners();
+  }
+
+  /// Removes the specified [circles] from the map with a single platform call.
+  /// Every circle must be a current member of the [circles] set.
+  ///
+  /// Change listeners are notified once the circles have been removed on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes once listeners have been notified.
+  Future<void> removeCircles(Iterable<Circle> circles) async {
+    assert(circles != null);
+    await _removeCircles(circles.map((Circle circle) => circle._id).toList());
+    notifyListeners();
+  }
+
+  /// Helper method to remove several circles from the map at once. Consumed by
+  /// [removeCircles] and [clearCircles].
+  ///
+  /// The returned [Future] completes once the circles have been removed from
+  /// [_circles].
+  Future<void> _removeCircles(List<String> ids) async {
+    await _channel.invokeMethod('circles#removeAll', <String, dynamic>{
+      'circles': ids,
+    });
+    ids.forEach(_circles.remove);
+  }
+
   /// Adds a fill to the map, configured using the specified custom [options].
   ///
   /// Change listeners are notified once the fill has been added on the
@@ -532,9 +948,7 @@ class MapboxMapController extends ChangeNotifier {
   Future<void> clearFilles() async {
     assert(_fills != null);
     final List<String> fillIds = List<String>.from(_fills.keys);
-    for (String id in fillIds) {
-      await _removeFill(id);
-    }
+    await _removeFills(fillIds);
     notifyListeners();
   }
 
@@ -550,8 +964,168 @@ class MapboxMapController extends ChangeNotifier {
     _fills.remove(id);
   }
 
+  /// Adds multiple fills to the map, each configured using the matching entry
+  /// of [options]. The fills are created with a single platform call.
+  ///
+  /// Change listeners are notified once the fills have been added on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes with the added fills, in the order of
+  /// [options], once listeners have been notified.
+  Future<List<Fill>> addFills(List<FillOptions> options) async {
+    assert(options != null);
+    final List<FillOptions> effectiveOptions = options
+        .map((FillOptions o) => FillOptions.defaultOptions.copyWith(o))
+        .toList();
+    final List<dynamic> fillIds = await _channel.invokeMethod(
+      'fills#addAll',
+      <String, dynamic>{
+        'options': effectiveOptions
+            .map((FillOptions o) => o._toJson())
+            .toList(),
+      },
+    );
+    final List<Fill> fillsAdded = <Fill>[];
+    for (int i = 0; i < fillIds.length; i++) {
+      final String fillId = fillIds[i];
+      final Fill fill = Fill(fillId, effectiveOptions[i]);
+      _fills[fillId] = fill;
+      fillsAdded.add(fill);
+    }
+    notifyListeners();
+    return fillsAdded;
+  }
+
+  /// Updates each of the specified [fills] with the matching entry of
+  /// [changes]. Every fill must be a current member of the [fills] set.
+  ///
+  /// Change listeners are notified once the fills have been updated on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes once listeners have been notified.
+  Future<void> updateFills(List<Fill> fills, List<FillOptions> changes) async {
+    assert(fills != null);
+    assert(changes != null);
+    assert(fills.length == changes.length);
+    await _channel.invokeMethod('fills#updateAll', <String, dynamic>{
+      'fills': fills.map((Fill fill) => fill._id).toList(),
+      'options': changes.map((FillOptions o) => o._toJson()).toList(),
+    });
+    for (int i = 0; i < fills.length; i++) {
+      fills[i]._options = fills[i]._options.copyWith(changes[i]);
+    }
+    notifyListeners();
+  }
+
+  /// Removes the specified [fills] from the map with a single platform call.
+  /// Every fill must be a current member of the [fills] set.
+  ///
+  /// Change listeners are notified once the fills have been removed on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes once listeners have been notified.
+  Future<void> removeFills(Iterable<Fill> fills) async {
+    assert(fills != null);
+    await _removeFills(fills.map((Fill fill) => fill._id).toList());
+    notifyListeners();
+  }
+
+  /// Helper method to remove several fills from the map at once. Consumed by
+  /// [removeFills] and [clearFilles].
+  ///
+  /// The returned [Future] completes once the fills have been removed from
+  /// [_fills].
+  Future<void> _removeFills(List<String> ids) async {
+    await _channel.invokeMethod('fills#removeAll', <String, dynamic>{
+      'fills': ids,
+    });
+    ids.forEach(_fills.remove);
+  }
+
+  /// Returns the counters of the deferred annotation update mode enabled by
+  /// [MapboxMap.deferAnnotationUpdates].
+  ///
+  /// The returned map contains the number of frame flushes (`flushCount`),
+  /// the number of annotation updates committed by those flushes
+  /// (`committedUpdateCount`) and the number of updates merged into an
+  /// annotation that was already pending (`coalescedUpdateCount`).
+  Future<Map<String, int>> getAnnotationUpdateStats() async {
+    final Map<dynamic, dynamic> reply =
+        await _channel.invokeMethod('annotations#updateStats');
+    return reply.cast<String, int>();
+  }
+
+  /// Returns the counters of every platform method called since the last
+  /// reset together with the number of annotations of this map by type.
+  /// The counters are shared by all maps and only count calls while
+  /// [setPlatformMetricsEnabled] turned them on. (Android only)
+  Future<PlatformMetrics> getMetrics() async {
+    final Map<dynamic, dynamic> reply =
+        await _channel.invokeMethod('metrics#snapshot');
+    return PlatformMetrics._fromJson(
+        reply['methods'], reply['annotationCounts']);
+  }
+
+  /// Returns the render frame timing of this map since it was created or the
+  /// stats were last reset, resetting them afterwards if [reset] is true.
+  /// (Android only)
+  Future<FrameStats> getFrameStats({bool reset = false}) async {
+    final Map<dynamic, dynamic> reply = await _channel.invokeMethod(
+      'frameStats#snapshot',
+      <String, dynamic>{
+        'reset': reset,
+      },
+    );
+    return FrameStats._fromJson(reply);
+  }
+
+  /// Reports the frame stats to [onFrameStats] every [interval], each report
+  /// covering the frames since the previous one. A zero [interval] stops the
+  /// reports. (Android only)
+  Future<void> setFrameStatsReportInterval(Duration interval) async {
+    await _channel.invokeMethod(
+      'frameStats#setReportInterval',
+      <String, dynamic>{
+        'interval': interval.inMilliseconds,
+      },
+    );
+  }
+
+  /// Starts writing every method call this map receives to a binary log at
+  /// [path], so the traffic of the app can be replayed on the host with the
+  /// replay runner of the Android plugin. (Android only)
+  Future<void> startRecording(String path) async {
+    await _channel.invokeMethod(
+      'recorder#start',
+      <String, dynamic>{
+        'path': path,
+      },
+    );
+  }
+
+  /// Stops the recording started by [startRecording] and returns the number
+  /// of calls written to the log. (Android only)
+  Future<int> stopRecording() async {
+    return await _channel.invokeMethod('recorder#stop');
+  }
+
+  /// Resets the method counters returned by [getMetrics] and
+  /// [getPlatformMetrics]. The counters are shared, so this resets them for
+  /// all maps, like [resetPlatformMetrics]. (Android only)
+  Future<void> resetMetrics() async {
+    await _channel.invokeMethod('metrics#reset');
+  }
+
+  /// Returns the GeoJSON of the rendered features at [point].
+  ///
+  /// Results can be paged with [offset] and [limit], and [properties] limits
+  /// the returned feature properties to the given keys. Until the camera
+  /// becomes idle again or the style changes, repeating a query with the same
+  /// point, layers and filter is answered from a platform side cache (Android
+  /// only).
   Future<List> queryRenderedFeatures(
-      Point<double> point, List<String> layerIds, String filter) async {
+      Point<double> point, List<String> layerIds, String filter,
+      {int offset, int limit, List<String> properties}) async {
     try {
       final Map<Object, Object> reply = await _channel.invokeMethod(
         'map#queryRenderedFeatures',
@@ -560,6 +1134,9 @@ class MapboxMapController extends ChangeNotifier {
           'y': point.y,
           'layerIds': layerIds,
           'filter': filter,
+          'offset': offset,
+          'limit': limit,
+          'properties': properties,
         },
       );
       return reply['features'];
@@ -568,8 +1145,13 @@ class MapboxMapController extends ChangeNotifier {
     }
   }
 
+  /// Returns the GeoJSON of the rendered features inside [rect].
+  ///
+  /// Supports the same paging, projection and caching as
+  /// [queryRenderedFeatures].
   Future<List> queryRenderedFeaturesInRect(
-      Rect rect, List<String> layerIds, String filter) async {
+      Rect rect, List<String> layerIds, String filter,
+      {int offset, int limit, List<String> properties}) async {
     try {
       final Map<Object, Object> reply = await _channel.invokeMethod(
         'map#queryRenderedFeatures',
@@ -580,6 +1162,9 @@ class MapboxMapController extends ChangeNotifier {
           'bottom': rect.bottom,
           'layerIds': layerIds,
           'filter': filter,
+          'offset': offset,
+          'limit': limit,
+          'properties': properties,
         },
       );
       return reply['features'];
@@ -587,4 +1172,263 @@ class MapboxMapController extends ChangeNotifier {
       return new Future.error(e);
     }
   }
+
+  /// Returns the symbols, lines, circles and fills whose bounding box
+  /// intersects [bounds].
+  ///
+  /// The query is answered from a spatial index kept on the platform side,
+  /// without querying rendered features (Android only).
+  Future<AnnotationQueryResult> queryAnnotations(LatLngBounds bounds) async {
+    final Map<dynamic, dynamic> reply = await _channel.invokeMethod(
+      'annotations#queryBounds',
+      <String, dynamic>{
+        'west': bounds.southwest.longitude,
+        'south': bounds.southwest.latitude,
+        'east': bounds.northeast.longitude,
+        'north': bounds.northeast.latitude,
+      },
+    );
+    return AnnotationQueryResult._(
+      _lookup(reply['symbols'], _symbols),
+      _lookup(reply['lines'], _lines),
+      _lookup(reply['circles'], _circles),
+      _lookup(reply['fills'], _fills),
+    );
+  }
+
+  /// Returns the [Symbol], [Line], [Circle] or [Fill] closest to [position],
+  /// or null if none is within [tolerance] logical pixels at the current zoom.
+  ///
+  /// Distances are measured to the closest segment of lines and are 0 inside
+  /// fills (Android only).
+  Future<dynamic> nearestAnnotation(LatLng position,
+      {double tolerance = 10}) async {
+    final Map<dynamic, dynamic> reply = await _channel.invokeMethod(
+      'annotations#nearest',
+      <String, dynamic>{
+        'latitude': position.latitude,
+        'longitude': position.longitude,
+        'tolerance': tolerance,
+      },
+    );
+    if (reply == null) {
+      return null;
+    }
+    final String id = reply['id'];
+    switch (reply['type']) {
+      case 'symbol':
+        return _symbols[id];
+      case 'line':
+        return _lines[id];
+      case 'circle':
+        return _circles[id];
+      case 'fill':
+        return _fills[id];
+    }
+    return null;
+  }
+
+  static List<T> _lookup<T>(List<dynamic> ids, Map<String, T> annotations) {
+    return ids
+        .map((dynamic id) => annotations[id])
+        .where((T annotation) => annotation != null)
+        .toList();
+  }
+
+  /// Adds [points] as a clustered collection of symbols, replacing the
+  /// collection with the same [collectionId].
+  ///
+  /// Points within [radius] pixels of each other are merged into clusters on
+  /// every zoom level up to [maxZoom], clusters hold at least [minPoints]
+  /// points. Only the clusters and points around the visible region are added
+  /// as symbols, they are refreshed whenever the camera becomes idle. Single
+  /// points are styled by [options], clusters by [clusterOptions] and labelled
+  /// with their point count. Taps are reported to [onClusterTapped] (Android
+  /// only).
+  Future<void> setClusteredSymbols(String collectionId, List<LatLng> points,
+      {SymbolOptions options,
+      SymbolOptions clusterOptions,
+      int radius,
+      int maxZoom,
+      int minPoints}) async {
+    await _channel.invokeMethod(
+      'clusters#set',
+      <String, dynamic>{
+        'collectionId': collectionId,
+        'type': 'symbol',
+        'points': _latLngsToFloat64List(points),
+        'options': SymbolOptions.defaultOptions.copyWith(options)._toJson(),
+        'clusterOptions': clusterOptions == null
+            ? null
+            : SymbolOptions.defaultOptions.copyWith(clusterOptions)._toJson(),
+        'radius': radius,
+        'maxZoom': maxZoom,
+        'minPoints': minPoints,
+      },
+    );
+  }
+
+  /// Adds [points] as a clustered collection of circles, replacing the
+  /// collection with the same [collectionId].
+  ///
+  /// Clusters the same way as [setClusteredSymbols], single points are styled
+  /// by [options] and clusters by [clusterOptions] (Android only).
+  Future<void> setClusteredCircles(String collectionId, List<LatLng> points,
+      {CircleOptions options,
+      CircleOptions clusterOptions,
+      int radius,
+      int maxZoom,
+      int minPoints}) async {
+    await _channel.invokeMethod(
+      'clusters#set',
+      <String, dynamic>{
+        'collectionId': collectionId,
+        'type': 'circle',
+        'points': _latLngsToFloat64List(points),
+        'options': CircleOptions.defaultOptions.copyWith(options)._toJson(),
+        'clusterOptions': clusterOptions == null
+            ? null
+            : CircleOptions.defaultOptions.copyWith(clusterOptions)._toJson(),
+        'radius': radius,
+        'maxZoom': maxZoom,
+        'minPoints': minPoints,
+      },
+    );
+  }
+
+  /// Removes the clustered collection with the given [collectionId] from the
+  /// map (Android only).
+  Future<void> removeClusters(String collectionId) async {
+    await _channel.invokeMethod(
+      'clusters#remove',
+      <String, dynamic>{'collectionId': collectionId},
+    );
+  }
+
+  /// Adds encoded (for example PNG) [images] by name to the style, so symbols
+  /// can reference them as `iconImage`.
+  ///
+  /// All images are decoded together off the platform thread and added in one
+  /// call. Images with identical bytes are only decoded and held once. The
+  /// images are kept in a size bounded cache and added again to every style
+  /// loaded later, until evicted. Set [sdf] for single color icons that are
+  /// tinted with `iconColor`. (Android only)
+  ///
+  /// The returned [Future] completes once the images have been added.
+  Future<void> addImages(Map<String, Uint8List> images,
+      {bool sdf = false}) async {
+    assert(images != null);
+    await _channel.invokeMethod('style#addImages', <String, dynamic>{
+      'images': images,
+      'sdf': sdf,
+    });
+  }
+
+  /// Removes the image with the given [name] from the style and from the
+  /// images added again on style changes. (Android only)
+  Future<void> removeImage(String name) async {
+    assert(name != null);
+    await _channel.invokeMethod('style#removeImage', <String, dynamic>{
+      'name': name,
+    });
+  }
+
+  /// Adds a GeoJSON source with the given [sourceId] to the current style.
+  ///
+  /// Sources are rendered by layers added with [addLayer] and do not carry the
+  /// per feature overhead of symbols, lines, circles and fills, which makes
+  /// them the better fit for large datasets. The data is given by exactly one
+  /// of [geojson], a GeoJSON string, [path], the path of a GeoJSON file, or
+  /// [points], with optional [properties] holding one property map per point
+  /// for data driven styling (Android only).
+  Future<void> addGeoJsonSource(String sourceId,
+      {String geojson,
+      String path,
+      List<LatLng> points,
+      List<Map<String, dynamic>> properties}) async {
+    await _channel.invokeMethod(
+      'source#add',
+      _geoJsonSourceArguments(sourceId, geojson, path, points, properties),
+    );
+  }
+
+  /// Replaces the data of the GeoJSON source with the given [sourceId]. The
+  /// data is given the same way as for [addGeoJsonSource] (Android only).
+  Future<void> setGeoJsonSourceData(String sourceId,
+      {String geojson,
+      String path,
+      List<LatLng> points,
+      List<Map<String, dynamic>> properties}) async {
+    await _channel.invokeMethod(
+      'source#setData',
+      _geoJsonSourceArguments(sourceId, geojson, path, points, properties),
+    );
+  }
+
+  /// Removes the source with the given [sourceId] from the current style.
+  ///
+  /// The returned [Future] completes with false if the source does not exist
+  /// or is still used by a layer (Android only).
+  Future<bool> removeSource(String sourceId) async {
+    return await _channel.invokeMethod(
+      'source#remove',
+      <String, Object>{'sourceId': sourceId},
+    );
+  }
+
+  /// Adds a layer of the given [type], one of 'symbol', 'circle', 'line' or
+  /// 'fill', rendering the source with the given [sourceId].
+  ///
+  /// [properties] are keyed by their style specification name, such as
+  /// 'circle-color', and hold either a literal value or an expression, for
+  /// example `['get', 'color']`. [filter] is an expression selecting the
+  /// features to render. The layer is placed on top of the style unless
+  /// [belowLayerId] is given (Android only).
+  Future<void> addLayer(String layerId, String sourceId, String type,
+      {Map<String, dynamic> properties,
+      dynamic filter,
+      String belowLayerId,
+      double minZoom,
+      double maxZoom}) async {
+    await _channel.invokeMethod(
+      'layer#add',
+      <String, Object>{
+        'layerId': layerId,
+        'sourceId': sourceId,
+        'type': type,
+        'properties': properties?.map((String name, dynamic value) =>
+            MapEntry<String, String>(name, jsonEncode(value))),
+        'filter': filter == null ? null : jsonEncode(filter),
+        'belowLayerId': belowLayerId,
+        'minZoom': minZoom,
+        'maxZoom': maxZoom,
+      },
+    );
+  }
+
+  /// Removes the layer with the given [layerId] from the current style.
+  ///
+  /// The returned [Future] completes with false if the layer does not exist
+  /// (Android only).
+  Future<bool> removeLayer(String layerId) async {
+    return await _channel.invokeMethod(
+      'layer#remove',
+      <String, Object>{'layerId': layerId},
+    );
+  }
+
+  Map<String, Object> _geoJsonSourceArguments(
+      String sourceId,
+      String geojson,
+      String path,
+      List<LatLng> points,
+      List<Map<String, dynamic>> properties) {
+    return <String, Object>{
+      'sourceId': sourceId,
+      'geojson': geojson,
+      'path': path,
+      'points': points == null ? null : _latLngsToFloat64List(points),
+      'properties': properties,
+    };
+  }
 }
@@ -42,6 +42,7 @@ class FillOptions {
     this.fillOutlineColor,
     this.fillPattern,
     this.geometry,
+    this.holes,
   });
 
   final double fillOpacity;
@@ -50,6 +51,12 @@ class FillOptions {
   final String fillPattern;
   final List<LatLng> geometry;
 
+  /// The rings cut out of the fill, each given like [geometry] (Android only).
+  ///
+  /// Holes are only sent together with [geometry], setting [geometry] without
+  /// holes removes the holes of the fill.
+  final List<List<LatLng>> holes;
+
   static const FillOptions defaultOptions = FillOptions(
     fillOpacity: 1.0,
     fillColor: "rgba(0, 0, 0, 1)",
@@ -67,6 +74,7 @@ class FillOptions {
       fillOutlineColor: changes.fillOutlineColor ?? fillOutlineColor,
       fillPattern: changes.fillPattern ?? fillPattern,
       geometry: changes.geometry ?? geometry,
+      holes: changes.geometry != null ? changes.holes : holes,
     );
   }
 
@@ -80,14 +88,27 @@ class FillOptions {
     }
 
     addIfPresent('fill-opacity', fillOpacity);
-    addIfPresent('fill-color', fillColor);
-    addIfPresent('fill-outline-color', fillOutlineColor);
+    addIfPresent('fill-color', _colorToJson(fillColor));
+    addIfPresent('fill-outline-color', _colorToJson(fillOutlineColor));
     addIfPresent('fill-pattern', fillPattern);
 
-    List<dynamic> list = new List();
-    geometry?.forEach((g) => list.add(g._toJson()));
-
-    addIfPresent('geometry', list);
+    if (geometry != null && holes != null && holes.isNotEmpty) {
+      // all rings are packed into one array, geometryRings holds the index in
+      // it at which every ring starts
+      final List<List<LatLng>> rings = <List<LatLng>>[geometry]..addAll(holes);
+      final Int32List ringOffsets = Int32List(rings.length);
+      int offset = 0;
+      for (int i = 0; i < rings.length; i++) {
+        ringOffsets[i] = offset;
+        offset += rings[i].length * 2;
+      }
+      addIfPresent('geometry',
+          _latLngsToFloat64List(rings.expand((List<LatLng> ring) => ring).toList()));
+      addIfPresent('geometryRings', ringOffsets);
+    } else {
+      addIfPresent('geometry',
+          geometry == null ? null : _latLngsToFloat64List(geometry));
+    }
     return json;
   }
 }
\ No newline at end of file
@@ -5,15 +5,97 @@
 part of mapbox_gl;
 
 final MethodChannel _globalChannel =
-    MethodChannel('plugins.flutter.io/mapbox_gl');
+    MethodChannel('plugins.flutter.io/mapbox_gl')
+      ..setMethodCallHandler(_handleGlobalMethodCall);
+
+/// Called while an offline tiles database is being installed with the number
+/// of bytes [copied] so far. [total] is -1 if the size is not known upfront.
+typedef void OfflineInstallProgressCallback(int copied, int total);
+
+final Map<String, OfflineInstallProgressCallback> _installProgressCallbacks =
+    <String, OfflineInstallProgressCallback>{};
+
+Future<dynamic> _handleGlobalMethodCall(MethodCall call) async {
+  switch (call.method) {
+    case 'offline#installProgress':
+      final OfflineInstallProgressCallback onProgress =
+          _installProgressCallbacks[call.arguments['tilesdb']];
+      if (onProgress != null) {
+        onProgress(call.arguments['copied'], call.arguments['total']);
+      }
+      break;
+    default:
+      throw MissingPluginException();
+  }
+}
 
 /// Copy tiles db file passed in to the tiles cache directory (sideloaded) to
 /// make tiles available offline.
-Future<void> installOfflineMapTiles(String tilesDb) async {
+///
+/// On Android the copy runs in the background and [onProgress] is called as
+/// it advances. The copy is skipped if the same content is already installed,
+/// as identified by [version] or, without one, by a hash of the asset. The
+/// hash is computed while the asset is copied. After an app update the asset
+/// is read once to confirm the installed database is current, and only copied
+/// again if it changed; pass a [version] to skip that read. The returned [Future] completes once the database is in place, with
+/// true if it was copied and false if the installed one was already current.
+Future<bool> installOfflineMapTiles(String tilesDb,
+    {String version, OfflineInstallProgressCallback onProgress}) async {
+  if (onProgress != null) {
+    _installProgressCallbacks[tilesDb] = onProgress;
+  }
+  try {
+    final bool copied = await _globalChannel.invokeMethod(
+      'installOfflineMapTiles',
+      <String, dynamic>{
+        'tilesdb': tilesDb,
+        'version': version,
+      },
+    );
+    return copied ?? true;
+  } finally {
+    _installProgressCallbacks.remove(tilesDb);
+  }
+}
+
+/// Keeps up to [size] map views created ahead of time and reuses the views of
+/// disposed maps, so maps show up faster on screens that create several of
+/// them. The views are created right away. The pool is emptied when the
+/// system runs low on memory, a [size] of 0 disables it. (Android only)
+Future<void> setMapViewPoolSize(int size) async {
+  assert(size != null && size >= 0);
+  await _globalChannel.invokeMethod(
+    'mapViewPool#setSize',
+    <String, dynamic>{
+      'size': size,
+    },
+  );
+}
+
+/// Turns the platform method counters on or off. They are off by default, as
+/// timing every call and estimating the size of its arguments has a cost;
+/// turning them off keeps the counters collected so far. (Android only)
+Future<void> setPlatformMetricsEnabled(bool enabled) async {
+  assert(enabled != null);
   await _globalChannel.invokeMethod(
-    'installOfflineMapTiles',
+    'metrics#setEnabled',
     <String, dynamic>{
-      'tilesdb': tilesDb,
+      'enabled': enabled,
     },
   );
 }
+
+/// Returns the counters of every platform method called since the last
+/// reset, on all maps and the global channel. Calls are only counted while
+/// [setPlatformMetricsEnabled] turned the counters on. (Android only)
+Future<PlatformMetrics> getPlatformMetrics() async {
+  final Map<dynamic, dynamic> reply =
+      await _globalChannel.invokeMethod('metrics#snapshot');
+  return PlatformMetrics._fromJson(reply, null);
+}
+
+/// Resets the counters returned by [getPlatformMetrics], which are shared by
+/// all maps. (Android only)
+Future<void> resetPlatformMetrics() async {
+  await _globalChannel.invokeMethod('metrics#reset');
+}
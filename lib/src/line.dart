@@ -24,6 +24,8 @@ class Line {
   ///
   /// The returned value does not reflect any changes made to the line through
   /// touch events. Add listeners to the owning map controller to track those.
+  /// The geometry is null once points were appended to or trimmed from the
+  /// line, the platform side keeps its vertices instead.
   LineOptions get options => _options;
 }
 
@@ -47,6 +49,7 @@ class LineOptions {
     this.linePattern,
     this.geometry,
     this.draggable,
+    this.simplify,
   });
 
   final String lineJoin;
@@ -60,6 +63,11 @@ class LineOptions {
   final List<LatLng> geometry;
   final bool draggable;
 
+  /// Whether to only render the vertices of the geometry that are visible at
+  /// the current zoom level. Long lines are simplified again when the camera
+  /// stops moving. (Android only)
+  final bool simplify;
+
   static const LineOptions defaultOptions = LineOptions();
 
   LineOptions copyWith(LineOptions changes) {
@@ -77,6 +85,24 @@ class LineOptions {
       linePattern: changes.linePattern ?? linePattern,
       geometry: changes.geometry ?? geometry,
       draggable: changes.draggable ?? draggable,
+      simplify: changes.simplify ?? simplify,
+    );
+  }
+
+  /// Returns these options without a geometry, for lines whose vertices are
+  /// only kept on the platform side.
+  LineOptions _withoutGeometry() {
+    return LineOptions(
+      lineJoin: lineJoin,
+      lineOpacity: lineOpacity,
+      lineColor: lineColor,
+      lineWidth: lineWidth,
+      lineGapWidth: lineGapWidth,
+      lineOffset: lineOffset,
+      lineBlur: lineBlur,
+      linePattern: linePattern,
+      draggable: draggable,
+      simplify: simplify,
     );
   }
 
@@ -91,14 +117,16 @@ class LineOptions {
 
     addIfPresent('lineJoin', lineJoin);
     addIfPresent('lineOpacity', lineOpacity);
-    addIfPresent('lineColor', lineColor);
+    addIfPresent('lineColor', _colorToJson(lineColor));
     addIfPresent('lineWidth', lineWidth);
     addIfPresent('lineGapWidth', lineGapWidth);
     addIfPresent('lineOffset', lineOffset);
     addIfPresent('lineBlur', lineBlur);
     addIfPresent('linePattern', linePattern);
-    addIfPresent('geometry', geometry?.map((LatLng latLng) => latLng._toJson())?.toList());
+    addIfPresent('geometry',
+        geometry == null ? null : _latLngsToFloat64List(geometry));
     addIfPresent('draggable', draggable);
+    addIfPresent('simplify', simplify);
     return json;
   }
 }
@@ -49,6 +49,17 @@ class LatLng {
   int get hashCode => hashValues(latitude, longitude);
 }
 
+/// Packs [latLngs] into interleaved latitude/longitude pairs, which reach the
+/// platform side as a primitive array instead of one list per coordinate.
+Float64List _latLngsToFloat64List(List<LatLng> latLngs) {
+  final Float64List packed = Float64List(latLngs.length * 2);
+  for (int i = 0; i < latLngs.length; i++) {
+    packed[i * 2] = latLngs[i].latitude;
+    packed[i * 2 + 1] = latLngs[i].longitude;
+  }
+  return packed;
+}
+
 /// A latitude/longitude aligned rectangle.
 ///
 /// The rectangle conceptually includes all points (lat, lng) where
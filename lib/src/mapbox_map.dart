@@ -20,6 +20,11 @@ class MapboxMap extends StatefulWidget {
     this.zoomGesturesEnabled = true,
     this.tiltGesturesEnabled = true,
     this.trackCameraPosition = false,
+    this.deferAnnotationUpdates = false,
+    this.cacheStyle = false,
+    this.cameraMoveThrottleMs = 0,
+    this.minZoomDelta = 0.0,
+    this.minBearingDelta = 0.0,
     this.myLocationEnabled = false,
     this.myLocationTrackingMode = MyLocationTrackingMode.Tracking,
     this.onMapClick,
@@ -63,6 +68,35 @@ class MapboxMap extends StatefulWidget {
   /// True if the map view should relay camera move events to Flutter.
   final bool trackCameraPosition;
 
+  /// True if annotation updates should be collected and committed once per
+  /// frame instead of rewriting the annotation source on every update call.
+  ///
+  /// Only supported on Android.
+  final bool deferAnnotationUpdates;
+
+  /// True if the JSON of a style loaded from a URL should be kept on disk.
+  ///
+  /// A cached style is shown right away and revalidated in the background;
+  /// it is replaced only if it changed on the server. Only supported on
+  /// Android.
+  final bool cacheStyle;
+
+  /// Minimum interval in milliseconds between two camera move events relayed
+  /// to Flutter while [trackCameraPosition] is true.
+  ///
+  /// Positions in between are merged; the final position is always relayed
+  /// before the camera becomes idle. Only supported on Android.
+  final int cameraMoveThrottleMs;
+
+  /// Zoom changes smaller than this are not relayed as camera move events
+  /// unless the target or tilt changed as well. Only supported on Android.
+  final double minZoomDelta;
+
+  /// Bearing changes, in degrees, smaller than this are not relayed as camera
+  /// move events unless the target or tilt changed as well. Only supported on
+  /// Android.
+  final double minBearingDelta;
+
   /// True if a "My Location" layer should be shown on the map.
   ///
   /// This layer includes a location indicator at the current device location,
@@ -152,6 +186,14 @@ class _MapboxMapState extends State<MapboxMap> {
     _mapboxMapOptions = _MapboxMapOptions.fromWidget(widget);
   }
 
+  @override
+  void dispose() {
+    // the controller may still be created after the widget was disposed
+    _controller.future
+        .then((MapboxMapController controller) => controller.dispose());
+    super.dispose();
+  }
+
   @override
   void didUpdateWidget(MapboxMap oldWidget) {
     super.didUpdateWidget(oldWidget);
@@ -197,6 +239,11 @@ class _MapboxMapOptions {
     this.scrollGesturesEnabled,
     this.tiltGesturesEnabled,
     this.trackCameraPosition,
+    this.deferAnnotationUpdates,
+    this.cacheStyle,
+    this.cameraMoveThrottleMs,
+    this.minZoomDelta,
+    this.minBearingDelta,
     this.zoomGesturesEnabled,
     this.myLocationEnabled,
     this.myLocationTrackingMode,
@@ -212,6 +259,11 @@ class _MapboxMapOptions {
       scrollGesturesEnabled: map.scrollGesturesEnabled,
       tiltGesturesEnabled: map.tiltGesturesEnabled,
       trackCameraPosition: map.trackCameraPosition,
+      deferAnnotationUpdates: map.deferAnnotationUpdates,
+      cacheStyle: map.cacheStyle,
+      cameraMoveThrottleMs: map.cameraMoveThrottleMs,
+      minZoomDelta: map.minZoomDelta,
+      minBearingDelta: map.minBearingDelta,
       zoomGesturesEnabled: map.zoomGesturesEnabled,
       myLocationEnabled: map.myLocationEnabled,
       myLocationTrackingMode: map.myLocationTrackingMode,
@@ -234,6 +286,16 @@ class _MapboxMapOptions {
 
   final bool trackCameraPosition;
 
+  final bool deferAnnotationUpdates;
+
+  final bool cacheStyle;
+
+  final int cameraMoveThrottleMs;
+
+  final double minZoomDelta;
+
+  final double minBearingDelta;
+
   final bool zoomGesturesEnabled;
 
   final bool myLocationEnabled;
@@ -258,6 +320,11 @@ class _MapboxMapOptions {
     addIfNonNull('tiltGesturesEnabled', tiltGesturesEnabled);
     addIfNonNull('zoomGesturesEnabled', zoomGesturesEnabled);
     addIfNonNull('trackCameraPosition', trackCameraPosition);
+    addIfNonNull('deferAnnotationUpdates', deferAnnotationUpdates);
+    addIfNonNull('cacheStyle', cacheStyle);
+    addIfNonNull('cameraMoveThrottleMs', cameraMoveThrottleMs);
+    addIfNonNull('minZoomDelta', minZoomDelta);
+    addIfNonNull('minBearingDelta', minBearingDelta);
     addIfNonNull('myLocationEnabled', myLocationEnabled);
     addIfNonNull('myLocationTrackingMode', myLocationTrackingMode?.index);
     return optionsMap;
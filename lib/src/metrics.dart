@@ -0,0 +1,178 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+part of mapbox_gl;
+
+/// Counters of the calls of one platform method since the last reset.
+///
+/// Durations are the time the platform thread spent handling the calls;
+/// percentiles are taken from a histogram and may be up to an eighth too
+/// high.
+class MethodCallStats {
+  const MethodCallStats._(this.count, this.total, this.max, this.p50,
+      this.p90, this.p99, this.argumentBytes);
+
+  /// The number of calls.
+  final int count;
+
+  /// The time spent handling all calls.
+  final Duration total;
+
+  /// The longest time spent handling a single call.
+  final Duration max;
+
+  /// The median time spent handling a call.
+  final Duration p50;
+
+  /// The 90th percentile of the time spent handling a call.
+  final Duration p90;
+
+  /// The 99th percentile of the time spent handling a call.
+  final Duration p99;
+
+  /// An estimate of the size of the arguments of all calls in bytes.
+  final int argumentBytes;
+
+  /// The mean time spent handling a call.
+  Duration get mean => count == 0 ? Duration.zero : total ~/ count;
+
+  static MethodCallStats _fromJson(dynamic json) {
+    return MethodCallStats._(
+      json['count'],
+      Duration(microseconds: json['totalMicros']),
+      Duration(microseconds: json['maxMicros']),
+      Duration(microseconds: json['p50Micros']),
+      Duration(microseconds: json['p90Micros']),
+      Duration(microseconds: json['p99Micros']),
+      json['argumentBytes'],
+    );
+  }
+
+  @override
+  String toString() {
+    return 'MethodCallStats(count: $count, mean: $mean, p50: $p50, '
+        'p90: $p90, p99: $p99, max: $max, argumentBytes: $argumentBytes)';
+  }
+}
+
+/// A snapshot of the platform side metrics, see [getPlatformMetrics] and
+/// [MapboxMapController.getMetrics].
+class PlatformMetrics {
+  const PlatformMetrics._(this.methods, this.annotationCounts);
+
+  /// The counters of every platform method called since the last reset, by
+  /// method name. Calls of all maps and of the global channel are counted
+  /// together.
+  final Map<String, MethodCallStats> methods;
+
+  /// The number of annotations by type (`symbol`, `line`, `circle` and
+  /// `fill`), empty unless taken from a map.
+  final Map<String, int> annotationCounts;
+
+  static PlatformMetrics _fromJson(dynamic methods, dynamic annotationCounts) {
+    final Map<String, MethodCallStats> stats = <String, MethodCallStats>{};
+    methods.forEach((dynamic method, dynamic json) {
+      stats[method] = MethodCallStats._fromJson(json);
+    });
+    return PlatformMetrics._(
+      stats,
+      annotationCounts == null
+          ? const <String, int>{}
+          : annotationCounts.cast<String, int>(),
+    );
+  }
+
+  @override
+  String toString() {
+    return 'PlatformMetrics(methods: $methods, '
+        'annotationCounts: $annotationCounts)';
+  }
+}
+
+/// Render frame timing of a map, see [MapboxMapController.getFrameStats].
+///
+/// A frame interval longer than one and a half [frameBudget]s is janky, every
+/// whole budget it missed counts as a dropped frame. Percentiles are taken
+/// from the most recent intervals; the pauses while the map is idle or loads
+/// a style are not intervals.
+class FrameStats {
+  const FrameStats._(
+      this.frameCount,
+      this.partialFrameCount,
+      this.jankyFrameCount,
+      this.droppedFrameCount,
+      this.frameBudget,
+      this.intervalCount,
+      this.p50,
+      this.p90,
+      this.p99,
+      this.max,
+      this.styleLoadCount,
+      this.lastStyleLoad);
+
+  /// The number of frames rendered.
+  final int frameCount;
+
+  /// The number of frames rendered while tiles or resources were loading.
+  final int partialFrameCount;
+
+  /// The number of frames that came late.
+  final int jankyFrameCount;
+
+  /// The number of frames the janky frames missed in total.
+  final int droppedFrameCount;
+
+  /// The time between two frames at the refresh rate of the display.
+  final Duration frameBudget;
+
+  /// The number of frame intervals the percentiles are taken from.
+  final int intervalCount;
+
+  /// The median frame interval.
+  final Duration p50;
+
+  /// The 90th percentile of the frame intervals.
+  final Duration p90;
+
+  /// The 99th percentile of the frame intervals.
+  final Duration p99;
+
+  /// The longest frame interval.
+  final Duration max;
+
+  /// The number of styles loaded.
+  final int styleLoadCount;
+
+  /// How long loading the last style took, null if unknown.
+  final Duration lastStyleLoad;
+
+  static FrameStats _fromJson(dynamic json) {
+    final int lastStyleLoadMicros = json['lastStyleLoadMicros'];
+    return FrameStats._(
+      json['frameCount'],
+      json['partialFrameCount'],
+      json['jankyFrameCount'],
+      json['droppedFrameCount'],
+      Duration(microseconds: json['frameBudgetMicros']),
+      json['intervalCount'],
+      Duration(microseconds: json['p50Micros']),
+      Duration(microseconds: json['p90Micros']),
+      Duration(microseconds: json['p99Micros']),
+      Duration(microseconds: json['maxMicros']),
+      json['styleLoadCount'],
+      lastStyleLoadMicros == null
+          ? null
+          : Duration(microseconds: lastStyleLoadMicros),
+    );
+  }
+
+  @override
+  String toString() {
+    return 'FrameStats(frameCount: $frameCount, '
+        'jankyFrameCount: $jankyFrameCount, '
+        'droppedFrameCount: $droppedFrameCount, p50: $p50, p90: $p90, '
+        'p99: $p99, max: $max, styleLoadCount: $styleLoadCount, '
+        'lastStyleLoad: $lastStyleLoad)';
+  }
+}
@@ -0,0 +1,30 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+part of mapbox_gl;
+
+/// Reports that the annotations of a map were recreated natively after its
+/// style changed.
+class AnnotationRehydration {
+  const AnnotationRehydration._(this.annotationCount, this.duration);
+
+  /// The number of symbols, lines, circles and fills that were recreated.
+  final int annotationCount;
+
+  /// How long recreating the annotations took on the platform side.
+  final Duration duration;
+
+  static AnnotationRehydration _fromJson(dynamic json) {
+    return AnnotationRehydration._(
+      json['count'],
+      Duration(milliseconds: json['duration']),
+    );
+  }
+
+  @override
+  String toString() {
+    return 'AnnotationRehydration(annotationCount: $annotationCount, '
+        'duration: $duration)';
+  }
+}
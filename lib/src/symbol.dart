@@ -164,13 +164,13 @@ class SymbolOptions {
     addIfPresent('textTransform', textTransform);
     addIfPresent('textOffset', _offsetToJson(textOffset));
     addIfPresent('iconOpacity', iconOpacity);
-    addIfPresent('iconColor', iconColor);
-    addIfPresent('iconHaloColor', iconHaloColor);
+    addIfPresent('iconColor', _colorToJson(iconColor));
+    addIfPresent('iconHaloColor', _colorToJson(iconHaloColor));
     addIfPresent('iconHaloWidth', iconHaloWidth);
     addIfPresent('iconHaloBlur', iconHaloBlur);
     addIfPresent('textOpacity', textOpacity);
-    addIfPresent('textColor', textColor);
-    addIfPresent('textHaloColor', textHaloColor);
+    addIfPresent('textColor', _colorToJson(textColor));
+    addIfPresent('textHaloColor', _colorToJson(textHaloColor));
     addIfPresent('textHaloWidth', textHaloWidth);
     addIfPresent('textHaloBlur', textHaloBlur);
     addIfPresent('geometry', geometry?._toJson());
@@ -123,3 +123,20 @@ class MinMaxZoomPreference {
     return 'MinMaxZoomPreference(minZoom: $minZoom, maxZoom: $maxZoom)';
   }
 }
+
+/// Packs `#RRGGBB` and `#AARRGGBB` colors into an ARGB int so the platform
+/// side does not have to parse the string again. Other color formats, such as
+/// `rgba(...)` or named colors, are passed through unchanged.
+dynamic _colorToJson(String color) {
+  if (color == null || !color.startsWith('#')) {
+    return color;
+  }
+  if (color.length == 7) {
+    final int rgb = int.tryParse(color.substring(1), radix: 16);
+    return rgb == null ? color : 0xFF000000 | rgb;
+  }
+  if (color.length == 9) {
+    return int.tryParse(color.substring(1), radix: 16) ?? color;
+  }
+  return color;
+}